@@ -0,0 +1,107 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Mark;
+import ua.onlinecourses.repository.AssignmentRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class AssignmentRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private AssignmentRepository repository;
+    private LocalDate dueBefore;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        repository = new AssignmentRepository();
+        BenchmarkData.assignments(size).forEach(repository::add);
+        dueBefore = LocalDate.now().minusDays(143);
+    }
+
+    @Benchmark
+    public List<Assignment> sortByDueDate() {
+        return repository.sortByDueDate();
+    }
+
+    // Bounded heap; this trial never sorts, so no cached order is available
+    @Benchmark
+    public List<Assignment> findNextDue() {
+        return repository.findNextDue(20);
+    }
+
+    @Benchmark
+    public List<Assignment> sortByModuleAndDate() {
+        return repository.sortByModuleAndDate();
+    }
+
+    @Benchmark
+    public List<Assignment> findByDueDateBefore() {
+        return repository.findByDueDateBefore(dueBefore);
+    }
+
+    // "Due this week" calendar query
+    @Benchmark
+    public List<Assignment> findByDueDateRange() {
+        return repository.findByDueDateRange(dueBefore, dueBefore.plusDays(6));
+    }
+
+    @Benchmark
+    public List<Assignment> findByMark() {
+        return repository.findByMark(Mark.EXCELLENT);
+    }
+
+    @Benchmark
+    public Map<Mark, List<Assignment>> groupByMark() {
+        return repository.groupByMark();
+    }
+
+    @Benchmark
+    public int getTotalMaxPoints() {
+        return repository.getTotalMaxPoints();
+    }
+
+    // Two-field aggregate over the columns
+    @Benchmark
+    public int getTotalMaxPointsDueBetween() {
+        return repository.getTotalMaxPointsDueBetween(dueBefore, dueBefore.plusDays(60));
+    }
+
+    // The same aggregate as a stream over the records, for comparison
+    @Benchmark
+    public int streamTotalMaxPointsDueBetween() {
+        LocalDate to = dueBefore.plusDays(60);
+        return repository.stream()
+                .filter(assignment -> !assignment.dueDate().isBefore(dueBefore) && !assignment.dueDate().isAfter(to))
+                .mapToInt(Assignment::maxPoints)
+                .sum();
+    }
+
+    @Benchmark
+    public double getAverageMarkValue() {
+        return repository.getAverageMarkValue();
+    }
+}
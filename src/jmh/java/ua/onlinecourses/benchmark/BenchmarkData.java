@@ -0,0 +1,65 @@
+package ua.onlinecourses.benchmark;
+
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Valid, identity-unique fixtures for benchmarks, produced by a fixed-seed
+ * {@link DataGenerator} so every run measures the same data.
+ */
+final class BenchmarkData {
+
+    private static final DataGenerator GENERATOR = new DataGenerator();
+
+    private BenchmarkData() {
+    }
+
+    // Per-entity INFO logging would otherwise be what the benchmarks measure
+    static void quietLogging() {
+        Logger.getLogger("").setLevel(Level.WARNING);
+    }
+
+    static List<Student> students(int count) {
+        return GENERATOR.students(count).collect(Collectors.toList());
+    }
+
+    static List<Course> courses(int count) {
+        return GENERATOR.courses(count).collect(Collectors.toList());
+    }
+
+    static List<Instructor> instructors(int count) {
+        return GENERATOR.instructors(count).collect(Collectors.toList());
+    }
+
+    static List<myModule> modules(int count) {
+        return GENERATOR.modules(count).collect(Collectors.toList());
+    }
+
+    static List<Assignment> assignments(int count) {
+        return GENERATOR.assignments(count).collect(Collectors.toList());
+    }
+
+    static Path writeCsv(List<?> items) throws IOException {
+        Path file = Files.createTempFile("benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (Object item : items) {
+                writer.write(DataGenerator.toCsvLine(item));
+                writer.newLine();
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,86 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Natural-order sorting and identity building. fullNameSort* sort by the built full-name
+ * strings, which is what compareTo used to do, as a baseline for the allocation-free compareTo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ComparisonBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<Course> courses;
+    private List<Instructor> instructors;
+    private List<Assignment> assignments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        courses = BenchmarkData.courses(size);
+        instructors = BenchmarkData.instructors(size);
+        assignments = BenchmarkData.assignments(size);
+    }
+
+    @Benchmark
+    public List<Course> sortCourses() {
+        List<Course> copy = new ArrayList<>(courses);
+        copy.sort(null);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Course> fullNameSortCourses() {
+        List<Course> copy = new ArrayList<>(courses);
+        copy.sort(Comparator.comparing(Course::getFullName));
+        return copy;
+    }
+
+    @Benchmark
+    public List<Instructor> sortInstructors() {
+        List<Instructor> copy = new ArrayList<>(instructors);
+        copy.sort(null);
+        return copy;
+    }
+
+    @Benchmark
+    public List<Instructor> fullNameSortInstructors() {
+        List<Instructor> copy = new ArrayList<>(instructors);
+        copy.sort(Comparator.comparing(Instructor::getFullName));
+        return copy;
+    }
+
+    @Benchmark
+    public void assignmentIdentities(Blackhole blackhole) {
+        for (Assignment assignment : assignments) {
+            blackhole.consume(assignment.getIdentity());
+        }
+    }
+}
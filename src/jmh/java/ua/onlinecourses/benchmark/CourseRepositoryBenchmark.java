@@ -0,0 +1,95 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.repository.CourseRepository;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CourseRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private CourseRepository repository;
+    private LocalDate startAfter;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        repository = new CourseRepository();
+        BenchmarkData.courses(size).forEach(repository::add);
+        startAfter = LocalDate.now().plusDays(140);
+    }
+
+    @Benchmark
+    public List<Course> sortByTitle() {
+        return repository.sortByTitle();
+    }
+
+    @Benchmark
+    public List<Course> sortByCreditsAndDate() {
+        return repository.sortByCreditsAndDate();
+    }
+
+    @Benchmark
+    public List<Course> findByCreditsRange() {
+        return repository.findByCreditsRange(4, 5);
+    }
+
+    @Benchmark
+    public List<Course> findByStartDateAfter() {
+        return repository.findByStartDateAfter(startAfter);
+    }
+
+    // Two criteria by chaining finders: one list per criterion
+    @Benchmark
+    public List<Course> chainedCreditsAndStartDate() {
+        List<Course> results = repository.findByStartDateAfter(startAfter);
+        results.retainAll(new HashSet<>(repository.findByCreditsRange(4, 5)));
+        return results;
+    }
+
+    // Same criteria in one query: the start-date index drives, credits is checked in the same pass
+    @Benchmark
+    public List<Course> queryCreditsAndStartDate() {
+        return repository.query()
+                .whereBetween("credits", 4, 5)
+                .whereBetween("startDate", startAfter.plusDays(1), null)
+                .list();
+    }
+
+    @Benchmark
+    public List<Course> findByDescriptionContaining() {
+        return repository.findByDescriptionContaining("streams");
+    }
+
+    @Benchmark
+    public int getTotalCredits() {
+        return repository.getTotalCredits();
+    }
+
+    @Benchmark
+    public List<Course> getAllCoursesWithMaxCredits() {
+        return repository.getAllCoursesWithMaxCredits();
+    }
+}
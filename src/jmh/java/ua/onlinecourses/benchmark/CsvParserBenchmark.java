@@ -0,0 +1,98 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.parser.CourseFileParser;
+import ua.onlinecourses.parser.InstructorFileParser;
+import ua.onlinecourses.parser.ModuleFileParser;
+import ua.onlinecourses.parser.StudentFileParser;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CsvParserBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path studentsCsv;
+    private Path coursesCsv;
+    private Path instructorsCsv;
+    private Path modulesCsv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.quietLogging();
+        studentsCsv = BenchmarkData.writeCsv(BenchmarkData.students(size));
+        coursesCsv = BenchmarkData.writeCsv(BenchmarkData.courses(size));
+        instructorsCsv = BenchmarkData.writeCsv(BenchmarkData.instructors(size));
+        modulesCsv = BenchmarkData.writeCsv(BenchmarkData.modules(size));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(studentsCsv);
+        Files.deleteIfExists(coursesCsv);
+        Files.deleteIfExists(instructorsCsv);
+        Files.deleteIfExists(modulesCsv);
+    }
+
+    @Benchmark
+    public List<Student> parseStudents() throws IOException, URISyntaxException {
+        return StudentFileParser.parseFromCSV(studentsCsv.toString());
+    }
+
+    // Streams without materialising the list; measures parse cost with bounded memory
+    @Benchmark
+    public long streamStudents() throws IOException {
+        try (Stream<Student> students = StudentFileParser.streamFromCSV(studentsCsv.toString())) {
+            return students.count();
+        }
+    }
+
+    @Benchmark
+    public List<Student> parseStudentsParallel() throws IOException {
+        return StudentFileParser.parseFromCSVParallel(studentsCsv.toString());
+    }
+
+    @Benchmark
+    public List<Course> parseCourses() throws IOException, URISyntaxException {
+        return CourseFileParser.parseFromCSV(coursesCsv.toString());
+    }
+
+    @Benchmark
+    public List<Instructor> parseInstructors() throws IOException, URISyntaxException {
+        return InstructorFileParser.parseFromCSV(instructorsCsv.toString());
+    }
+
+    @Benchmark
+    public List<myModule> parseModules() throws IOException, URISyntaxException {
+        return ModuleFileParser.parseFromCSV(modulesCsv.toString());
+    }
+}
@@ -0,0 +1,64 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.repository.InstructorRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InstructorRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private InstructorRepository repository;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        repository = new InstructorRepository();
+        BenchmarkData.instructors(size).forEach(repository::add);
+    }
+
+    @Benchmark
+    public List<Instructor> sortByExpertise() {
+        return repository.sortByExpertise();
+    }
+
+    @Benchmark
+    public List<Instructor> sortByLastName() {
+        return repository.sortByLastName();
+    }
+
+    @Benchmark
+    public List<Instructor> findByExpertiseRange() {
+        return repository.findByExpertiseRange(55, 60);
+    }
+
+    @Benchmark
+    public List<Instructor> findByLastName() {
+        return repository.findByLastName("Aaamelnyk");
+    }
+
+    @Benchmark
+    public double getAverageExpertise() {
+        return repository.getAverageExpertise();
+    }
+}
@@ -0,0 +1,96 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.persistence.Journal;
+import ua.onlinecourses.repository.StudentRepository;
+import ua.onlinecourses.serializer.EntityCodecs;
+import ua.onlinecourses.serializer.JsonDataSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cost of persisting a change to one student: append it to the journal and fsync, against
+ * rewriting the whole repository as JSON (without fsync).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JournalBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int count;
+
+    private StudentRepository repository;
+    private StudentRepository unjournaled;
+    private Journal<Student> journal;
+    private JsonDataSerializer<Student> json;
+    private Path dir;
+    private Path jsonFile;
+    private Student changed;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, DataSerializationException {
+        BenchmarkData.quietLogging();
+        List<Student> students = BenchmarkData.students(count);
+        changed = students.get(count / 2);
+        json = new JsonDataSerializer<>();
+
+        dir = Files.createTempDirectory("journal-benchmark");
+        jsonFile = dir.resolve("students.json");
+        repository = new StudentRepository();
+        journal = Journal.open(repository, dir.resolve("students.snapshot"), dir.resolve("students.journal"),
+                EntityCodecs.STUDENT, Student::email, Long.MAX_VALUE);
+        repository.addAll(students);
+        journal.compact();
+        unjournaled = new StudentRepository();
+        unjournaled.addAll(students);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, DataSerializationException {
+        journal.close();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Benchmark
+    public int journalSave() throws DataSerializationException {
+        repository.remove(changed);
+        repository.add(changed);
+        return journal.save();
+    }
+
+    @Benchmark
+    public int jsonRewrite() throws DataSerializationException {
+        unjournaled.remove(changed);
+        unjournaled.add(changed);
+        json.serialize(unjournaled.getAll(), jsonFile.toString());
+        return unjournaled.size();
+    }
+}
@@ -0,0 +1,64 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.repository.ModuleRepository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ModuleRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ModuleRepository repository;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        repository = new ModuleRepository();
+        BenchmarkData.modules(size).forEach(repository::add);
+    }
+
+    @Benchmark
+    public List<myModule> sortByContentLength() {
+        return repository.sortByContentLength();
+    }
+
+    @Benchmark
+    public List<myModule> sortNaturally() {
+        return repository.sortNaturally();
+    }
+
+    @Benchmark
+    public List<myModule> findByContentContaining() {
+        return repository.findByContentContaining("Practice tasks");
+    }
+
+    @Benchmark
+    public List<myModule> findByTitleLengthRange() {
+        return repository.findByTitleLengthRange(1, 5);
+    }
+
+    @Benchmark
+    public int getTotalContentLength() {
+        return repository.getTotalContentLength();
+    }
+}
@@ -0,0 +1,70 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.repository.OffHeapRepository;
+import ua.onlinecourses.serializer.EntityCodecs;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The RepositoryBenchmark operations on OffHeapRepository: every hit decodes a fresh entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class OffHeapRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private List<Student> students;
+    private String[] identities;
+    private OffHeapRepository<Student> repository;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        students = BenchmarkData.students(size);
+        identities = new String[size];
+        repository = new OffHeapRepository<>(EntityCodecs.STUDENT, Student::email, "Student");
+        for (int i = 0; i < size; i++) {
+            identities[i] = students.get(i).email();
+        }
+        repository.addAll(students);
+    }
+
+    @Benchmark
+    public OffHeapRepository<Student> batchAddAll() {
+        OffHeapRepository<Student> fresh = new OffHeapRepository<>(EntityCodecs.STUDENT, Student::email, "Student");
+        fresh.addAll(students);
+        return fresh;
+    }
+
+    @Benchmark
+    public Optional<Student> findByIdentityHit() {
+        next = next + 1 == size ? 0 : next + 1;
+        return repository.findByIdentity(identities[next]);
+    }
+
+    @Benchmark
+    public Optional<Student> findByIdentityMiss() {
+        return repository.findByIdentity("missing@chnu.edu.ua");
+    }
+}
@@ -0,0 +1,89 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.serializer.CborDataSerializer;
+import ua.onlinecourses.serializer.DataSerializer;
+import ua.onlinecourses.serializer.JsonDataSerializer;
+import ua.onlinecourses.serializer.YamlDataSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load, save and round-trip time of the text formats against the binary CBOR format.
+ * The snapshot file size of each trial is printed to the benchmark log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SerializerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int count;
+
+    @Param({"JSON", "YAML", "CBOR"})
+    public String format;
+
+    private DataSerializer<Student> serializer;
+    private List<Student> students;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, DataSerializationException {
+        serializer = switch (format) {
+            case "JSON" -> new JsonDataSerializer<>();
+            case "YAML" -> new YamlDataSerializer<>();
+            case "CBOR" -> new CborDataSerializer<>();
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+
+        BenchmarkData.quietLogging();
+        students = BenchmarkData.students(count);
+
+        file = Files.createTempFile("serializer-benchmark", "." + format.toLowerCase());
+        serializer.serialize(students, file.toString());
+        System.out.printf("%n%s file with %d students: %d bytes%n", format, count, Files.size(file));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Student> load() throws DataSerializationException {
+        return serializer.deserialize(file.toString(), Student.class);
+    }
+
+    @Benchmark
+    public long save() throws DataSerializationException {
+        serializer.serialize(students, file.toString());
+        return file.toFile().length();
+    }
+
+    @Benchmark
+    public List<Student> roundTrip() throws DataSerializationException {
+        serializer.serialize(students, file.toString());
+        return serializer.deserialize(file.toString(), Student.class);
+    }
+}
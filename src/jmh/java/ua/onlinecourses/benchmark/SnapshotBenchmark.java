@@ -0,0 +1,81 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.persistence.MappedSnapshot;
+import ua.onlinecourses.serializer.EntityCodecs;
+import ua.onlinecourses.serializer.JsonDataSerializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of getting one entity by identity: open a snapshot and look it up, against
+ * loading the JSON file and searching the list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SnapshotBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int count;
+
+    private JsonDataSerializer<Student> json;
+    private Path snapshotFile;
+    private Path jsonFile;
+    private String identity;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, DataSerializationException {
+        BenchmarkData.quietLogging();
+        List<Student> students = BenchmarkData.students(count);
+        identity = students.get(count / 2).email();
+        json = new JsonDataSerializer<>();
+
+        snapshotFile = Files.createTempFile("snapshot-benchmark", ".snapshot");
+        jsonFile = Files.createTempFile("snapshot-benchmark", ".json");
+        MappedSnapshot.write(snapshotFile, students, EntityCodecs.STUDENT, Student::email);
+        json.serialize(students, jsonFile.toString());
+        System.out.printf("%nSnapshot %d bytes, JSON %d bytes for %d students%n",
+                Files.size(snapshotFile), Files.size(jsonFile), count);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(jsonFile);
+    }
+
+    @Benchmark
+    public Optional<Student> openSnapshotAndFind() throws DataSerializationException {
+        return MappedSnapshot.open(snapshotFile, EntityCodecs.STUDENT).findByIdentity(identity);
+    }
+
+    @Benchmark
+    public Optional<Student> loadJsonAndFind() throws DataSerializationException {
+        return json.deserialize(jsonFile.toString(), Student.class).stream()
+                .filter(student -> student.email().equals(identity))
+                .findFirst();
+    }
+}
@@ -0,0 +1,92 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.repository.StudentRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class StudentRepositoryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private StudentRepository repository;
+    private Student extra;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        repository = new StudentRepository();
+        List<Student> students = BenchmarkData.students(size + 1);
+        extra = students.remove(size);
+        students.forEach(repository::add);
+        to = LocalDate.now().minusDays(1);
+        from = to.minusDays(6);
+    }
+
+    @Benchmark
+    public List<Student> sortByName() {
+        return repository.sortByName();
+    }
+
+    // Cached order, no copy: what a dashboard reading the first rows pays
+    @Benchmark
+    public List<Student> sortedViewByName() {
+        return repository.sortedView(Student.BY_NAME).subList(0, 10);
+    }
+
+    // A change before every read, so each sort misses the cache
+    @Benchmark
+    public List<Student> sortByNameAfterChange() {
+        repository.add(extra);
+        repository.remove(extra);
+        return repository.sortByName();
+    }
+
+    @Benchmark
+    public List<Student> sortByEnrollmentDate() {
+        return repository.sortByEnrollmentDate();
+    }
+
+    @Benchmark
+    public List<Student> findByEnrollmentDateRange() {
+        return repository.findByEnrollmentDateRange(from, to);
+    }
+
+    @Benchmark
+    public List<Student> findByLastNameContaining() {
+        return repository.findByLastNameContaining("enko");
+    }
+
+    @Benchmark
+    public List<Student> findByFirstName() {
+        return repository.findByFirstName("Olena");
+    }
+
+    @Benchmark
+    public Optional<Student> findOldestStudent() {
+        return repository.findOldestStudent();
+    }
+}
@@ -0,0 +1,82 @@
+package ua.onlinecourses.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.util.StudentUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-entity validation cost. The legacy* methods reproduce the previous implementation
+ * (regex compiled on every call, bounds from LocalDate.now() on every call) as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ValidationBenchmark {
+
+    private static final String EMAIL_REGEX = "^[\\w.-]+@[\\w-]+(\\.[\\w-]+)*\\.[a-zA-Z]{2,}$";
+    private static final int BATCH = 1024;
+
+    private Student[] students;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        List<Student> generated = BenchmarkData.students(BATCH);
+        students = generated.toArray(new Student[0]);
+    }
+
+    private Student nextStudent() {
+        Student student = students[next];
+        next = (next + 1) & (BATCH - 1);
+        return student;
+    }
+
+    @Benchmark
+    public boolean email() {
+        return StudentUtils.isValidEmail(nextStudent().email());
+    }
+
+    @Benchmark
+    public boolean legacyEmail() {
+        return Pattern.matches(EMAIL_REGEX, nextStudent().email());
+    }
+
+    @Benchmark
+    public boolean enrollmentDate() {
+        return StudentUtils.isValidEnrollmentDate(nextStudent().enrollmentDate());
+    }
+
+    @Benchmark
+    public boolean legacyEnrollmentDate() {
+        LocalDate date = nextStudent().enrollmentDate();
+        LocalDate minDate = LocalDate.now().minusYears(5);
+        return date.isAfter(minDate) && date.getYear() <= LocalDate.now().getYear();
+    }
+
+    // Full record construction, which runs every Student validator
+    @Benchmark
+    public void createStudent(Blackhole blackhole) {
+        Student source = nextStudent();
+        blackhole.consume(new Student(source.firstName(), source.lastName(), source.email(), source.enrollmentDate()));
+    }
+}
@@ -1,9 +1,12 @@
 package ua.onlinecourses;
 
 import ua.onlinecourses.config.AppConfig;
+import ua.onlinecourses.config.ConfigKeys;
 import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.generator.DataGenerator;
 import ua.onlinecourses.model.*;
 import ua.onlinecourses.persistence.PersistenceManager;
+import ua.onlinecourses.util.Diagnostics;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -21,7 +24,7 @@ public class Main {
             AppConfig config = new AppConfig();
             PersistenceManager manager = new PersistenceManager(config);
 
-            int testDataCount = config.getIntProperty("test.data.count", 5);
+            int testDataCount = config.getIntProperty(ConfigKeys.TEST_DATA_COUNT, 5);
             logger.log(Level.INFO, "Configuration loaded from config.properties");
             logger.log(Level.INFO, "Number of test objects: " + testDataCount);
             logger.log(Level.INFO, "Base data path: " + config.getBaseDataPath());
@@ -30,7 +33,9 @@ public class Main {
             demonstrateStudentPersistence(config, manager);
             demonstrateCoursePersistence(config, manager);
             demonstrateInstructorPersistence(config, manager);
+            demonstrateDataGeneration(config, testDataCount);
             demonstrateExceptionHandling(manager);
+            Diagnostics.logSummary(Level.INFO);
 
         } catch (DataSerializationException e) {
             logger.log(Level.SEVERE, "Serialization error: " + e.getMessage());
@@ -150,6 +155,22 @@ public class Main {
         logger.log(Level.INFO, "YAML matches original: " + yamlMatch);
     }
 
+    private static void demonstrateDataGeneration(AppConfig config, int testDataCount)
+            throws DataSerializationException {
+
+        long seed = config.getLongProperty(ConfigKeys.TEST_DATA_SEED, DataGenerator.DEFAULT_SEED);
+        DataGenerator generator = new DataGenerator(seed);
+        String basePath = config.getBaseDataPath();
+
+        logger.log(Level.INFO, "Generating " + testDataCount + " objects of each type with seed " + seed + "...");
+        generator.write(Student.class, testDataCount, "CSV", basePath + "/generated_students.csv");
+        generator.write(Course.class, testDataCount, "JSON", basePath + "/generated_courses.json");
+        generator.write(Instructor.class, testDataCount, "YAML", basePath + "/generated_instructors.yaml");
+        generator.write(myModule.class, testDataCount, "JSON", basePath + "/generated_modules.json");
+        generator.write(Assignment.class, testDataCount, "JSON", basePath + "/generated_assignments.json");
+        logger.log(Level.INFO, "Generated data saved to: " + basePath);
+    }
+
     private static void demonstrateExceptionHandling(PersistenceManager manager) {
 
         try {
@@ -87,6 +87,45 @@ public class AppConfig {
         return combinePaths(basePath, filename);
     }
 
+    public String getCborFilePath(String entityType) {
+        String basePath = getBaseDataPath();
+        String key = String.format("data.path.%s.cbor", entityType.toLowerCase());
+        String filename = getProperty(key);
+
+        if (filename == null) {
+            logger.log(Level.WARNING, "CBOR filename not found for entity: {0}. Using default.", entityType);
+            filename = String.format("%s.cbor", entityType.toLowerCase());
+        }
+
+        return combinePaths(basePath, filename);
+    }
+
+    public String getSnapshotFilePath(String entityType) {
+        String basePath = getBaseDataPath();
+        String key = String.format("data.path.%s.snapshot", entityType.toLowerCase());
+        String filename = getProperty(key);
+
+        if (filename == null) {
+            logger.log(Level.WARNING, "Snapshot filename not found for entity: {0}. Using default.", entityType);
+            filename = String.format("%s.snapshot", entityType.toLowerCase());
+        }
+
+        return combinePaths(basePath, filename);
+    }
+
+    public String getJournalFilePath(String entityType) {
+        String basePath = getBaseDataPath();
+        String key = String.format("data.path.%s.journal", entityType.toLowerCase());
+        String filename = getProperty(key);
+
+        if (filename == null) {
+            logger.log(Level.WARNING, "Journal filename not found for entity: {0}. Using default.", entityType);
+            filename = String.format("%s.journal", entityType.toLowerCase());
+        }
+
+        return combinePaths(basePath, filename);
+    }
+
     public String getBaseDataPath() {
         return getProperty("data.path.base", "./data");
     }
@@ -117,6 +156,21 @@ public class AppConfig {
         }
     }
 
+    public long getLongProperty(String key, long defaultValue) {
+        String value = getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.log(Level.WARNING, "Invalid long value for key {0}: {1}. Using default: {2}",
+                    new Object[]{key, value, defaultValue});
+            return defaultValue;
+        }
+    }
+
     public boolean getBooleanProperty(String key, boolean defaultValue) {
         String value = getProperty(key);
         if (value == null) {
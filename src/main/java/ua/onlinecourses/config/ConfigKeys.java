@@ -10,18 +10,36 @@ public final class ConfigKeys {
 
     public static final String DATA_PATH_STUDENTS_JSON = "data.path.students.json";
     public static final String DATA_PATH_STUDENTS_YAML = "data.path.students.yaml";
+    public static final String DATA_PATH_STUDENTS_CBOR = "data.path.students.cbor";
+    public static final String DATA_PATH_STUDENTS_SNAPSHOT = "data.path.students.snapshot";
+    public static final String DATA_PATH_STUDENTS_JOURNAL = "data.path.students.journal";
 
     public static final String DATA_PATH_COURSES_JSON = "data.path.courses.json";
     public static final String DATA_PATH_COURSES_YAML = "data.path.courses.yaml";
+    public static final String DATA_PATH_COURSES_CBOR = "data.path.courses.cbor";
+    public static final String DATA_PATH_COURSES_SNAPSHOT = "data.path.courses.snapshot";
+    public static final String DATA_PATH_COURSES_JOURNAL = "data.path.courses.journal";
 
     public static final String DATA_PATH_INSTRUCTORS_JSON = "data.path.instructors.json";
     public static final String DATA_PATH_INSTRUCTORS_YAML = "data.path.instructors.yaml";
+    public static final String DATA_PATH_INSTRUCTORS_CBOR = "data.path.instructors.cbor";
+    public static final String DATA_PATH_INSTRUCTORS_SNAPSHOT = "data.path.instructors.snapshot";
+    public static final String DATA_PATH_INSTRUCTORS_JOURNAL = "data.path.instructors.journal";
 
     public static final String DATA_PATH_MODULES_JSON = "data.path.modules.json";
     public static final String DATA_PATH_MODULES_YAML = "data.path.modules.yaml";
+    public static final String DATA_PATH_MODULES_CBOR = "data.path.modules.cbor";
+    public static final String DATA_PATH_MODULES_SNAPSHOT = "data.path.modules.snapshot";
+    public static final String DATA_PATH_MODULES_JOURNAL = "data.path.modules.journal";
 
     public static final String DATA_PATH_ASSIGNMENTS_JSON = "data.path.assignments.json";
     public static final String DATA_PATH_ASSIGNMENTS_YAML = "data.path.assignments.yaml";
+    public static final String DATA_PATH_ASSIGNMENTS_CBOR = "data.path.assignments.cbor";
+    public static final String DATA_PATH_ASSIGNMENTS_SNAPSHOT = "data.path.assignments.snapshot";
+    public static final String DATA_PATH_ASSIGNMENTS_JOURNAL = "data.path.assignments.journal";
+
+    public static final String JOURNAL_COMPACT_BYTES = "persistence.journal.compact.bytes";
 
     public static final String TEST_DATA_COUNT = "test.data.count";
+    public static final String TEST_DATA_SEED = "test.data.seed";
 }
\ No newline at end of file
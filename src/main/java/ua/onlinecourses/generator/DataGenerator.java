@@ -0,0 +1,298 @@
+package ua.onlinecourses.generator;
+
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Mark;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.serializer.CborDataSerializer;
+import ua.onlinecourses.serializer.DataSerializer;
+import ua.onlinecourses.serializer.JsonDataSerializer;
+import ua.onlinecourses.serializer.YamlDataSerializer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.function.LongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of valid entities for scale and load testing.
+ *
+ * <p>Every entity is derived only from the seed, the reference date and its index, so
+ * {@code student(42)} is the same for equal generators regardless of how many entities were
+ * generated before it, and streams may be consumed in parallel. Identity fields embed a code
+ * of the index, so the first 17 576 * 17 576 entities of each type have distinct identities
+ * in the entity repositories.</p>
+ *
+ * <p>Dates are generated relative to the reference date, while the model validates them
+ * against the current date, so the reference date should be close to today.</p>
+ */
+public class DataGenerator {
+
+    private static final Logger logger = Logger.getLogger(DataGenerator.class.getName());
+
+    public static final long DEFAULT_SEED = 20240901L;
+
+    private static final int CODES = 26 * 26 * 26;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final long STUDENT_SALT = 1;
+    private static final long COURSE_SALT = 2;
+    private static final long INSTRUCTOR_SALT = 3;
+    private static final long MODULE_SALT = 4;
+    private static final long ASSIGNMENT_SALT = 5;
+
+    private static final String[] FIRST_NAMES = {
+            "Lesia", "Liliya", "Ivan", "Daniel", "Dmytro", "Olena", "Taras", "Iryna", "Andrii",
+            "Sofiia", "Mykola", "Oksana", "Bohdan", "Nataliia", "Yurii", "Kateryna", "Roman", "Mariia"
+    };
+    private static final String[] LAST_NAMES = {
+            "Melnyk", "Fivko", "Bondaryk", "Lula", "Vasylyk", "Shevchenko", "Kovalenko", "Bylat",
+            "Malyk", "Kir", "Skrypa", "Tkachuk", "Kravets", "Boiko", "Savchuk", "Hnatiuk"
+    };
+    private static final String[] DOMAINS = {
+            "chnu.edu.ua", "student.ua", "university.edu", "gmail.com"
+    };
+    private static final String[] SUBJECTS = {
+            "Java Programming", "Data Structures", "Web Development", "Databases", "Algorithms",
+            "Operating Systems", "Computer Networks", "Machine Learning", "Discrete Math", "Testing"
+    };
+    private static final String[] TOPICS = {
+            "Basics", "Collections", "Streams", "Generics", "Recursion", "Sorting", "Indexes",
+            "Transactions", "Concurrency", "Patterns", "Graphs", "Trees"
+    };
+    private static final String[] SENTENCES = {
+            "Introduction to the topic and key definitions.",
+            "Worked examples with step by step explanations.",
+            "Practice tasks for independent work.",
+            "Common mistakes and how to avoid them.",
+            "Summary and review questions."
+    };
+
+    private final long seed;
+    private final LocalDate referenceDate;
+
+    public DataGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public DataGenerator(long seed) {
+        this(seed, LocalDate.now());
+    }
+
+    public DataGenerator(long seed, LocalDate referenceDate) {
+        if (referenceDate == null) {
+            throw new IllegalArgumentException("Reference date cannot be null");
+        }
+        this.seed = seed;
+        this.referenceDate = referenceDate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public LocalDate getReferenceDate() {
+        return referenceDate;
+    }
+
+    public Student student(long index) {
+        SplittableRandom random = random(STUDENT_SALT, index);
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + index
+                + "@" + pick(random, DOMAINS);
+        // Within the last four years: newer than five years and never in a future year
+        LocalDate enrollmentDate = referenceDate.minusDays(random.nextInt(1, 4 * 365));
+        return new Student(firstName, lastName, email, enrollmentDate);
+    }
+
+    public Course course(long index) {
+        SplittableRandom random = random(COURSE_SALT, index);
+        String title = code(index) + " " + pick(random, SUBJECTS);
+        String description = code(index / CODES) + " " + pick(random, TOPICS) + " and "
+                + pick(random, TOPICS).toLowerCase();
+        int credits = random.nextInt(1, 6);
+        return new Course(title, description, credits, dateWithinYear(random));
+    }
+
+    public Instructor instructor(long index) {
+        SplittableRandom random = random(INSTRUCTOR_SALT, index);
+        String firstName = code(index) + pick(random, FIRST_NAMES).toLowerCase();
+        String lastName = code(index / CODES) + pick(random, LAST_NAMES).toLowerCase();
+        int expertise = random.nextInt(1, 61);
+        return new Instructor(firstName, lastName, expertise);
+    }
+
+    public myModule module(long index) {
+        SplittableRandom random = random(MODULE_SALT, index);
+        String title = code(index) + " " + pick(random, TOPICS);
+        StringBuilder content = new StringBuilder(code(index / CODES)).append(' ')
+                .append(pick(random, SUBJECTS)).append('.');
+        int sentences = random.nextInt(1, 4);
+        for (int i = 0; i < sentences; i++) {
+            content.append(' ').append(pick(random, SENTENCES));
+        }
+        return new myModule(title, content.toString());
+    }
+
+    public Assignment assignment(long index) {
+        SplittableRandom random = random(ASSIGNMENT_SALT, index);
+        Mark[] marks = Mark.values();
+        int maxPoints = random.nextInt(1, 101);
+        Mark mark = marks[random.nextInt(marks.length)];
+        return new Assignment(module(index), dateWithinYear(random), maxPoints, mark);
+    }
+
+    public Stream<Student> students(long count) {
+        return generate(count, this::student);
+    }
+
+    public Stream<Course> courses(long count) {
+        return generate(count, this::course);
+    }
+
+    public Stream<Instructor> instructors(long count) {
+        return generate(count, this::instructor);
+    }
+
+    public Stream<myModule> modules(long count) {
+        return generate(count, this::module);
+    }
+
+    public Stream<Assignment> assignments(long count) {
+        return generate(count, this::assignment);
+    }
+
+    /**
+     * Streams {@code count} entities of a supported model type.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Stream<T> stream(Class<T> type, long count) {
+        if (type == Student.class) {
+            return (Stream<T>) students(count);
+        } else if (type == Course.class) {
+            return (Stream<T>) courses(count);
+        } else if (type == Instructor.class) {
+            return (Stream<T>) instructors(count);
+        } else if (type == myModule.class) {
+            return (Stream<T>) modules(count);
+        } else if (type == Assignment.class) {
+            return (Stream<T>) assignments(count);
+        }
+        throw new IllegalArgumentException("Unsupported entity type: " + type);
+    }
+
+    /**
+     * Generates {@code count} entities straight into a CSV, JSON, YAML or CBOR file without
+     * holding them in memory. CSV lines use the format read by the parsers in
+     * {@code ua.onlinecourses.parser}; assignments, which have no parser, are written as
+     * {@code moduleTitle,moduleContent,dueDate,maxPoints,mark}.
+     *
+     * @return number of entities written
+     */
+    public <T> long write(Class<T> type, long count, String format, String filePath)
+            throws DataSerializationException {
+        if (format == null || filePath == null || filePath.trim().isEmpty()) {
+            throw new DataSerializationException("Format and file path cannot be null or empty");
+        }
+        String formatUpper = format.toUpperCase();
+        long written;
+        try (Stream<T> items = stream(type, count)) {
+            if ("CSV".equals(formatUpper)) {
+                written = writeCsv(items, filePath);
+            } else {
+                DataSerializer<T> serializer = serializerFor(formatUpper);
+                written = serializer.serializeStream(items, filePath);
+            }
+        }
+        logger.log(Level.INFO, "Generated {0} {1} entities (seed {2}) to {3} file: {4}",
+                new Object[]{written, type.getSimpleName(), seed, formatUpper, filePath});
+        return written;
+    }
+
+    public static String toCsvLine(Object item) {
+        if (item instanceof Student s) {
+            return s.firstName() + "," + s.lastName() + "," + s.email() + "," + s.enrollmentDate();
+        } else if (item instanceof Course c) {
+            return c.title() + "," + c.description() + "," + c.credits() + "," + c.startDate();
+        } else if (item instanceof Instructor i) {
+            return i.firstName() + "," + i.lastName() + "," + i.expertise();
+        } else if (item instanceof myModule m) {
+            return m.title() + "," + m.content();
+        } else if (item instanceof Assignment a) {
+            return a.module().title() + "," + a.module().content() + "," + a.dueDate() + ","
+                    + a.maxPoints() + "," + a.mark();
+        }
+        throw new IllegalArgumentException("Unsupported entity type: " + item);
+    }
+
+    private <T> long writeCsv(Stream<T> items, String filePath) throws DataSerializationException {
+        Path path = Paths.get(filePath);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            long written = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+                Iterator<T> iterator = items.iterator();
+                while (iterator.hasNext()) {
+                    writer.write(toCsvLine(iterator.next()));
+                    writer.newLine();
+                    written++;
+                }
+            }
+            return written;
+        } catch (IOException | UncheckedIOException e) {
+            throw new DataSerializationException("Failed to write generated data to CSV file: " + filePath, e);
+        }
+    }
+
+    private static <T> DataSerializer<T> serializerFor(String format) throws DataSerializationException {
+        return switch (format) {
+            case "JSON" -> new JsonDataSerializer<>();
+            case "YAML" -> new YamlDataSerializer<>();
+            case "CBOR" -> new CborDataSerializer<>();
+            default -> throw new DataSerializationException("Unsupported format: " + format);
+        };
+    }
+
+    private static <T> Stream<T> generate(long count, LongFunction<T> factory) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative: " + count);
+        }
+        return LongStream.range(0, count).mapToObj(factory);
+    }
+
+    private SplittableRandom random(long salt, long index) {
+        return new SplittableRandom(seed ^ (salt * GOLDEN_GAMMA) ^ (index * 0xBF58476D1CE4E5B9L));
+    }
+
+    // Strictly inside (reference - 1 year, reference + 1 year)
+    private LocalDate dateWithinYear(SplittableRandom random) {
+        return referenceDate.plusDays(random.nextInt(-360, 361));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    // Three-letter code, unique for 0 <= n < 17 576: "Aaa", "Aab", ...
+    static String code(long n) {
+        int value = (int) Math.floorMod(n, (long) CODES);
+        return new String(new char[]{
+                (char) ('A' + value / 676), (char) ('a' + value / 26 % 26), (char) ('a' + value % 26)});
+    }
+}
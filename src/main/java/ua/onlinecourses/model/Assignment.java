@@ -3,14 +3,17 @@ package ua.onlinecourses.model;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.util.Diagnostics;
 import ua.onlinecourses.util.AssignmentUtils;
 
 public record Assignment(myModule module, LocalDate dueDate, int maxPoints, Mark mark) implements Comparable<Assignment> {
 
     private static final Logger logger = Logger.getLogger(Assignment.class.getName());
+    private static final LongAdder CREATED = Diagnostics.counter("Assignment.created");
     public static final Comparator<Assignment> BY_DUE_DATE =
             Comparator.comparing(Assignment::dueDate);
     public static final Comparator<Assignment> BY_MAX_POINTS =
@@ -18,7 +21,7 @@ public record Assignment(myModule module, LocalDate dueDate, int maxPoints, Mark
     public static final Comparator<Assignment> BY_MARK =
             Comparator.comparing(Assignment::mark);
     public static final Comparator<Assignment> BY_MODULE_AND_DATE =
-            Comparator.comparing((Assignment a) -> a.module().getFullName())
+            Comparator.comparing(Assignment::module)
                     .thenComparing(Assignment::dueDate);
 
     public Assignment(myModule module, LocalDate dueDate, int maxPoints, Mark mark) {
@@ -30,14 +33,15 @@ public record Assignment(myModule module, LocalDate dueDate, int maxPoints, Mark
         } else {
             throw new InvalidDataException("Invalid parameters");
         }
-        logger.log(Level.INFO, "Assignment created successfully: {0}, {1}, {2}, {3}",
-                new Object[]{module, dueDate, maxPoints, mark});
+        CREATED.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Assignment created successfully: {0}, {1}, {2}, {3}",
+                    new Object[]{module, dueDate, maxPoints, mark});
+        }
     }
 
     static Assignment createAssignment(myModule module, LocalDate dueDate, int maxPoints, Mark mark) {
         if (AssignmentUtils.isValidDueDate(dueDate) && AssignmentUtils.isValidMaxPoints(maxPoints)) {
-            logger.log(Level.INFO, "Assignment created successfully: {0}, {1}, {2}, {3}",
-                    new Object[]{module, dueDate, maxPoints, mark});
             return new Assignment(module, dueDate, maxPoints, mark);
         }
         throw new InvalidDataException("Invalid parameters");
@@ -58,7 +62,7 @@ public record Assignment(myModule module, LocalDate dueDate, int maxPoints, Mark
 
     @com.fasterxml.jackson.annotation.JsonIgnore
     public String getIdentity() {
-        return module.getFullName() + "-" + dueDate.toString();
+        return module.appendFullName(new StringBuilder(18)).append('-').append(dueDate).toString();
     }
 
     @Override
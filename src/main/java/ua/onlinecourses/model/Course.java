@@ -4,13 +4,16 @@ import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.Objects;
 import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.util.Diagnostics;
 import ua.onlinecourses.util.CourseUtils;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public record Course(String title, String description, int credits, LocalDate startDate) implements Comparable<Course> {
 
     private static final Logger logger = Logger.getLogger(Course.class.getName());
+    private static final LongAdder CREATED = Diagnostics.counter("Course.created");
 
     public static final Comparator<Course> BY_CREDITS =
             Comparator.comparingInt(Course::credits);
@@ -32,15 +35,16 @@ public record Course(String title, String description, int credits, LocalDate st
         } else {
             throw new InvalidDataException("Invalid parameters");
         }
-        logger.log(Level.INFO, "Course created successfully: {0}, {1}, {2}, {3}",
-                new Object[]{title, description, credits, startDate});
+        CREATED.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Course created successfully: {0}, {1}, {2}, {3}",
+                    new Object[]{title, description, credits, startDate});
+        }
     }
 
     static Course createCourse(String title, String description, int credits, LocalDate startDate) {
         if (CourseUtils.isValidTitle(title) && CourseUtils.isValidDescription(description) &&
                 CourseUtils.isValidCredit(credits) && CourseUtils.isValidstartDate(startDate)) {
-            logger.log(Level.INFO, "Course created successfully: {0}, {1}, {2}, {3}",
-                    new Object[]{title, description, credits, startDate});
             return new Course(title, description, credits, startDate);
         }
         throw new InvalidDataException("Invalid parameters");
@@ -52,14 +56,32 @@ public record Course(String title, String description, int credits, LocalDate st
             String errorMsg = "Cannot create full name";
             throw new InvalidDataException(errorMsg);
         }
-        String fullName = title.substring(0, 3).toUpperCase() + "-" +
-                description.substring(0, 3).toUpperCase() + "-" +
-                credits + startDate.toString();
-        return fullName;
+        StringBuilder fullName = new StringBuilder(20);
+        IdentityKeys.appendUpperPrefix(fullName, title);
+        fullName.append('-');
+        IdentityKeys.appendUpperPrefix(fullName, description);
+        fullName.append('-').append(credits).append(startDate);
+        return fullName.toString();
     }
 
+    // Same order as comparing full names, without building them when every segment is fixed-width
     @Override
     public int compareTo(Course other) {
+        if (hasFixedWidthFullName() && other.hasFixedWidthFullName() && IdentityKeys.hasSimpleUpperCase()) {
+            int result = IdentityKeys.compareUpperPrefix(title, other.title);
+            if (result == 0) {
+                result = IdentityKeys.compareUpperPrefix(description, other.description);
+            }
+            if (result == 0) {
+                result = Integer.compare(credits, other.credits);
+            }
+            return result != 0 ? result : startDate.compareTo(other.startDate);
+        }
         return this.getFullName().compareTo(other.getFullName());
     }
+
+    private boolean hasFixedWidthFullName() {
+        return IdentityKeys.hasSimplePrefix(title) && IdentityKeys.hasSimplePrefix(description)
+                && credits >= 0 && credits <= 9 && IdentityKeys.hasFixedWidthText(startDate);
+    }
 }
\ No newline at end of file
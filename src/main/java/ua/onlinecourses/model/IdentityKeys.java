@@ -0,0 +1,99 @@
+package ua.onlinecourses.model;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Building blocks for the full-name identities of the model records. A full name is made of
+ * fixed-width segments (an upper-cased three-character prefix, a one-digit credit count, an
+ * ISO date), so two full names can be ordered segment by segment straight from the record
+ * components, without building either string. The fast paths only apply where that gives
+ * exactly the same order as {@code String.compareTo} on the built names; the records fall
+ * back to comparing the built names otherwise.
+ */
+final class IdentityKeys {
+
+    static final int PREFIX_LENGTH = 3;
+
+    private IdentityKeys() {
+    }
+
+    // True when text.substring(0, 3).toUpperCase() is three characters that can be derived per char
+    static boolean hasSimplePrefix(String text) {
+        if (text.length() < PREFIX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < PREFIX_LENGTH; i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Turkish and Azeri upper-case the ASCII 'i' to a non-ASCII letter
+    static boolean hasSimpleUpperCase() {
+        String language = Locale.getDefault().getLanguage();
+        return !language.equals("tr") && !language.equals("az");
+    }
+
+    // Compares two prefixes for which hasSimplePrefix holds, as their upper-cased forms
+    static int compareUpperPrefix(String first, String second) {
+        for (int i = 0; i < PREFIX_LENGTH; i++) {
+            int difference = upper(first.charAt(i)) - upper(second.charAt(i));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    static void appendUpperPrefix(StringBuilder builder, String text) {
+        if (hasSimplePrefix(text) && hasSimpleUpperCase()) {
+            for (int i = 0; i < PREFIX_LENGTH; i++) {
+                builder.append(upper(text.charAt(i)));
+            }
+        } else {
+            builder.append(text.substring(0, PREFIX_LENGTH).toUpperCase());
+        }
+    }
+
+    // LocalDate.toString() is fixed-width yyyy-MM-dd, and so ordered like the date, only for these years
+    static boolean hasFixedWidthText(LocalDate date) {
+        return date.getYear() >= 0 && date.getYear() <= 9999;
+    }
+
+    // Same sign as Integer.toString(first).compareTo(Integer.toString(second)) for non-negative values
+    static int compareDecimalText(int first, int second) {
+        int firstDigits = digits(first);
+        int secondDigits = digits(second);
+        int common = Math.min(firstDigits, secondDigits);
+        int firstHead = first / pow10(firstDigits - common);
+        int secondHead = second / pow10(secondDigits - common);
+        if (firstHead != secondHead) {
+            return Integer.compare(firstHead, secondHead);
+        }
+        return Integer.compare(firstDigits, secondDigits);
+    }
+
+    private static char upper(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    private static int digits(int value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
@@ -3,13 +3,16 @@ package ua.onlinecourses.model;
 import java.util.Comparator;
 import java.util.Objects;
 import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.util.Diagnostics;
 import ua.onlinecourses.util.InstructorUtils;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public record Instructor(String firstName, String lastName, int expertise) implements Comparable<Instructor> {
 
     private static final Logger logger = Logger.getLogger(Instructor.class.getName());
+    private static final LongAdder CREATED = Diagnostics.counter("Instructor.created");
 
     public static final Comparator<Instructor> BY_EXPERTISE =
             Comparator.comparingInt(Instructor::expertise).reversed();
@@ -31,15 +34,16 @@ public record Instructor(String firstName, String lastName, int expertise) imple
         } else {
             throw new InvalidDataException("Invalid parameters");
         }
-        logger.log(Level.INFO, "Instructor created successfully: {0}, {1}, {2}",
-                new Object[]{firstName, lastName, expertise});
+        CREATED.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Instructor created successfully: {0}, {1}, {2}",
+                    new Object[]{firstName, lastName, expertise});
+        }
     }
 
     static Instructor createInstructor(String firstName, String lastName, int expertise) {
         if (InstructorUtils.isValidName(firstName) && InstructorUtils.isValidName(lastName) &&
                 InstructorUtils.isValidExpertise(expertise)) {
-            logger.log(Level.INFO, "Instructor created successfully: {0}, {1}, {2}",
-                    new Object[]{firstName, lastName, expertise});
             return new Instructor(firstName, lastName, expertise);
         }
         throw new InvalidDataException("Invalid parameters");
@@ -51,13 +55,26 @@ public record Instructor(String firstName, String lastName, int expertise) imple
             String errorMsg = "Cannot create full name";
             throw new InvalidDataException(errorMsg);
         }
-        String fullName = firstName.substring(0, 3).toUpperCase() +
-                lastName.substring(0, 3).toUpperCase() + "-" + expertise;
-        return fullName;
+        StringBuilder fullName = new StringBuilder(10);
+        IdentityKeys.appendUpperPrefix(fullName, firstName);
+        IdentityKeys.appendUpperPrefix(fullName, lastName);
+        return fullName.append('-').append(expertise).toString();
     }
 
+    // Same order as comparing full names, without building them in the common ASCII case
     @Override
     public int compareTo(Instructor other) {
+        if (hasSimpleFullName() && other.hasSimpleFullName() && IdentityKeys.hasSimpleUpperCase()) {
+            int result = IdentityKeys.compareUpperPrefix(firstName, other.firstName);
+            if (result == 0) {
+                result = IdentityKeys.compareUpperPrefix(lastName, other.lastName);
+            }
+            return result != 0 ? result : IdentityKeys.compareDecimalText(expertise, other.expertise);
+        }
         return this.getFullName().compareTo(other.getFullName());
     }
+
+    private boolean hasSimpleFullName() {
+        return IdentityKeys.hasSimplePrefix(firstName) && IdentityKeys.hasSimplePrefix(lastName) && expertise >= 0;
+    }
 }
\ No newline at end of file
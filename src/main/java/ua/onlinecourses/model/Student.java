@@ -3,14 +3,17 @@ package ua.onlinecourses.model;
 import java.time.LocalDate;
 import java.util.Comparator;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.util.Diagnostics;
 import ua.onlinecourses.util.StudentUtils;
 
 public record Student(String firstName, String lastName, String email, LocalDate enrollmentDate) implements Comparable<Student> {
 
     private static final Logger logger = Logger.getLogger(Student.class.getName());
+    private static final LongAdder CREATED = Diagnostics.counter("Student.created");
 
     // Comparator для сортування за датою реєстрації
     public static final Comparator<Student> BY_ENROLLMENT_DATE =
@@ -38,8 +41,11 @@ public record Student(String firstName, String lastName, String email, LocalDate
         } else {
             throw new InvalidDataException("Invalid parameters");
         }
-        logger.log(Level.INFO, "Student created successfully: {0}, {1}, {2}, {3}",
-                new Object[]{firstName, lastName, email, enrollmentDate});
+        CREATED.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Student created successfully: {0}, {1}, {2}, {3}",
+                    new Object[]{firstName, lastName, email, enrollmentDate});
+        }
     }
 
     static Student createStudent(String firstName, String lastName, String email, LocalDate enrollmentDate) {
@@ -47,8 +53,6 @@ public record Student(String firstName, String lastName, String email, LocalDate
                 StudentUtils.isValidName(lastName) &&
                 StudentUtils.isValidEmail(email) &&
                 StudentUtils.isValidEnrollmentDate(enrollmentDate)) {
-            logger.log(Level.INFO, "Student created successfully: {0}, {1}, {2}, {3}",
-                    new Object[]{firstName, lastName, email, enrollmentDate});
             return new Student(firstName, lastName, email, enrollmentDate);
         }
         throw new InvalidDataException("Invalid parameters");
@@ -3,13 +3,16 @@ package ua.onlinecourses.model;
 import java.util.Comparator;
 import java.util.Objects;
 import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.util.Diagnostics;
 import ua.onlinecourses.util.ModuleUtils;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 public record myModule(String title, String content) implements Comparable<myModule> {
 
     private static final Logger logger = Logger.getLogger(myModule.class.getName());
+    private static final LongAdder CREATED = Diagnostics.counter("Module.created");
     public static final Comparator<myModule> BY_TITLE =
             Comparator.comparing(myModule::title);
     public static final Comparator<myModule> BY_CONTENT =
@@ -25,14 +28,15 @@ public record myModule(String title, String content) implements Comparable<myMod
         } else {
             throw new InvalidDataException("Invalid parameters");
         }
-        logger.log(Level.INFO, "Module created successfully: {0}, {1}",
-                new Object[]{title, content});
+        CREATED.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Module created successfully: {0}, {1}",
+                    new Object[]{title, content});
+        }
     }
 
     static myModule createModule(String title, String content) {
         if (ModuleUtils.isValidTitle(title) && ModuleUtils.isValidContent(content)) {
-            logger.log(Level.INFO, "Module created successfully: {0}, {1}",
-                    new Object[]{title, content});
             return new myModule(title, content);
         }
         throw new InvalidDataException("Invalid parameters");
@@ -40,17 +44,30 @@ public record myModule(String title, String content) implements Comparable<myMod
 
     @com.fasterxml.jackson.annotation.JsonIgnore
     public String getFullName() {
+        return appendFullName(new StringBuilder(7)).toString();
+    }
+
+    // Lets Assignment build its identity in one builder
+    StringBuilder appendFullName(StringBuilder builder) {
         if (title.length() < 3 || content.length() < 3) {
             String errorMsg = "Cannot create full name";
             throw new InvalidDataException(errorMsg);
         }
-        String fullName = title.substring(0, 3).toUpperCase() + "-" +
-                content.substring(0, 3).toUpperCase();
-        return fullName;
+        IdentityKeys.appendUpperPrefix(builder, title);
+        builder.append('-');
+        IdentityKeys.appendUpperPrefix(builder, content);
+        return builder;
     }
 
+    // Same order as comparing full names, without building them in the common ASCII case
     @Override
     public int compareTo(myModule other) {
+        if (IdentityKeys.hasSimplePrefix(title) && IdentityKeys.hasSimplePrefix(content)
+                && IdentityKeys.hasSimplePrefix(other.title) && IdentityKeys.hasSimplePrefix(other.content)
+                && IdentityKeys.hasSimpleUpperCase()) {
+            int result = IdentityKeys.compareUpperPrefix(title, other.title);
+            return result != 0 ? result : IdentityKeys.compareUpperPrefix(content, other.content);
+        }
         return this.getFullName().compareTo(other.getFullName());
     }
 }
\ No newline at end of file
@@ -0,0 +1,324 @@
+package ua.onlinecourses.parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import ua.onlinecourses.exception.InvalidDataException;
+
+/**
+ * Shared line reading for the *FileParser classes. Lines are read lazily through a buffered
+ * reader, so only the current buffer and line are held in memory regardless of file size.
+ * Blank lines and lines starting with '#' are skipped; lines rejected with
+ * {@link InvalidDataException} are skipped and summarised once the end of the file is reached.
+ */
+final class CsvFileReader {
+
+    private static final Logger logger = Logger.getLogger(CsvFileReader.class.getName());
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    static final int MIN_CHUNK_SIZE = 1 << 20;
+    static final int MAX_CHUNK_SIZE = 16 << 20;
+
+    private CsvFileReader() {
+    }
+
+    // Classpath resource first, then file system, as the parsers always did
+    static Path resolve(String filePath) throws IOException {
+        Path path;
+        try {
+            ClassLoader classloader = Thread.currentThread().getContextClassLoader();
+            URL url = classloader.getResource(filePath);
+            if (url != null) {
+                path = Paths.get(url.toURI());
+            } else {
+                path = Paths.get(filePath);
+            }
+        } catch (URISyntaxException e) {
+            path = Paths.get(filePath);
+        }
+
+        if (!Files.exists(path)) {
+            throw new IOException("File not found: " + filePath);
+        }
+        return path;
+    }
+
+    /**
+     * Opens a lazy, ordered stream of the entities in a CSV file. The file stays open until
+     * the stream is closed, so use it in try-with-resources. Read errors surface as
+     * {@link UncheckedIOException} from the terminal operation.
+     */
+    static <T> Stream<T> stream(String filePath, String entityName, Function<String, T> lineParser)
+            throws IOException {
+        Path path = resolve(filePath);
+        // Strict UTF-8 decoding like Files.readAllLines, with a larger buffer than the default 8K
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                Files.newInputStream(path), StandardCharsets.UTF_8.newDecoder()), BUFFER_SIZE);
+        logger.log(Level.INFO, "Starting to parse {0} from file: {1}", new Object[]{entityName, filePath});
+
+        LineSpliterator<T> spliterator = new LineSpliterator<>(reader, filePath, entityName, lineParser);
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Parses the file on a fork-join pool. The file is split into byte ranges that end on a
+     * line break; each range is read with positional reads, decoded and parsed by its own task.
+     * Results and skipped-line reports are merged back in file order, so the outcome matches
+     * {@link #stream} exactly. A chunk size of 0 picks one from the file size and pool parallelism.
+     */
+    static <T> List<T> parseParallel(String filePath, String entityName, Function<String, T> lineParser,
+                                     ForkJoinPool pool, int chunkSize) throws IOException {
+        Path path = resolve(filePath);
+        logger.log(Level.INFO, "Starting to parse {0} in parallel from file: {1}", new Object[]{entityName, filePath});
+
+        List<ChunkResult<T>> chunks = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<ForkJoinTask<ChunkResult<T>>> tasks = new ArrayList<>();
+            int size = chunkSize > 0 ? chunkSize : defaultChunkSize(channel.size(), pool.getParallelism());
+            for (long[] range : splitAtLineBreaks(channel, size)) {
+                tasks.add(pool.submit(() -> parseChunk(channel, range[0], range[1], lineParser)));
+            }
+            for (ForkJoinTask<ChunkResult<T>> task : tasks) {
+                chunks.add(task.join());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        int total = 0;
+        for (ChunkResult<T> chunk : chunks) {
+            total += chunk.items().size();
+        }
+        List<T> items = new ArrayList<>(total);
+        int firstLine = 0;
+        int skipped = 0;
+        String firstError = null;
+        for (ChunkResult<T> chunk : chunks) {
+            items.addAll(chunk.items());
+            for (LineError error : chunk.errors()) {
+                String message = "Line " + (firstLine + error.line()) + ": " + error.message();
+                skipped++;
+                if (firstError == null) {
+                    firstError = message;
+                }
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Failed to parse line {0}: {1}",
+                            new Object[]{firstLine + error.line(), message});
+                }
+            }
+            firstLine += chunk.lineCount();
+        }
+
+        if (skipped > 0) {
+            logger.log(Level.WARNING, "Skipped {0} invalid lines in {1}. First error: {2}",
+                    new Object[]{skipped, filePath, firstError});
+        }
+        logger.log(Level.INFO, "Successfully parsed {0} {1} from file in {2} chunks",
+                new Object[]{items.size(), entityName, chunks.size()});
+        return items;
+    }
+
+    static int defaultChunkSize(long fileSize, int parallelism) {
+        // A few chunks per worker so uneven chunks still balance, within sane bounds
+        long target = fileSize / (Math.max(1, parallelism) * 4L);
+        return (int) Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+    }
+
+    // [start, end) byte ranges; every range but the last ends just after a line break, which
+    // like BufferedReader.readLine is '\n', '\r' or "\r\n" (never split between two ranges)
+    private static List<long[]> splitAtLineBreaks(FileChannel channel, int chunkSize) throws IOException {
+        List<long[]> ranges = new ArrayList<>();
+        long size = channel.size();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkSize, size);
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                int newline = -1;
+                for (int i = 0; i < read; i++) {
+                    byte b = probe.get(i);
+                    if (b == '\n' || b == '\r') {
+                        newline = i;
+                        break;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    if (probe.get(newline) == '\r' && end < size && isLineFeedAt(channel, end)) {
+                        end++;
+                    }
+                    break;
+                }
+                end = read > 0 ? end + read : size;
+            }
+            ranges.add(new long[]{start, Math.min(end, size)});
+            start = end;
+        }
+        return ranges;
+    }
+
+    private static boolean isLineFeedAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        return channel.read(one, position) == 1 && one.get(0) == '\n';
+    }
+
+    private static <T> ChunkResult<T> parseChunk(FileChannel channel, long start, long end,
+                                                 Function<String, T> lineParser) {
+        String text;
+        try {
+            ByteBuffer bytes = ByteBuffer.allocate((int) (end - start));
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, start + bytes.position()) < 0) {
+                    break;
+                }
+            }
+            bytes.flip();
+            // A range never splits a UTF-8 sequence: it ends on '\n' or '\r', never part of one
+            text = StandardCharsets.UTF_8.newDecoder().decode(bytes).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bytes " + start + "-" + end, e);
+        }
+
+        List<T> items = new ArrayList<>();
+        List<LineError> errors = new ArrayList<>();
+        int lineNumber = 0;
+        int from = 0;
+        while (from < text.length()) {
+            int to = from;
+            while (to < text.length() && text.charAt(to) != '\n' && text.charAt(to) != '\r') {
+                to++;
+            }
+            lineNumber++;
+            String line = text.substring(from, to).trim();
+            boolean crlf = to + 1 < text.length() && text.charAt(to) == '\r' && text.charAt(to + 1) == '\n';
+            from = to + (crlf ? 2 : 1);
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                items.add(lineParser.apply(line));
+            } catch (InvalidDataException e) {
+                errors.add(new LineError(lineNumber, e.getMessage()));
+            }
+        }
+        return new ChunkResult<>(items, lineNumber, errors);
+    }
+
+    private record ChunkResult<T>(List<T> items, int lineCount, List<LineError> errors) {
+    }
+
+    // Line number relative to the start of its chunk
+    private record LineError(int line, String message) {
+    }
+
+    static <T> T parseLine(String line, int lineNumber, Function<String, T> lineParser) {
+        try {
+            return lineParser.apply(line);
+        } catch (InvalidDataException e) {
+            throw new InvalidDataException("Line " + lineNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static final class LineSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+        private final BufferedReader reader;
+        private final String filePath;
+        private final String entityName;
+        private final Function<String, T> lineParser;
+        private int lineNumber;
+        private int parsed;
+        private int skipped;
+        private String firstError;
+        private boolean finished;
+
+        LineSpliterator(BufferedReader reader, String filePath, String entityName, Function<String, T> lineParser) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.reader = reader;
+            this.filePath = filePath;
+            this.entityName = entityName;
+            this.lineParser = lineParser;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            String raw;
+            while ((raw = readLine()) != null) {
+                lineNumber++;
+                String line = raw.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                T item;
+                try {
+                    item = parseLine(line, lineNumber, lineParser);
+                } catch (InvalidDataException e) {
+                    skipped++;
+                    if (firstError == null) {
+                        firstError = e.getMessage();
+                    }
+                    if (logger.isLoggable(Level.FINE)) {
+                        logger.log(Level.FINE, "Failed to parse line {0}: {1}",
+                                new Object[]{lineNumber, e.getMessage()});
+                    }
+                    continue;
+                }
+                parsed++;
+                action.accept(item);
+                return true;
+            }
+            if (!finished) {
+                finished = true;
+                logSummary();
+            }
+            return false;
+        }
+
+        private String readLine() {
+            try {
+                return reader.readLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read " + filePath + " after line " + lineNumber, e);
+            }
+        }
+
+        private void logSummary() {
+            // One summary line per file instead of one warning per rejected line; details are at FINE
+            if (skipped > 0) {
+                logger.log(Level.WARNING, "Skipped {0} invalid lines in {1}. First error: {2}",
+                        new Object[]{skipped, filePath, firstError});
+            }
+            logger.log(Level.INFO, "Successfully parsed {0} {1} from file", new Object[]{parsed, entityName});
+        }
+    }
+}
@@ -5,71 +5,46 @@
 package ua.onlinecourses.parser;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
-import java.net.URL;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import ua.onlinecourses.exception.InvalidDataException;
 import ua.onlinecourses.model.Student;
 
 
 public class StudentFileParser {
-    private static final Logger logger = Logger.getLogger(StudentFileParser.class.getName()); 
    
-   public static List<Student> parseFromCSV(String filePath) throws IOException, InvalidDataException, URISyntaxException {
-        List<Student> students = new ArrayList<>();
-       Path path;
-       try {
-           ClassLoader classloader = Thread.currentThread().getContextClassLoader();
-           URL url = classloader.getResource(filePath);
-           if (url != null) {
-               path = Paths.get(url.toURI());
-           } else {
-               path = Paths.get(filePath);
-           }
-       } catch (URISyntaxException e) {
-           path = Paths.get(filePath);
-       }
-
-        if (!Files.exists(path)) {
-            throw new IOException("File not found: " + filePath);
+    public static List<Student> parseFromCSV(String filePath) throws IOException, InvalidDataException, URISyntaxException {
+        try (Stream<Student> students = streamFromCSV(filePath)) {
+            return students.collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+    }
 
-        logger.log(Level.INFO, "Starting to parse students from file: {0}", filePath);
-
-        List<String> lines = Files.readAllLines(path);
-
-        for (int i = 0; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty() || line.startsWith("#")) continue;
-
-            try {
-                Student student = parseStudentFromLineWithNumber(line, i + 1);
-                students.add(student);
-                logger.log(Level.INFO, "Parsed student from line {0}: {1}",
-                        new Object[]{i + 1, student.getFullName()});
-            } catch (InvalidDataException e) {
-                logger.log(Level.WARNING, "Failed to parse line {0}: {1}",
-                        new Object[]{i + 1, e.getMessage()});
-            }
-        }
+    /**
+     * Lazily parses the file line by line through a buffered reader, so memory stays bounded
+     * and callers can start consuming before the whole file is read. Invalid lines are skipped
+     * as in {@link #parseFromCSV}. Close the stream to release the file.
+     */
+    public static Stream<Student> streamFromCSV(String filePath) throws IOException {
+        return CsvFileReader.stream(filePath, "students", StudentFileParser::parseStudentFromLine);
+    }
 
-        logger.log(Level.INFO, "Successfully parsed {0} students from file", students.size());
-        return students;
+    public static List<Student> parseFromCSVParallel(String filePath) throws IOException {
+        return parseFromCSVParallel(filePath, ForkJoinPool.commonPool());
     }
-   
-   private static Student parseStudentFromLineWithNumber(String line, int lineNumber) throws InvalidDataException {
-        try {
-            return parseStudentFromLine(line);
-        } catch (InvalidDataException e) {
-            throw new InvalidDataException("Line " + lineNumber + ": " + e.getMessage(), e);
-        }
+
+    /**
+     * Splits the file at line boundaries and parses the chunks on the given pool. Returns the
+     * same students in the same order as {@link #parseFromCSV}, skipping the same invalid lines.
+     */
+    public static List<Student> parseFromCSVParallel(String filePath, ForkJoinPool pool) throws IOException {
+        return CsvFileReader.parseParallel(filePath, "students", StudentFileParser::parseStudentFromLine, pool, 0);
     }
    
     public static Student parseStudentFromLine(String line) throws InvalidDataException {
@@ -0,0 +1,503 @@
+package ua.onlinecourses.persistence;
+
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.repository.GenericRepository;
+import ua.onlinecourses.repository.IdentityExtractor;
+import ua.onlinecourses.repository.RepositoryIndex;
+import ua.onlinecourses.serializer.EntityCodec;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for one {@link GenericRepository}. Until it is closed, the journal is
+ * registered on the repository and records every add, remove and clear; a repository has at
+ * most one open journal. {@link #save()} appends only those operations to the journal file
+ * and forces them to disk, so a save costs O(changes) I/O instead of rewriting every entity.
+ *
+ * <p>Each entry is {@code int length, int CRC-32, payload}, where the payload is an op byte,
+ * the identity, and for adds the entity's codec bytes. {@link #open} rebuilds the content
+ * from the last {@link MappedSnapshot} plus the journal. Replay stops at the first torn or
+ * corrupt entry, the tail of a save cut short by a crash, and truncates it.</p>
+ *
+ * <p>Once the journal passes the compaction threshold, the next save rotates it to a
+ * {@code .previous} file and starts an empty one. A background thread then writes the
+ * repository content captured at that moment as a fresh snapshot and deletes the rotated
+ * file. If the process dies in between, recovery replays the rotated file before the
+ * current one. Replaying operations the snapshot already contains leaves the same content,
+ * since each identity ends in the state of its last operation.</p>
+ *
+ * <p>Like the repository, a journal is used from one thread; only the snapshot write runs
+ * in the background.</p>
+ */
+public final class Journal<T> implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(Journal.class.getName());
+
+    static final byte ADD = 1;
+    static final byte REMOVE = 2;
+    static final byte CLEAR = 3;
+    static final String INDEX_NAME = "journal";
+
+    private final GenericRepository<T> repository;
+    private final EntityCodec<T> codec;
+    private final IdentityExtractor<T> identityExtractor;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path previousPath;
+    private final long compactThreshold;
+    private final ExecutorService compactor;
+    private final ChannelOpener opener;
+    private final List<Operation<T>> pending = new ArrayList<>();
+    private FileChannel channel;
+    // Set when the file may hold bytes that are not whole entries; saves are refused from then on
+    private IOException failure;
+    private Future<?> compaction;
+    private boolean recording;
+    private boolean closed;
+    private ByteBuffer scratch = ByteBuffer.allocate(64 * 1024);
+
+    private record Operation<T>(byte type, String identity, T item) {
+    }
+
+    // Opens the journal file for appending; tests substitute channels that fail on purpose
+    interface ChannelOpener {
+
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private Journal(GenericRepository<T> repository, EntityCodec<T> codec, IdentityExtractor<T> identityExtractor,
+                    Path snapshotPath, Path journalPath, long compactThreshold, ChannelOpener opener) {
+        this.repository = repository;
+        this.codec = codec;
+        this.identityExtractor = identityExtractor;
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.previousPath = journalPath.resolveSibling(journalPath.getFileName() + ".previous");
+        this.compactThreshold = compactThreshold;
+        this.opener = opener;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor-" + journalPath.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Recovers the content saved under these paths into repository, replacing what it holds,
+     * and starts journaling its changes.
+     */
+    public static <T> Journal<T> open(GenericRepository<T> repository, Path snapshotPath, Path journalPath,
+                                      EntityCodec<T> codec, IdentityExtractor<T> identityExtractor,
+                                      long compactThreshold) throws DataSerializationException {
+        return open(repository, snapshotPath, journalPath, codec, identityExtractor, compactThreshold,
+                Journal::openForAppend);
+    }
+
+    static <T> Journal<T> open(GenericRepository<T> repository, Path snapshotPath, Path journalPath,
+                               EntityCodec<T> codec, IdentityExtractor<T> identityExtractor,
+                               long compactThreshold, ChannelOpener opener) throws DataSerializationException {
+        if (repository == null || snapshotPath == null || journalPath == null || codec == null
+                || identityExtractor == null) {
+            throw new DataSerializationException("Repository, paths, codec and identity extractor cannot be null");
+        }
+        if (compactThreshold <= 0) {
+            throw new DataSerializationException("Compaction threshold must be positive: " + compactThreshold);
+        }
+        // Checked before recovery replaces the repository's content or opens any file
+        if (repository.getIndexNames().contains(INDEX_NAME)) {
+            throw new DataSerializationException("Repository already has an open journal: " + journalPath);
+        }
+
+        Journal<T> journal = new Journal<>(repository, codec, identityExtractor, snapshotPath, journalPath,
+                compactThreshold, opener);
+        try {
+            journal.recover();
+        } catch (DataSerializationException | RuntimeException e) {
+            journal.release();
+            throw e;
+        }
+        return journal;
+    }
+
+    private void recover() throws DataSerializationException {
+        Map<String, T> content = new LinkedHashMap<>();
+        if (Files.exists(snapshotPath)) {
+            MappedSnapshot<T> snapshot = MappedSnapshot.open(snapshotPath, codec);
+            try {
+                snapshot.stream().forEach(item -> content.put(identityExtractor.extractIdentity(item), item));
+            } catch (RuntimeException e) {
+                throw new DataSerializationException("Failed to load snapshot: " + snapshotPath, e);
+            }
+        }
+        int replayed = 0;
+        try {
+            if (Files.exists(previousPath)) {
+                replayed += replay(previousPath, content);
+            }
+            replayed += replay(journalPath, content);
+            Path parent = journalPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = opener.open(journalPath);
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to recover journal: " + journalPath, e);
+        }
+
+        repository.replaceAll(new ArrayList<>(content.values()));
+        repository.registerIndex(INDEX_NAME, new Recorder());
+        recording = true;
+        logger.log(Level.INFO, "Recovered {0} items from {1} with {2} journal entries",
+                new Object[]{content.size(), snapshotPath, replayed});
+    }
+
+    // Applies the valid entries of a journal file and cuts off a torn or corrupt tail
+    private int replay(Path path, Map<String, T> content) throws IOException, DataSerializationException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long size = Files.size(path);
+        long validEnd = 0;
+        int entries = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path),
+                64 * 1024))) {
+            CRC32 crc = new CRC32();
+            while (true) {
+                byte[] payload;
+                int checksum;
+                try {
+                    int length = in.readInt();
+                    checksum = in.readInt();
+                    if (length <= 0 || length > size - validEnd) {
+                        break;
+                    }
+                    payload = in.readNBytes(length);
+                    if (payload.length < length) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                apply(ByteBuffer.wrap(payload), content);
+                validEnd += 2 * Integer.BYTES + payload.length;
+                entries++;
+            }
+        }
+
+        if (validEnd < size) {
+            logger.log(Level.WARNING, "Discarding {0} bytes of incomplete journal entries at the end of {1}",
+                    new Object[]{size - validEnd, path});
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(validEnd);
+                file.force(true);
+            }
+        }
+        return entries;
+    }
+
+    private void apply(ByteBuffer payload, Map<String, T> content) throws DataSerializationException {
+        byte type = payload.get();
+        if (type == CLEAR) {
+            content.clear();
+            return;
+        }
+        byte[] identityBytes = new byte[payload.getInt()];
+        payload.get(identityBytes);
+        String identity = new String(identityBytes, StandardCharsets.UTF_8);
+        if (type == ADD) {
+            try {
+                content.put(identity, codec.decode(payload));
+            } catch (RuntimeException e) {
+                throw new DataSerializationException("Failed to decode journal entry: " + identity, e);
+            }
+        } else if (type == REMOVE) {
+            content.remove(identity);
+        } else {
+            throw new DataSerializationException("Unknown journal entry type: " + type);
+        }
+    }
+
+    /**
+     * Appends the changes made since the last save and forces them to disk. Starts a
+     * background compaction when the journal has outgrown its threshold. Returns the number
+     * of operations written. If the append fails, the operations stay pending for the next
+     * save and the partly written batch is cut off again; when even that fails, the journal
+     * refuses every further save.
+     */
+    public int save() throws DataSerializationException {
+        if (closed) {
+            throw new DataSerializationException("Journal is closed: " + journalPath);
+        }
+        if (failure != null) {
+            throw new DataSerializationException("Journal is unusable after a failed write: " + journalPath, failure);
+        }
+        int written = pending.size();
+        if (written > 0) {
+            ByteBuffer batch = encode(pending);
+            long committed = -1;
+            try {
+                committed = channel.size();
+                while (batch.hasRemaining()) {
+                    channel.write(batch);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                discardPartialWrite(committed, e);
+                throw new DataSerializationException("Failed to append to journal: " + journalPath, e);
+            }
+            pending.clear();
+            logger.log(Level.FINE, "Appended {0} operations to {1}", new Object[]{written, journalPath});
+        }
+
+        if (getJournalSize() >= compactThreshold && (compaction == null || compaction.isDone())) {
+            startCompaction();
+        }
+        return written;
+    }
+
+    // A torn batch left in the file would end replay there and drop every later save with it
+    private void discardPartialWrite(long committed, IOException cause) {
+        if (committed < 0) {
+            return;
+        }
+        try {
+            channel.truncate(committed);
+            channel.force(true);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+            logger.log(Level.SEVERE, "Cannot cut a failed write off {0}; refusing further saves", journalPath);
+        }
+    }
+
+    // Saves, then folds everything into a fresh snapshot before returning; a failed snapshot
+    // write is thrown, and its rotated journal is kept for the next attempt
+    public void compact() throws DataSerializationException {
+        save();
+        // A background compaction that failed is retried right below
+        awaitCompaction(false);
+        startCompaction();
+        awaitCompaction(true);
+    }
+
+    public long getJournalSize() throws DataSerializationException {
+        try {
+            return channel.size();
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to read the size of journal: " + journalPath, e);
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public boolean isCompacting() {
+        return compaction != null && !compaction.isDone();
+    }
+
+    // Saves and waits for a running compaction; the repository is no longer journaled afterwards
+    @Override
+    public void close() throws DataSerializationException {
+        if (closed) {
+            return;
+        }
+        try {
+            save();
+            awaitCompaction(true);
+        } finally {
+            closed = true;
+            release();
+        }
+    }
+
+    private void release() {
+        if (recording) {
+            recording = false;
+            repository.unregisterIndex(INDEX_NAME);
+            pending.clear();
+        }
+        compactor.shutdown();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to close journal: {0}", journalPath);
+            }
+        }
+    }
+
+    private void startCompaction() throws DataSerializationException {
+        List<T> content = repository.getAll();
+        try {
+            rotate();
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to rotate journal: " + journalPath, e);
+        }
+
+        logger.log(Level.INFO, "Compacting {0} into a snapshot of {1} items", new Object[]{journalPath, content.size()});
+        compaction = compactor.submit(() -> {
+            try {
+                MappedSnapshot.write(snapshotPath, content, codec, identityExtractor);
+                Files.delete(previousPath);
+            } catch (DataSerializationException | IOException e) {
+                // The rotated journal stays; recovery replays it and the next compaction retries
+                logger.log(Level.SEVERE, "Journal compaction failed for {0}: {1}",
+                        new Object[]{journalPath, e.getMessage()});
+                throw e;
+            }
+            logger.log(Level.INFO, "Compacted {0}", journalPath);
+            return null;
+        });
+    }
+
+    // Moves the journal's entries behind the .previous file and starts an empty journal. The
+    // channel is reopened even when the move fails, so later saves still have a file to append to
+    private void rotate() throws IOException {
+        channel.close();
+        IOException rotationFailure = null;
+        try {
+            if (Files.exists(previousPath)) {
+                // An earlier compaction failed; keep its operations ahead of the current ones
+                try (FileChannel previous = FileChannel.open(previousPath, StandardOpenOption.APPEND);
+                     FileChannel current = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+                    long previousSize = previous.size();
+                    try {
+                        long transferred = 0;
+                        while (transferred < current.size()) {
+                            transferred += current.transferTo(transferred, current.size() - transferred, previous);
+                        }
+                        previous.force(true);
+                    } catch (IOException e) {
+                        // The entries are still in the journal; a partial copy would only tear the file
+                        previous.truncate(previousSize);
+                        throw e;
+                    }
+                }
+                Files.delete(journalPath);
+            } else {
+                Files.move(journalPath, previousPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            rotationFailure = e;
+        }
+
+        try {
+            channel = opener.open(journalPath);
+        } catch (IOException e) {
+            failure = e;
+            if (rotationFailure != null) {
+                e.addSuppressed(rotationFailure);
+            }
+            throw e;
+        }
+        if (rotationFailure != null) {
+            throw rotationFailure;
+        }
+    }
+
+    // Waits for the running compaction, if any; its failure is thrown once when reportFailure is set
+    private void awaitCompaction(boolean reportFailure) throws DataSerializationException {
+        if (compaction == null) {
+            return;
+        }
+        try {
+            compaction.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataSerializationException("Interrupted while waiting for journal compaction", e);
+        } catch (ExecutionException e) {
+            compaction = null;
+            if (reportFailure) {
+                throw new DataSerializationException("Journal compaction failed: " + journalPath, e.getCause());
+            }
+        }
+    }
+
+    static FileChannel openForAppend(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private ByteBuffer encode(List<Operation<T>> operations) {
+        while (true) {
+            scratch.clear();
+            try {
+                CRC32 crc = new CRC32();
+                for (Operation<T> operation : operations) {
+                    int start = scratch.position();
+                    scratch.putInt(0).putInt(0);
+                    int payloadStart = scratch.position();
+                    scratch.put(operation.type());
+                    if (operation.type() != CLEAR) {
+                        byte[] identityBytes = operation.identity().getBytes(StandardCharsets.UTF_8);
+                        scratch.putInt(identityBytes.length).put(identityBytes);
+                        if (operation.type() == ADD) {
+                            codec.encode(operation.item(), scratch);
+                        }
+                    }
+                    int payloadLength = scratch.position() - payloadStart;
+                    crc.reset();
+                    crc.update(scratch.array(), payloadStart, payloadLength);
+                    scratch.putInt(start, payloadLength).putInt(start + Integer.BYTES, (int) crc.getValue());
+                }
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    // Buffers the repository's changes until the next save
+    private final class Recorder implements RepositoryIndex<T> {
+
+        @Override
+        public void onAdd(String identity, T item) {
+            if (recording) {
+                pending.add(new Operation<>(ADD, identity, item));
+            }
+        }
+
+        @Override
+        public void onRemove(String identity, T item) {
+            if (recording) {
+                pending.add(new Operation<>(REMOVE, identity, null));
+            }
+        }
+
+        @Override
+        public void onClear() {
+            if (recording) {
+                // Earlier unsaved operations no longer matter
+                pending.clear();
+                pending.add(new Operation<>(CLEAR, null, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package ua.onlinecourses.persistence;
+
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.repository.IdentityExtractor;
+import ua.onlinecourses.serializer.EntityCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Read-only view of a snapshot file, served straight from a memory mapping.
+ *
+ * <p>File layout, big-endian:</p>
+ * <pre>
+ *   header   int magic, int version, int count, int table size,
+ *            long records offset, long index offset, long file size
+ *   records  per entity: int record length, int identity length, identity UTF-8, codec bytes
+ *   index    table size entries of int identity hash, long record offset (0 = empty),
+ *            linear probing
+ * </pre>
+ *
+ * <p>{@link #open} maps the file and checks the header, so opening costs the same for any
+ * entity count. {@link #findByIdentity} probes the index, compares identity bytes in the
+ * mapping and decodes only the record it returns. Pages are read in by the OS as they are
+ * touched. Reads use absolute positions only, so one snapshot can serve many threads.</p>
+ *
+ * <p>{@link #write} writes to a temporary file next to the target and moves it into place,
+ * so readers see either the old snapshot or the new one. A mapping is one
+ * {@link MappedByteBuffer}, which limits a snapshot to 2 GB.</p>
+ */
+public final class MappedSnapshot<T> {
+
+    private static final Logger logger = Logger.getLogger(MappedSnapshot.class.getName());
+
+    static final int MAGIC = 0x4F43534E;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 * Integer.BYTES + 3 * Long.BYTES;
+    static final int ENTRY_SIZE = Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final EntityCodec<T> codec;
+    private final ByteBuffer mapping;
+    private final int count;
+    private final int tableSize;
+    private final long indexOffset;
+
+    private MappedSnapshot(Path path, EntityCodec<T> codec, ByteBuffer mapping, int count, int tableSize,
+                           long indexOffset) {
+        this.path = path;
+        this.codec = codec;
+        this.mapping = mapping;
+        this.count = count;
+        this.tableSize = tableSize;
+        this.indexOffset = indexOffset;
+    }
+
+    /**
+     * Writes items, in iteration order, as a snapshot file. Identities must be unique, as they
+     * are in a repository. Returns the file size in bytes.
+     */
+    public static <T> long write(Path path, Collection<? extends T> items, EntityCodec<T> codec,
+                                 IdentityExtractor<T> identityExtractor) throws DataSerializationException {
+        if (path == null || items == null || codec == null || identityExtractor == null) {
+            throw new DataSerializationException("Path, items, codec and identity extractor cannot be null");
+        }
+
+        int count = items.size();
+        int tableSize = tableSizeFor(count);
+        long[] offsets = new long[count];
+        int[] hashes = new int[count];
+        Set<String> identities = new HashSet<>();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            long position = HEADER_SIZE;
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp),
+                    64 * 1024))) {
+                out.write(new byte[HEADER_SIZE]);
+                ByteBuffer scratch = ByteBuffer.allocate(1024);
+                int index = 0;
+                for (T item : items) {
+                    if (item == null) {
+                        throw new DataSerializationException("Snapshot items cannot contain null");
+                    }
+                    String identity = identityExtractor.extractIdentity(item);
+                    if (!identities.add(identity)) {
+                        throw new DataSerializationException("Duplicate identity in snapshot: " + identity);
+                    }
+                    scratch = encode(scratch, identity.getBytes(StandardCharsets.UTF_8), item, codec);
+                    offsets[index] = position;
+                    hashes[index] = spread(identity.hashCode());
+                    index++;
+                    position += scratch.remaining();
+                    out.write(scratch.array(), 0, scratch.remaining());
+                }
+
+                long[] tableOffsets = new long[tableSize];
+                int[] tableHashes = new int[tableSize];
+                for (int i = 0; i < count; i++) {
+                    int slot = hashes[i] & (tableSize - 1);
+                    while (tableOffsets[slot] != 0) {
+                        slot = (slot + 1) & (tableSize - 1);
+                    }
+                    tableOffsets[slot] = offsets[i];
+                    tableHashes[slot] = hashes[i];
+                }
+                for (int slot = 0; slot < tableSize; slot++) {
+                    out.writeInt(tableHashes[slot]);
+                    out.writeLong(tableOffsets[slot]);
+                }
+            }
+
+            long indexOffset = position;
+            long fileSize = indexOffset + (long) tableSize * ENTRY_SIZE;
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new DataSerializationException("Snapshot larger than 2 GB: " + fileSize + " bytes");
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC).putInt(VERSION).putInt(count).putInt(tableSize)
+                    .putLong(HEADER_SIZE).putLong(indexOffset).putLong(fileSize)
+                    .flip();
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.write(header, 0);
+                channel.force(true);
+            }
+            moveIntoPlace(temp, path);
+
+            logger.log(Level.INFO, "Wrote snapshot of {0} items to {1} ({2} bytes)",
+                    new Object[]{count, path, fileSize});
+            return fileSize;
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to write snapshot: " + path, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to delete temporary snapshot file: {0}", temp);
+            }
+        }
+    }
+
+    public static <T> MappedSnapshot<T> open(Path path, EntityCodec<T> codec) throws DataSerializationException {
+        if (path == null || codec == null) {
+            throw new DataSerializationException("Path and codec cannot be null");
+        }
+
+        MappedByteBuffer mapping;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new DataSerializationException("Not a snapshot file: " + path);
+            }
+            // The mapping stays valid after the channel is closed
+            mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            throw new DataSerializationException("Failed to open snapshot: " + path, e);
+        }
+
+        int magic = mapping.getInt(0);
+        int version = mapping.getInt(4);
+        int count = mapping.getInt(8);
+        int tableSize = mapping.getInt(12);
+        long recordsOffset = mapping.getLong(16);
+        long indexOffset = mapping.getLong(24);
+        long fileSize = mapping.getLong(32);
+        if (magic != MAGIC || version != VERSION) {
+            throw new DataSerializationException("Not a snapshot file or unsupported version: " + path);
+        }
+        if (fileSize != mapping.capacity() || recordsOffset != HEADER_SIZE || count < 0
+                || Integer.bitCount(tableSize) != 1 || tableSize < count
+                || indexOffset + (long) tableSize * ENTRY_SIZE != fileSize) {
+            throw new DataSerializationException("Corrupt or truncated snapshot: " + path);
+        }
+
+        logger.log(Level.INFO, "Opened snapshot of {0} items from {1}", new Object[]{count, path});
+        return new MappedSnapshot<>(path, codec, mapping, count, tableSize, indexOffset);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public Optional<T> findByIdentity(String identity) {
+        if (identity == null) {
+            return Optional.empty();
+        }
+        long offset = recordOffset(identity);
+        return offset == 0 ? Optional.empty() : Optional.of(decode(offset));
+    }
+
+    public boolean containsIdentity(String identity) {
+        return identity != null && recordOffset(identity) != 0;
+    }
+
+    // Decodes each item as the stream reaches it, in the order they were written
+    public Stream<T> stream() {
+        return StreamSupport.stream(new RecordSpliterator(), false);
+    }
+
+    public List<T> getAll() {
+        List<T> all = new ArrayList<>(count);
+        stream().forEach(all::add);
+        return all;
+    }
+
+    private long recordOffset(String identity) {
+        int hash = spread(identity.hashCode());
+        int mask = tableSize - 1;
+        byte[] identityBytes = null;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = (int) (indexOffset + (long) slot * ENTRY_SIZE);
+            long offset = mapping.getLong(entry + Integer.BYTES);
+            if (offset == 0) {
+                return 0;
+            }
+            if (mapping.getInt(entry) != hash) {
+                continue;
+            }
+            if (identityBytes == null) {
+                identityBytes = identity.getBytes(StandardCharsets.UTF_8);
+            }
+            if (identityEquals((int) offset, identityBytes)) {
+                return offset;
+            }
+        }
+    }
+
+    private boolean identityEquals(int offset, byte[] identityBytes) {
+        int position = offset + Integer.BYTES;
+        if (mapping.getInt(position) != identityBytes.length) {
+            return false;
+        }
+        position += Integer.BYTES;
+        for (int i = 0; i < identityBytes.length; i++) {
+            if (mapping.get(position + i) != identityBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private T decode(long offset) {
+        int start = (int) offset;
+        int identityLength = mapping.getInt(start + Integer.BYTES);
+        ByteBuffer record = mapping.duplicate();
+        record.limit(start + mapping.getInt(start)).position(start + 2 * Integer.BYTES + identityLength);
+        return codec.decode(record);
+    }
+
+    private final class RecordSpliterator extends Spliterators.AbstractSpliterator<T> {
+        private long offset = HEADER_SIZE;
+
+        RecordSpliterator() {
+            super(count, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (offset >= indexOffset) {
+                return false;
+            }
+            T item = decode(offset);
+            offset += mapping.getInt((int) offset);
+            action.accept(item);
+            return true;
+        }
+    }
+
+    private static <T> ByteBuffer encode(ByteBuffer scratch, byte[] identityBytes, T item, EntityCodec<T> codec) {
+        ByteBuffer buffer = scratch;
+        while (true) {
+            buffer.clear();
+            try {
+                buffer.putInt(0);
+                buffer.putInt(identityBytes.length);
+                buffer.put(identityBytes);
+                codec.encode(item, buffer);
+                buffer.putInt(0, buffer.position());
+                return buffer.flip();
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    // Power of two with the table at most half full
+    private static int tableSizeFor(int count) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, count)) * 4);
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,11 +1,18 @@
 package ua.onlinecourses.persistence;
 
 import ua.onlinecourses.config.AppConfig;
+import ua.onlinecourses.config.ConfigKeys;
 import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.repository.GenericRepository;
+import ua.onlinecourses.repository.IdentityExtractor;
+import ua.onlinecourses.serializer.CborDataSerializer;
 import ua.onlinecourses.serializer.DataSerializer;
+import ua.onlinecourses.serializer.EntityCodec;
+import ua.onlinecourses.serializer.EntityCodecs;
 import ua.onlinecourses.serializer.JsonDataSerializer;
 import ua.onlinecourses.serializer.YamlDataSerializer;
 
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +22,7 @@ import java.util.logging.Logger;
 public class PersistenceManager {
 
     private static final Logger logger = Logger.getLogger(PersistenceManager.class.getName());
+    private static final long DEFAULT_JOURNAL_COMPACT_BYTES = 8L << 20;
 
     private final AppConfig config;
     private final Map<String, DataSerializer<?>> serializers;
@@ -29,6 +37,7 @@ public class PersistenceManager {
     private void initializeSerializers() {
         serializers.put("JSON", new JsonDataSerializer<>());
         serializers.put("YAML", new YamlDataSerializer<>());
+        serializers.put("CBOR", new CborDataSerializer<>());
         logger.log(Level.FINE, "Registered serializers: {0}", serializers.keySet());
     }
 
@@ -90,10 +99,68 @@ public class PersistenceManager {
 
         save(items, entityType, clazz, "JSON");
         save(items, entityType, clazz, "YAML");
+        save(items, entityType, clazz, "CBOR");
 
         logger.log(Level.INFO, "Successfully saved {0} to all formats", entityType);
     }
 
+    /**
+     * Writes items as a binary snapshot, see {@link MappedSnapshot}. Unlike the text formats,
+     * a snapshot can be opened in constant time and queried by identity without loading it.
+     */
+    public <T> void saveSnapshot(List<T> items, String entityType, Class<T> clazz,
+                                 IdentityExtractor<T> identityExtractor) throws DataSerializationException {
+        validateParameters(items, entityType, clazz);
+        String filePath = config.getSnapshotFilePath(entityType);
+
+        logger.log(Level.INFO, "Saving {0} items of type {1} to snapshot: {2}",
+                new Object[]{items.size(), entityType, filePath});
+        MappedSnapshot.write(Paths.get(filePath), items, getCodec(clazz), identityExtractor);
+    }
+
+    public <T> MappedSnapshot<T> openSnapshot(String entityType, Class<T> clazz) throws DataSerializationException {
+        if (entityType == null || entityType.trim().isEmpty()) {
+            throw new DataSerializationException("Entity type cannot be null or empty");
+        }
+
+        if (clazz == null) {
+            throw new DataSerializationException("Class type cannot be null");
+        }
+
+        return MappedSnapshot.open(Paths.get(config.getSnapshotFilePath(entityType)), getCodec(clazz));
+    }
+
+    /**
+     * Loads the last snapshot and journal of entityType into repository and journals its
+     * changes from then on; call {@link Journal#save()} instead of {@link #save} to persist
+     * them. The journal is folded into the snapshot once it passes
+     * {@code persistence.journal.compact.bytes}.
+     */
+    public <T> Journal<T> openJournal(GenericRepository<T> repository, String entityType, Class<T> clazz,
+                                      IdentityExtractor<T> identityExtractor) throws DataSerializationException {
+        if (entityType == null || entityType.trim().isEmpty()) {
+            throw new DataSerializationException("Entity type cannot be null or empty");
+        }
+
+        if (clazz == null) {
+            throw new DataSerializationException("Class type cannot be null");
+        }
+
+        long compactBytes = config.getLongProperty(ConfigKeys.JOURNAL_COMPACT_BYTES, DEFAULT_JOURNAL_COMPACT_BYTES);
+        logger.log(Level.INFO, "Opening journal for {0}, compacting at {1} bytes",
+                new Object[]{entityType, compactBytes});
+        return Journal.open(repository, Paths.get(config.getSnapshotFilePath(entityType)),
+                Paths.get(config.getJournalFilePath(entityType)), getCodec(clazz), identityExtractor, compactBytes);
+    }
+
+    private <T> EntityCodec<T> getCodec(Class<T> clazz) throws DataSerializationException {
+        try {
+            return EntityCodecs.forType(clazz);
+        } catch (IllegalArgumentException e) {
+            throw new DataSerializationException("Snapshots are not supported for " + clazz.getSimpleName(), e);
+        }
+    }
+
     private <T> void validateParameters(List<T> items, String entityType, Class<T> clazz)
             throws DataSerializationException {
         if (items == null) {
@@ -127,6 +194,7 @@ public class PersistenceManager {
         return switch (format) {
             case "JSON" -> config.getJsonFilePath(entityType);
             case "YAML" -> config.getYamlFilePath(entityType);
+            case "CBOR" -> config.getCborFilePath(entityType);
             default -> throw new IllegalArgumentException("Unsupported format: " + format);
         };
     }
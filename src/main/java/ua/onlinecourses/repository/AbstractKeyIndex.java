@@ -0,0 +1,122 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Groups items into buckets by a derived key. Buckets keep insertion order,
+ * so the first item of a bucket is the one that was added earliest.
+ * Items whose key is {@code null} are not indexed.
+ *
+ * <p>An index may normalize its keys, for example lowercase names; stored keys and the keys
+ * passed to lookups go through the same normalizer. An index that knows its key type lets
+ * {@link Query} reject keys of another type, which would otherwise just match nothing.</p>
+ */
+public abstract class AbstractKeyIndex<K, T> implements RepositoryIndex<T> {
+
+    protected final Map<K, Set<T>> buckets;
+    // Null when the index was built without a key type; Query keys are then not checked
+    private final Class<K> keyType;
+    private final Function<? super T, ? extends K> keyExtractor;
+    private final UnaryOperator<K> keyNormalizer;
+
+    protected AbstractKeyIndex(Map<K, Set<T>> buckets, Function<? super T, ? extends K> keyExtractor) {
+        this(buckets, null, keyExtractor, UnaryOperator.identity());
+    }
+
+    protected AbstractKeyIndex(Map<K, Set<T>> buckets, Class<K> keyType,
+                               Function<? super T, ? extends K> keyExtractor, UnaryOperator<K> keyNormalizer) {
+        this.buckets = buckets;
+        this.keyType = keyType;
+        this.keyExtractor = keyExtractor;
+        this.keyNormalizer = keyNormalizer;
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        K key = keyOf(item);
+        if (key != null) {
+            buckets.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(item);
+        }
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        K key = keyOf(item);
+        if (key == null) {
+            return;
+        }
+        Set<T> bucket = buckets.get(key);
+        if (bucket != null && bucket.remove(item) && bucket.isEmpty()) {
+            buckets.remove(key);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        buckets.clear();
+    }
+
+    // The item's key as stored, after normalization
+    public K keyOf(T item) {
+        return normalize(keyExtractor.apply(item));
+    }
+
+    private K normalize(K key) {
+        return key == null ? null : keyNormalizer.apply(key);
+    }
+
+    // A key passed to Query in its stored form; rejects a key that is not of the index's key type
+    K queryKey(Object key) {
+        if (key == null) {
+            return null;
+        }
+        if (keyType == null) {
+            @SuppressWarnings("unchecked")
+            K unchecked = (K) key;
+            return normalize(unchecked);
+        }
+        if (!keyType.isInstance(key)) {
+            throw new IllegalArgumentException("Index key must be a " + keyType.getSimpleName() + ", not a "
+                    + key.getClass().getSimpleName() + ": " + key);
+        }
+        return normalize(keyType.cast(key));
+    }
+
+    public List<T> get(K key) {
+        Set<T> bucket = key == null ? null : buckets.get(normalize(key));
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket);
+    }
+
+    public Optional<T> findFirst(K key) {
+        Set<T> bucket = key == null ? null : buckets.get(normalize(key));
+        return bucket == null ? Optional.empty() : Optional.of(bucket.iterator().next());
+    }
+
+    public int count(K key) {
+        Set<T> bucket = key == null ? null : buckets.get(normalize(key));
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    public boolean containsKey(K key) {
+        return key != null && buckets.containsKey(normalize(key));
+    }
+
+    // Live bucket without copying, for Query; empty when the key is absent
+    Collection<T> bucketView(Object key) {
+        Set<T> bucket = key == null ? null : buckets.get(key);
+        return bucket == null ? Collections.emptySet() : Collections.unmodifiableSet(bucket);
+    }
+
+    public Set<K> keys() {
+        return Collections.unmodifiableSet(buckets.keySet());
+    }
+}
@@ -4,6 +4,7 @@ import ua.onlinecourses.model.Assignment;
 import ua.onlinecourses.model.Mark;
 import java.time.LocalDate;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -14,82 +15,113 @@ import java.util.stream.Collectors;
 public class AssignmentRepository extends GenericRepository<Assignment> {
     private static final Logger logger = Logger.getLogger(AssignmentRepository.class.getName());
 
+    // Constant instances so repeated sorts hit the sorted-view cache
+    private static final Comparator<Assignment> BY_DUE_DATE_DESC = Assignment.BY_DUE_DATE.reversed();
+    private static final Comparator<Assignment> BY_MODULE_TITLE =
+            (a1, a2) -> a1.module().title().compareTo(a2.module().title());
+    private static final Comparator<Assignment> BY_MARK_POINTS_DATE =
+            Comparator.comparing(Assignment::mark)
+                    .thenComparingInt(Assignment::maxPoints).reversed()
+                    .thenComparing(Assignment::dueDate);
+    private static final Comparator<Assignment> NATURAL_ORDER = Comparator.naturalOrder();
+
+    private final EnumIndex<Mark, Assignment> markIndex;
+    private final SortedIndex<Integer, Assignment> maxPointsIndex;
+    private final SortedIndex<LocalDate, Assignment> dueDateIndex;
+    private final StatisticsIndex<Assignment> maxPointsStatistics;
+    private final LazyIndex<Assignment, NGramIndex<Assignment>> moduleTitleTextIndex;
+    private final LazyIndex<Assignment, ColumnIndex<Assignment>> columns;
+
     public AssignmentRepository() {
         super(Assignment::getIdentity, "Assignment");
+        this.markIndex = registerIndex("mark", new EnumIndex<>(Mark.class, Assignment::mark));
+        this.maxPointsIndex = registerIndex("maxPoints", new SortedIndex<>(Integer.class, Assignment::maxPoints));
+        this.dueDateIndex = registerIndex("dueDate", new SortedIndex<>(LocalDate.class, Assignment::dueDate));
+        this.maxPointsStatistics = registerIndex("maxPointsStatistics",
+                new StatisticsIndex<>(Assignment::maxPoints));
+        // Text and column indexes are built on first use, see LazyIndex
+        this.moduleTitleTextIndex = new LazyIndex<>(this, "moduleTitleText",
+                () -> new NGramIndex<>(assignment -> assignment.module().title()));
+        // Ungraded assignments get a mark value of -1 so range filters can skip them
+        this.columns = new LazyIndex<>(this, "columns", () -> new ColumnIndex<Assignment>()
+                .intColumn("maxPoints", Assignment::maxPoints)
+                .intColumn("markValue", assignment -> assignment.mark() == null ? -1 : assignment.mark().getValue())
+                .dateColumn("dueDate", Assignment::dueDate));
     }
 
     public List<Assignment> sortByDueDate() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(Assignment.BY_DUE_DATE);
-        logger.log(Level.INFO, "Sorted Assignment by due date");
+        List<Assignment> allAssignments = sortedCopy(Assignment.BY_DUE_DATE);
+        logger.log(Level.FINE, "Sorted Assignment by due date");
         return allAssignments;
     }
 
     public List<Assignment> sortByDueDateDesc() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(Assignment.BY_DUE_DATE.reversed());
-        logger.log(Level.INFO, "Sorted Assignment by due date (descending)");
+        List<Assignment> allAssignments = sortedCopy(BY_DUE_DATE_DESC);
+        logger.log(Level.FINE, "Sorted Assignment by due date (descending)");
         return allAssignments;
     }
 
     public List<Assignment> sortByMaxPoints() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(Assignment.BY_MAX_POINTS);
-        logger.log(Level.INFO, "Sorted Assignment by max points (descending)");
+        List<Assignment> allAssignments = sortedCopy(Assignment.BY_MAX_POINTS);
+        logger.log(Level.FINE, "Sorted Assignment by max points (descending)");
         return allAssignments;
     }
 
     public List<Assignment> sortByMark() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(Assignment.BY_MARK);
-        logger.log(Level.INFO, "Sorted Assignment by mark");
+        List<Assignment> allAssignments = sortedCopy(Assignment.BY_MARK);
+        logger.log(Level.FINE, "Sorted Assignment by mark");
         return allAssignments;
     }
 
     public List<Assignment> sortByModuleAndDate() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(Assignment.BY_MODULE_AND_DATE);
-        logger.log(Level.INFO, "Sorted Assignment by module and due date");
+        List<Assignment> allAssignments = sortedCopy(Assignment.BY_MODULE_AND_DATE);
+        logger.log(Level.FINE, "Sorted Assignment by module and due date");
         return allAssignments;
     }
 
     public List<Assignment> sortByModuleTitle() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort((a1, a2) -> a1.module().title().compareTo(a2.module().title()));
-        logger.log(Level.INFO, "Sorted Assignment by module title using lambda");
+        List<Assignment> allAssignments = sortedCopy(BY_MODULE_TITLE);
+        logger.log(Level.FINE, "Sorted Assignment by module title using lambda");
         return allAssignments;
     }
 
     public List<Assignment> sortByMarkPointsDate() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(
-                Comparator.comparing(Assignment::mark)
-                        .thenComparingInt(Assignment::maxPoints).reversed()
-                        .thenComparing(Assignment::dueDate)
-        );
-        logger.log(Level.INFO, "Sorted Assignment by mark, max points (desc), and due date");
+        List<Assignment> allAssignments = sortedCopy(BY_MARK_POINTS_DATE);
+        logger.log(Level.FINE, "Sorted Assignment by mark, max points (desc), and due date");
         return allAssignments;
     }
 
     public List<Assignment> sortNaturally() {
-        List<Assignment> allAssignments = getAll();
-        allAssignments.sort(null);
-        logger.log(Level.INFO, "Sorted Assignment using natural order (Comparable)");
+        List<Assignment> allAssignments = sortedCopy(NATURAL_ORDER);
+        logger.log(Level.FINE, "Sorted Assignment using natural order (Comparable)");
         return allAssignments;
     }
 
+    // The next assignments due, without sorting the whole repository
+    public List<Assignment> findNextDue(int limit) {
+        if (limit < 0) {
+            logger.log(Level.WARNING, "Invalid limit: {0}", limit);
+            return List.of();
+        }
+
+        List<Assignment> results = topK(Assignment.BY_DUE_DATE, limit);
+
+        logger.log(Level.FINE, "Found {0} next due assignments", results.size());
+        return results;
+    }
+
     public List<Assignment> findByMark(Mark mark) {
         if (mark == null) {
             logger.log(Level.WARNING, "Attempted to search with null mark");
             return List.of();
         }
 
-        List<Assignment> results = getAll().stream()
-                .filter(assignment -> assignment.mark() == mark)
-                .collect(Collectors.toList());
+        List<Assignment> results = markIndex.get(mark);
 
-        logger.log(Level.INFO, "Found {0} assignments with mark ''{1}''",
-                new Object[]{results.size(), mark});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments with mark ''{1}''",
+                    new Object[]{results.size(), mark});
+        }
         return results;
     }
 
@@ -100,13 +132,13 @@ public class AssignmentRepository extends GenericRepository<Assignment> {
             return List.of();
         }
 
-        List<Assignment> results = getAll().stream()
-                .filter(assignment -> assignment.maxPoints() >= minPoints &&
-                        assignment.maxPoints() <= maxPoints)
-                .collect(Collectors.toList());
+        List<Assignment> results = maxPointsIndex.inInsertionOrder(
+                maxPointsIndex.range(minPoints, true, maxPoints, true));
 
-        logger.log(Level.INFO, "Found {0} assignments with points between {1} and {2}",
-                new Object[]{results.size(), minPoints, maxPoints});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments with points between {1} and {2}",
+                    new Object[]{results.size(), minPoints, maxPoints});
+        }
         return results;
     }
 
@@ -116,12 +148,12 @@ public class AssignmentRepository extends GenericRepository<Assignment> {
             return List.of();
         }
 
-        List<Assignment> results = getAll().stream()
-                .filter(assignment -> assignment.dueDate().isBefore(date))
-                .collect(Collectors.toList());
+        List<Assignment> results = dueDateIndex.inInsertionOrder(dueDateIndex.lessThan(date, false));
 
-        logger.log(Level.INFO, "Found {0} assignments due before {1}",
-                new Object[]{results.size(), date});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments due before {1}",
+                    new Object[]{results.size(), date});
+        }
         return results;
     }
 
@@ -131,12 +163,29 @@ public class AssignmentRepository extends GenericRepository<Assignment> {
             return List.of();
         }
 
-        List<Assignment> results = getAll().stream()
-                .filter(assignment -> assignment.dueDate().isAfter(date))
-                .collect(Collectors.toList());
+        List<Assignment> results = dueDateIndex.inInsertionOrder(dueDateIndex.greaterThan(date, false));
 
-        logger.log(Level.INFO, "Found {0} assignments due after {1}",
-                new Object[]{results.size(), date});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments due after {1}",
+                    new Object[]{results.size(), date});
+        }
+        return results;
+    }
+
+    // Calendar views such as "due this week": both bounds inclusive, O(log N + k)
+    public List<Assignment> findByDueDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            logger.log(Level.WARNING, "Invalid date range: start={0}, end={1}",
+                    new Object[]{startDate, endDate});
+            return List.of();
+        }
+
+        List<Assignment> results = dueDateIndex.range(startDate, true, endDate, true);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments due between {1} and {2}",
+                    new Object[]{results.size(), startDate, endDate});
+        }
         return results;
     }
 
@@ -146,118 +195,169 @@ public class AssignmentRepository extends GenericRepository<Assignment> {
             return List.of();
         }
 
-        String searchTerm = moduleTitle.trim().toLowerCase();
-        List<Assignment> results = getAll().stream()
-                .filter(assignment -> assignment.module().title().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<Assignment> results = moduleTitleTextIndex.get().containing(moduleTitle.trim());
 
-        logger.log(Level.INFO, "Found {0} assignments with module title containing ''{1}''",
-                new Object[]{results.size(), moduleTitle});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignments with module title containing ''{1}''",
+                    new Object[]{results.size(), moduleTitle});
+        }
         return results;
     }
 
     public Map<Mark, List<Assignment>> groupByMark() {
-        Map<Mark, List<Assignment>> grouped = getAll().stream()
-                .collect(Collectors.groupingBy(Assignment::mark));
+        // Built from the per-mark buckets; marks without assignments are left out as before
+        Map<Mark, List<Assignment>> grouped = new EnumMap<>(Mark.class);
+        for (Mark mark : markIndex.keys()) {
+            grouped.put(mark, markIndex.get(mark));
+        }
 
-        logger.log(Level.INFO, "Grouped assignments by mark: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped assignments by mark: {0} groups", grouped.size());
         return grouped;
     }
 
+    public int countByMark(Mark mark) {
+        if (mark == null) {
+            logger.log(Level.WARNING, "Attempted to count with null mark");
+            return 0;
+        }
+
+        int count = markIndex.count(mark);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Count of assignments with mark ''{0}'': {1}", new Object[]{mark, count});
+        }
+        return count;
+    }
+
+    // Grade distribution: every mark in declaration order, including those with no assignments
+    public Map<Mark, Integer> getMarkHistogram() {
+        Map<Mark, Integer> histogram = markIndex.histogram();
+
+        logger.log(Level.FINE, "Mark histogram: {0}", histogram);
+        return histogram;
+    }
+
     public Map<String, List<Assignment>> groupByModuleTitle() {
-        Map<String, List<Assignment>> grouped = getAll().stream()
+        Map<String, List<Assignment>> grouped = stream()
                 .collect(Collectors.groupingBy(assignment -> assignment.module().title()));
 
-        logger.log(Level.INFO, "Grouped assignments by module title: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped assignments by module title: {0} groups", grouped.size());
         return grouped;
     }
 
     public int getTotalMaxPoints() {
-        int total = getAll().stream()
-                .map(Assignment::maxPoints)
-                .reduce(0, Integer::sum);
+        int total = (int) maxPointsStatistics.getSum();
 
-        logger.log(Level.INFO, "Total max points across all assignments: {0}", total);
+        logger.log(Level.FINE, "Total max points across all assignments: {0}", total);
         return total;
     }
 
     public double getAverageMaxPoints() {
-        double average = getAll().stream()
-                .mapToInt(Assignment::maxPoints)
-                .average()
-                .orElse(0.0);
+        double average = maxPointsStatistics.getAverage();
 
-        logger.log(Level.INFO, "Average max points: {0}", average);
+        logger.log(Level.FINE, "Average max points: {0}", average);
+        return average;
+    }
+
+    // Workload of a period: one pass over the max points and due date columns
+    public int getTotalMaxPointsDueBetween(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            logger.log(Level.WARNING, "Invalid date range: start={0}, end={1}",
+                    new Object[]{startDate, endDate});
+            return 0;
+        }
+
+        int total = (int) columns.get().sumBetween("maxPoints", "dueDate", startDate, endDate);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Total max points due between {0} and {1}: {2}",
+                    new Object[]{startDate, endDate, total});
+        }
+        return total;
+    }
+
+    // Mean of Mark.getValue() over graded assignments; 0.0 when none is graded
+    public double getAverageMarkValue() {
+        ColumnIndex<Assignment> markColumns = columns.get();
+        int graded = markColumns.countBetween("markValue", 0, Integer.MAX_VALUE);
+        long sum = markColumns.sumBetween("markValue", "markValue", 0, Integer.MAX_VALUE);
+        double average = graded == 0 ? 0.0 : (double) sum / graded;
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Average mark value over {0} graded assignments: {1}",
+                    new Object[]{graded, average});
+        }
         return average;
     }
 
     public Optional<Assignment> getAssignmentWithMaxPoints() {
-        Optional<Assignment> result = getAll().stream()
-                .max(Comparator.comparingInt(Assignment::maxPoints));
+        Optional<Assignment> result = maxPointsIndex.maxKey()
+                .flatMap(maxPointsIndex::findFirst);
 
         if (result.isPresent()) {
-            logger.log(Level.INFO, "Assignment with max points: {0} ({1} points)",
-                    new Object[]{result.get().module().title(), result.get().maxPoints()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Assignment with max points: {0} ({1} points)",
+                        new Object[]{result.get().module().title(), result.get().maxPoints()});
+            }
         } else {
-            logger.log(Level.INFO, "No assignments found");
+            logger.log(Level.FINE, "No assignments found");
         }
 
         return result;
     }
 
     public List<Assignment> getAllAssignmentsWithMaxPoints() {
-        List<Assignment> allAssignments = getAll();
-        if (allAssignments.isEmpty()) {
-            logger.log(Level.INFO, "No assignments found");
+        Optional<Integer> max = maxPointsIndex.maxKey();
+        if (max.isEmpty()) {
+            logger.log(Level.FINE, "No assignments found");
             return List.of();
         }
 
-        int maxPoints = allAssignments.stream()
-                .mapToInt(Assignment::maxPoints)
-                .max()
-                .orElse(0);
-
-        List<Assignment> results = allAssignments.stream()
-                .filter(assignment -> assignment.maxPoints() == maxPoints)
-                .collect(Collectors.toList());
+        int maxPoints = max.get();
+        List<Assignment> results = maxPointsIndex.get(maxPoints);
 
-        logger.log(Level.INFO, "Found {0} assignment(s) with max points: {1} points",
-                new Object[]{results.size(), maxPoints});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} assignment(s) with max points: {1} points",
+                    new Object[]{results.size(), maxPoints});
+        }
         return results;
     }
 
     public List<String> getAllModuleTitles() {
-        List<String> titles = getAll().stream()
+        List<String> titles = stream()
                 .map(assignment -> assignment.module().title())
                 .distinct()
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} unique module titles", titles.size());
+        logger.log(Level.FINE, "Retrieved {0} unique module titles", titles.size());
         return titles;
     }
 
     public boolean hasAssignmentWithPoints(int points) {
-        boolean exists = getAll().stream()
-                .anyMatch(assignment -> assignment.maxPoints() == points);
+        boolean exists = maxPointsIndex.containsKey(points);
 
-        logger.log(Level.INFO, "Assignments with {0} points exist: {1}",
-                new Object[]{points, exists});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Assignments with {0} points exist: {1}",
+                    new Object[]{points, exists});
+        }
         return exists;
     }
 
     public boolean allAssignmentsHaveMinPoints(int minPoints) {
-        boolean result = getAll().stream()
-                .allMatch(assignment -> assignment.maxPoints() >= minPoints);
+        boolean result = maxPointsIndex.minKey()
+                .map(lowest -> lowest >= minPoints)
+                .orElse(true);
 
-        logger.log(Level.INFO, "All assignments have >= {0} points: {1}",
-                new Object[]{minPoints, result});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "All assignments have >= {0} points: {1}",
+                    new Object[]{minPoints, result});
+        }
         return result;
     }
 
     public void printAllAssignments() {
         logger.log(Level.INFO, "Printing all assignments:");
-        getAll().stream()
-                .forEach(assignment -> System.out.println(assignment.module().title() +
+        forEach(assignment -> System.out.println(assignment.module().title() +
                         " - due: " + assignment.dueDate() +
                         ", points: " + assignment.maxPoints()));
     }
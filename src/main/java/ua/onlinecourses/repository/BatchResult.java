@@ -0,0 +1,48 @@
+package ua.onlinecourses.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a batch operation on a {@link Repository}: how many items were applied and
+ * which were rejected (nulls, duplicate identities or, for removals, items not stored).
+ */
+public final class BatchResult<T> {
+
+    private final int requestedCount;
+    private final int appliedCount;
+    private final List<T> rejected;
+
+    BatchResult(int requestedCount, int appliedCount, List<T> rejected) {
+        this.requestedCount = requestedCount;
+        this.appliedCount = appliedCount;
+        this.rejected = Collections.unmodifiableList(rejected);
+    }
+
+    public int getRequestedCount() {
+        return requestedCount;
+    }
+
+    public int getAppliedCount() {
+        return appliedCount;
+    }
+
+    // Rejected items; may contain null
+    public List<T> getRejected() {
+        return rejected;
+    }
+
+    public int getRejectedCount() {
+        return rejected.size();
+    }
+
+    public boolean hasRejections() {
+        return !rejected.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{requested=" + requestedCount + ", applied=" + appliedCount
+                + ", rejected=" + rejected.size() + "}";
+    }
+}
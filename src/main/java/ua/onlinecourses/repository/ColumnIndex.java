@@ -0,0 +1,339 @@
+package ua.onlinecourses.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Columnar copy of an entity's numeric fields. Each column holds one field of every item
+ * in a primitive array: an {@code int[]} for int fields and a {@code long[]} of epoch days
+ * for dates. Slot i of every column belongs to the same item, and slots follow insertion
+ * order. Filters, sums, min and max therefore run as plain loops over primitive arrays,
+ * with no boxing and no record dereferences. Conditions across two columns, such as "sum
+ * of one field where another is in a range", take one pass, which the single-field
+ * indexes cannot do.
+ *
+ * <p>Columns are declared with {@link #intColumn} and {@link #dateColumn} before the index
+ * is registered. Removal clears the item's slot and zeroes its int values, so sums need no
+ * liveness check. Range loops check liveness only after a removal. The arrays are
+ * rebuilt once removed slots outnumber live ones, as in {@link NGramIndex}.</p>
+ */
+public class ColumnIndex<T> implements RepositoryIndex<T> {
+
+    // Epoch day stored for a null date; below any date a caller can pass
+    static final long NULL_DATE = Long.MIN_VALUE;
+    private static final int MIN_COMPACT_SIZE = 1024;
+
+    private final Map<String, Column<T>> columns = new LinkedHashMap<>();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private Object[] items = new Object[16];
+    private String[] identities = new String[16];
+    private boolean[] live = new boolean[16];
+    private int nextSlot;
+    private int removedCount;
+
+    public ColumnIndex<T> intColumn(String name, ToIntFunction<? super T> extractor) {
+        return addColumn(name, new Column<>(extractor, null, items.length));
+    }
+
+    public ColumnIndex<T> dateColumn(String name, Function<? super T, LocalDate> extractor) {
+        return addColumn(name, new Column<>(null, extractor, items.length));
+    }
+
+    private ColumnIndex<T> addColumn(String name, Column<T> column) {
+        if (name == null) {
+            throw new IllegalArgumentException("Column name cannot be null");
+        }
+        if (nextSlot > 0) {
+            throw new IllegalStateException("Columns must be declared before items are added");
+        }
+        if (columns.putIfAbsent(name, column) != null) {
+            throw new IllegalArgumentException("Column already declared: " + name);
+        }
+        return this;
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        if (slots.containsKey(identity)) {
+            return;
+        }
+        if (nextSlot == items.length) {
+            grow(nextSlot * 2);
+        }
+        int slot = nextSlot++;
+        items[slot] = item;
+        identities[slot] = identity;
+        live[slot] = true;
+        for (Column<T> column : columns.values()) {
+            column.set(slot, item);
+        }
+        slots.put(identity, slot);
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        Integer slot = slots.remove(identity);
+        if (slot == null) {
+            return;
+        }
+        items[slot] = null;
+        identities[slot] = null;
+        live[slot] = false;
+        for (Column<T> column : columns.values()) {
+            column.clear(slot);
+        }
+        removedCount++;
+        if (removedCount >= MIN_COMPACT_SIZE && removedCount > slots.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public void onClear() {
+        slots.clear();
+        items = new Object[16];
+        identities = new String[16];
+        live = new boolean[16];
+        for (Column<T> column : columns.values()) {
+            column.reset(16);
+        }
+        nextSlot = 0;
+        removedCount = 0;
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    public List<String> getColumnNames() {
+        return List.copyOf(columns.keySet());
+    }
+
+    // Sum of an int column over all items
+    public long sum(String intColumn) {
+        int[] values = intValues(intColumn);
+        long total = 0;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            total += values[slot];
+        }
+        return total;
+    }
+
+    public OptionalInt min(String intColumn) {
+        int[] values = intValues(intColumn);
+        boolean found = false;
+        int min = Integer.MAX_VALUE;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (isLive(slot)) {
+                min = Math.min(min, values[slot]);
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(min) : OptionalInt.empty();
+    }
+
+    public OptionalInt max(String intColumn) {
+        int[] values = intValues(intColumn);
+        boolean found = false;
+        int max = Integer.MIN_VALUE;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (isLive(slot)) {
+                max = Math.max(max, values[slot]);
+                found = true;
+            }
+        }
+        return found ? OptionalInt.of(max) : OptionalInt.empty();
+    }
+
+    // Items whose value in column is within [from, to], in insertion order; dates compare as epoch days
+    public List<T> between(String column, long from, long to) {
+        List<T> results = new ArrayList<>();
+        Column<T> values = column(column);
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (isLive(slot) && values.within(slot, from, to)) {
+                results.add(item(slot));
+            }
+        }
+        return results;
+    }
+
+    public List<T> between(String column, LocalDate from, LocalDate to) {
+        return between(column, from.toEpochDay(), to.toEpochDay());
+    }
+
+    public int countBetween(String column, long from, long to) {
+        Column<T> values = column(column);
+        if (from > to) {
+            return 0;
+        }
+        long span = to - from;
+        int count = 0;
+        if (removedCount > 0) {
+            for (int slot = 0; slot < nextSlot; slot++) {
+                if (live[slot] && Long.compareUnsigned(values.get(slot) - from, span) <= 0) {
+                    count++;
+                }
+            }
+        } else if (values.ints != null) {
+            int[] ints = values.ints;
+            for (int slot = 0; slot < nextSlot; slot++) {
+                count += Long.compareUnsigned(ints[slot] - from, span) <= 0 ? 1 : 0;
+            }
+        } else {
+            long[] longs = values.longs;
+            for (int slot = 0; slot < nextSlot; slot++) {
+                count += Long.compareUnsigned(longs[slot] - from, span) <= 0 ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    public int countBetween(String column, LocalDate from, LocalDate to) {
+        return countBetween(column, from.toEpochDay(), to.toEpochDay());
+    }
+
+    // Sum of intColumn over the items whose filterColumn value is within [from, to], in one pass
+    public long sumBetween(String intColumn, String filterColumn, long from, long to) {
+        int[] values = intValues(intColumn);
+        Column<T> filter = column(filterColumn);
+        if (from > to) {
+            return 0;
+        }
+        // key is in [from, to] exactly when key - from, taken as unsigned, is at most to - from:
+        // one compare and no branch to mispredict on unsorted keys
+        long span = to - from;
+        long total = 0;
+        if (filter.ints != null) {
+            int[] keys = filter.ints;
+            for (int slot = 0; slot < nextSlot; slot++) {
+                long offset = keys[slot] - from;
+                total += Long.compareUnsigned(offset, span) <= 0 ? values[slot] : 0;
+            }
+        } else {
+            long[] keys = filter.longs;
+            for (int slot = 0; slot < nextSlot; slot++) {
+                long offset = keys[slot] - from;
+                total += Long.compareUnsigned(offset, span) <= 0 ? values[slot] : 0;
+            }
+        }
+        // Removed slots hold zero in every int column, so they add nothing and need no check
+        return total;
+    }
+
+    public long sumBetween(String intColumn, String dateColumn, LocalDate from, LocalDate to) {
+        return sumBetween(intColumn, dateColumn, from.toEpochDay(), to.toEpochDay());
+    }
+
+    private boolean isLive(int slot) {
+        return removedCount == 0 || live[slot];
+    }
+
+    private Column<T> column(String name) {
+        Column<T> column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column: " + name);
+        }
+        return column;
+    }
+
+    private int[] intValues(String name) {
+        Column<T> column = column(name);
+        if (column.ints == null) {
+            throw new IllegalArgumentException("Not an int column: " + name);
+        }
+        return column.ints;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int slot) {
+        return (T) items[slot];
+    }
+
+    private void grow(int capacity) {
+        items = Arrays.copyOf(items, capacity);
+        identities = Arrays.copyOf(identities, capacity);
+        live = Arrays.copyOf(live, capacity);
+        for (Column<T> column : columns.values()) {
+            column.grow(capacity);
+        }
+    }
+
+    // Re-adds the live items in their original order, dropping removed slots
+    private void compact() {
+        Object[] liveItems = items;
+        String[] liveIdentities = identities;
+        int liveEnd = nextSlot;
+        onClear();
+        for (int slot = 0; slot < liveEnd; slot++) {
+            if (liveIdentities[slot] != null) {
+                @SuppressWarnings("unchecked")
+                T item = (T) liveItems[slot];
+                onAdd(liveIdentities[slot], item);
+            }
+        }
+    }
+
+    // One field of every item; exactly one of ints and longs is in use
+    private static final class Column<T> {
+        private final ToIntFunction<? super T> intExtractor;
+        private final Function<? super T, LocalDate> dateExtractor;
+        private int[] ints;
+        private long[] longs;
+
+        Column(ToIntFunction<? super T> intExtractor, Function<? super T, LocalDate> dateExtractor, int capacity) {
+            this.intExtractor = intExtractor;
+            this.dateExtractor = dateExtractor;
+            reset(capacity);
+        }
+
+        void set(int slot, T item) {
+            if (ints != null) {
+                ints[slot] = intExtractor.applyAsInt(item);
+            } else {
+                LocalDate date = dateExtractor.apply(item);
+                longs[slot] = date == null ? NULL_DATE : date.toEpochDay();
+            }
+        }
+
+        void clear(int slot) {
+            if (ints != null) {
+                ints[slot] = 0;
+            } else {
+                longs[slot] = NULL_DATE;
+            }
+        }
+
+        long get(int slot) {
+            return ints != null ? ints[slot] : longs[slot];
+        }
+
+        boolean within(int slot, long from, long to) {
+            long value = get(slot);
+            return value >= from && value <= to;
+        }
+
+        void grow(int capacity) {
+            if (ints != null) {
+                ints = Arrays.copyOf(ints, capacity);
+            } else {
+                longs = Arrays.copyOf(longs, capacity);
+            }
+        }
+
+        void reset(int capacity) {
+            if (intExtractor != null) {
+                ints = new int[capacity];
+            } else {
+                longs = new long[capacity];
+            }
+        }
+    }
+}
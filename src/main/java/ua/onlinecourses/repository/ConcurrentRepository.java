@@ -0,0 +1,350 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe counterpart of {@link GenericRepository}.
+ * Reads go straight to concurrent maps without locking. Writes take one
+ * lock out of a fixed stripe set, chosen by identity, so writers touching
+ * different identities rarely contend. The identity check and insert in
+ * {@link #add} happen under that stripe lock and are atomic.
+ * Per-operation messages are logged at FINE so log handlers do not serialize callers.
+ */
+public class ConcurrentRepository<T> implements Repository<T> {
+    private static final Logger logger = Logger.getLogger(ConcurrentRepository.class.getName());
+    private static final int DEFAULT_STRIPES = 16;
+
+    private record Entry<T>(long sequence, T item) {
+    }
+
+    private final ConcurrentHashMap<String, Entry<T>> items;
+    // Insertion sequence -> item; keeps getAll() in insertion order
+    private final ConcurrentSkipListMap<Long, T> insertionOrder;
+    private final AtomicLong sequence;
+    private final ReentrantLock[] stripes;
+    private final IdentityExtractor<T> identityExtractor;
+    private final String entityType;
+
+    public ConcurrentRepository(IdentityExtractor<T> identityExtractor, String entityType) {
+        this(identityExtractor, entityType, DEFAULT_STRIPES);
+    }
+
+    public ConcurrentRepository(IdentityExtractor<T> identityExtractor, String entityType, int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+        }
+        this.items = new ConcurrentHashMap<>();
+        this.insertionOrder = new ConcurrentSkipListMap<>();
+        this.sequence = new AtomicLong();
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.identityExtractor = identityExtractor;
+        this.entityType = entityType;
+        logger.log(Level.INFO, "Created concurrent repository for {0} with {1} lock stripes",
+                new Object[]{entityType, stripeCount});
+    }
+
+    private ReentrantLock stripeFor(String identity) {
+        return stripes[Math.floorMod(identity == null ? 0 : identity.hashCode(), stripes.length)];
+    }
+
+    // Take every stripe in a fixed order so whole-repository writes cannot interleave with a half-done write
+    private void lockAll() {
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    @Override
+    public boolean add(T item) {
+        if (item == null) {
+            logger.log(Level.WARNING, "Attempted to add null {0}", entityType);
+            return false;
+        }
+
+        String identity = identityExtractor.extractIdentity(item);
+        ReentrantLock lock = stripeFor(identity);
+        lock.lock();
+        try {
+            if (items.containsKey(identity)) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Cannot add {0} - already exists with identity: {1}",
+                            new Object[]{entityType, identity});
+                }
+                return false;
+            }
+            insert(identity, item);
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Added {0}: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+    // Batches hold every stripe, so other writers see all of a batch or none of it.
+    // Identities are computed before locking; readers stay lock-free and weakly consistent
+    @Override
+    public BatchResult<T> addAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> unique = uniqueByIdentity(batch, rejected);
+        int applied = 0;
+        lockAll();
+        try {
+            for (Map.Entry<String, T> entry : unique.entrySet()) {
+                if (items.containsKey(entry.getKey())) {
+                    rejected.add(entry.getValue());
+                    continue;
+                }
+                insert(entry.getKey(), entry.getValue());
+                applied++;
+            }
+        } finally {
+            unlockAll();
+        }
+        return finishBatch("Added", batch.size(), applied, rejected);
+    }
+
+    @Override
+    public BatchResult<T> removeAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> unique = uniqueByIdentity(batch, rejected);
+        int applied = 0;
+        lockAll();
+        try {
+            for (Map.Entry<String, T> entry : unique.entrySet()) {
+                Entry<T> stored = items.get(entry.getKey());
+                if (stored == null || !stored.item().equals(entry.getValue())) {
+                    rejected.add(entry.getValue());
+                    continue;
+                }
+                items.remove(entry.getKey());
+                insertionOrder.remove(stored.sequence());
+                applied++;
+            }
+        } finally {
+            unlockAll();
+        }
+        return finishBatch("Removed", batch.size(), applied, rejected);
+    }
+
+    @Override
+    public BatchResult<T> replaceAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> unique = uniqueByIdentity(batch, rejected);
+        lockAll();
+        try {
+            items.clear();
+            insertionOrder.clear();
+            unique.forEach(this::insert);
+        } finally {
+            unlockAll();
+        }
+        return finishBatch("Replaced content with", batch.size(), unique.size(), rejected);
+    }
+
+    private Map<String, T> uniqueByIdentity(Collection<? extends T> batch, List<T> rejected) {
+        Map<String, T> unique = new LinkedHashMap<>();
+        for (T item : batch) {
+            if (item == null) {
+                rejected.add(null);
+                continue;
+            }
+            if (unique.putIfAbsent(identityExtractor.extractIdentity(item), item) != null) {
+                rejected.add(item);
+            }
+        }
+        return unique;
+    }
+
+    // Caller holds the stripe lock of the identity
+    private void insert(String identity, T item) {
+        long seq = sequence.incrementAndGet();
+        insertionOrder.put(seq, item);
+        items.put(identity, new Entry<>(seq, item));
+    }
+
+    private BatchResult<T> finishBatch(String action, int requested, int applied, List<T> rejected) {
+        logger.log(Level.INFO, "{0} {1} {2} items in one batch of {3}; {4} rejected",
+                new Object[]{action, applied, entityType, requested, rejected.size()});
+        return new BatchResult<>(requested, applied, rejected);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        if (item == null) {
+            logger.log(Level.WARNING, "Attempted to remove null {0}", entityType);
+            return false;
+        }
+
+        String identity = identityExtractor.extractIdentity(item);
+        ReentrantLock lock = stripeFor(identity);
+        lock.lock();
+        try {
+            Entry<T> entry = items.get(identity);
+            if (entry == null || !entry.item().equals(item)) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "Failed to remove {0}: {1}", new Object[]{entityType, identity});
+                }
+                return false;
+            }
+            items.remove(identity);
+            insertionOrder.remove(entry.sequence());
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Removed {0}: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeByIdentity(String identity) {
+        if (identity == null) {
+            logger.log(Level.WARNING, "Attempted to remove {0} with null identity", entityType);
+            return false;
+        }
+
+        ReentrantLock lock = stripeFor(identity);
+        lock.lock();
+        try {
+            Entry<T> entry = items.remove(identity);
+            if (entry == null) {
+                if (logger.isLoggable(Level.FINE)) {
+                    logger.log(Level.FINE, "No {0} found with identity: {1} to remove",
+                            new Object[]{entityType, identity});
+                }
+                return false;
+            }
+            insertionOrder.remove(entry.sequence());
+        } finally {
+            lock.unlock();
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Removed {0} by identity: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        if (item == null) {
+            return false;
+        }
+        Entry<T> entry = items.get(identityExtractor.extractIdentity(item));
+        return entry != null && entry.item().equals(item);
+    }
+
+    @Override
+    public boolean containsIdentity(String identity) {
+        return identity != null && items.containsKey(identity);
+    }
+
+    @Override
+    public Optional<T> findByIdentity(String identity) {
+        if (identity == null) {
+            logger.log(Level.WARNING, "Attempted to find {0} with null identity", entityType);
+            return Optional.empty();
+        }
+
+        Entry<T> entry = items.get(identity);
+        return entry == null ? Optional.empty() : Optional.of(entry.item());
+    }
+
+    @Override
+    public List<T> getAll() {
+        return new ArrayList<>(insertionOrder.values());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        // Weakly consistent: reflects some point-in-time state and never throws ConcurrentModificationException
+        return insertionOrder.values().stream();
+    }
+
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public void clear() {
+        int sizeBefore;
+        lockAll();
+        try {
+            sizeBefore = items.size();
+            items.clear();
+            insertionOrder.clear();
+        } finally {
+            unlockAll();
+        }
+        logger.log(Level.INFO, "Cleared repository. Removed {0} {1} items", new Object[]{sizeBefore, entityType});
+    }
+
+    @Override
+    public List<T> sortByIdentity(String order) {
+        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
+            logger.log(Level.WARNING, "Invalid sort order: {0}. Using 'asc' by default", order);
+            order = "asc";
+        }
+
+        List<Map.Entry<String, Entry<T>>> entries = new ArrayList<>(items.entrySet());
+
+        Comparator<Map.Entry<String, Entry<T>>> comparator = Map.Entry.comparingByKey();
+
+        if (order.equalsIgnoreCase("desc")) {
+            comparator = comparator.reversed();
+        }
+
+        entries.sort(comparator);
+
+        List<T> sortedItems = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry<T>> entry : entries) {
+            sortedItems.add(entry.getValue().item());
+        }
+        return sortedItems;
+    }
+}
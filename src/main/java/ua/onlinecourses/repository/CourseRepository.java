@@ -13,68 +13,96 @@ import java.util.stream.Collectors;
 public class CourseRepository extends GenericRepository<Course> {
     private static final Logger logger = Logger.getLogger(CourseRepository.class.getName());
 
+    // Constant instances so repeated sorts hit the sorted-view cache
+    private static final Comparator<Course> BY_CREDITS_DESC = Course.BY_CREDITS.reversed();
+    private static final Comparator<Course> BY_DESCRIPTION =
+            (c1, c2) -> c1.description().compareTo(c2.description());
+    private static final Comparator<Course> BY_CREDITS_DESC_AND_DATE =
+            Comparator.comparingInt(Course::credits).reversed()
+                    .thenComparing(Course::startDate);
+
+    private final SortedIndex<Integer, Course> creditsIndex;
+    private final SortedIndex<LocalDate, Course> startDateIndex;
+    private final StatisticsIndex<Course> creditsStatistics;
+    private final LazyIndex<Course, NGramIndex<Course>> titleTextIndex;
+    private final LazyIndex<Course, NGramIndex<Course>> descriptionTextIndex;
+    private final LazyIndex<Course, ColumnIndex<Course>> columns;
+
     public CourseRepository() {
         super(Course::getFullName, "Course");
+        this.creditsIndex = registerIndex("credits", new SortedIndex<>(Integer.class, Course::credits));
+        this.startDateIndex = registerIndex("startDate", new SortedIndex<>(LocalDate.class, Course::startDate));
+        this.creditsStatistics = registerIndex("creditsStatistics", new StatisticsIndex<>(Course::credits));
+        // Text and column indexes are built on first use, see LazyIndex
+        this.titleTextIndex = new LazyIndex<>(this, "titleText", () -> new NGramIndex<>(Course::title));
+        this.descriptionTextIndex = new LazyIndex<>(this, "descriptionText",
+                () -> new NGramIndex<>(Course::description));
+        this.columns = new LazyIndex<>(this, "columns", () -> new ColumnIndex<Course>()
+                .intColumn("credits", Course::credits)
+                .dateColumn("startDate", Course::startDate));
     }
 
     public List<Course> sortByTitle() {
-        List<Course> allCourses = getAll();
-        allCourses.sort(Course.BY_TITLE);
-        logger.log(Level.INFO, "Sorted Course by title");
+        List<Course> allCourses = sortedCopy(Course.BY_TITLE);
+        logger.log(Level.FINE, "Sorted Course by title");
         return allCourses;
     }
 
     public List<Course> sortByCredits() {
-        List<Course> allCourses = getAll();
-        allCourses.sort(Course.BY_CREDITS);
-        logger.log(Level.INFO, "Sorted Course by credits");
+        List<Course> allCourses = sortedCopy(Course.BY_CREDITS);
+        logger.log(Level.FINE, "Sorted Course by credits");
         return allCourses;
     }
 
     public List<Course> sortByCreditsDesc() {
-        List<Course> allCourses = getAll();
-        allCourses.sort(Course.BY_CREDITS.reversed());
-        logger.log(Level.INFO, "Sorted Course by credits (descending)");
+        List<Course> allCourses = sortedCopy(BY_CREDITS_DESC);
+        logger.log(Level.FINE, "Sorted Course by credits (descending)");
         return allCourses;
     }
 
     public List<Course> sortByStartDate() {
-        List<Course> allCourses = getAll();
-        allCourses.sort(Course.BY_START_DATE);
-        logger.log(Level.INFO, "Sorted Course by start date");
+        List<Course> allCourses = sortedCopy(Course.BY_START_DATE);
+        logger.log(Level.FINE, "Sorted Course by start date");
         return allCourses;
     }
 
     public List<Course> sortByDescription() {
-        List<Course> allCourses = getAll();
-        allCourses.sort((c1, c2) -> c1.description().compareTo(c2.description()));
-        logger.log(Level.INFO, "Sorted Course by description using lambda");
+        List<Course> allCourses = sortedCopy(BY_DESCRIPTION);
+        logger.log(Level.FINE, "Sorted Course by description using lambda");
         return allCourses;
     }
 
     public List<Course> sortByCreditsAndDate() {
-        List<Course> allCourses = getAll();
-        allCourses.sort(
-                Comparator.comparingInt(Course::credits).reversed()
-                        .thenComparing(Course::startDate)
-        );
-        logger.log(Level.INFO, "Sorted Course by credits (desc) and start date");
+        List<Course> allCourses = sortedCopy(BY_CREDITS_DESC_AND_DATE);
+        logger.log(Level.FINE, "Sorted Course by credits (desc) and start date");
         return allCourses;
     }
 
+    // The k courses with most credits, without sorting the whole repository
+    public List<Course> findTopByCredits(int k) {
+        if (k < 0) {
+            logger.log(Level.WARNING, "Invalid limit: {0}", k);
+            return List.of();
+        }
+
+        List<Course> results = topK(BY_CREDITS_DESC, k);
+
+        logger.log(Level.FINE, "Found top {0} courses by credits", results.size());
+        return results;
+    }
+
     public List<Course> findByTitleContaining(String partialTitle) {
         if (partialTitle == null || partialTitle.trim().isEmpty()) {
             logger.log(Level.WARNING, "Attempted to search with null or empty partial title");
             return List.of();
         }
 
-        String searchTerm = partialTitle.trim().toLowerCase();
-        List<Course> results = getAll().stream()
-                .filter(course -> course.title().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<Course> results = titleTextIndex.get().containing(partialTitle.trim());
 
-        logger.log(Level.INFO, "Found {0} courses with title containing ''{1}''",
-                new Object[]{results.size(), partialTitle});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} courses with title containing ''{1}''",
+                    new Object[]{results.size(), partialTitle});
+        }
         return results;
     }
 
@@ -85,12 +113,12 @@ public class CourseRepository extends GenericRepository<Course> {
             return List.of();
         }
 
-        List<Course> results = getAll().stream()
-                .filter(course -> course.credits() >= minCredits && course.credits() <= maxCredits)
-                .collect(Collectors.toList());
+        List<Course> results = creditsIndex.inInsertionOrder(creditsIndex.range(minCredits, true, maxCredits, true));
 
-        logger.log(Level.INFO, "Found {0} courses with credits between {1} and {2}",
-                new Object[]{results.size(), minCredits, maxCredits});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} courses with credits between {1} and {2}",
+                    new Object[]{results.size(), minCredits, maxCredits});
+        }
         return results;
     }
 
@@ -100,12 +128,29 @@ public class CourseRepository extends GenericRepository<Course> {
             return List.of();
         }
 
-        List<Course> results = getAll().stream()
-                .filter(course -> course.startDate().isAfter(date))
-                .collect(Collectors.toList());
+        List<Course> results = startDateIndex.inInsertionOrder(startDateIndex.greaterThan(date, false));
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} courses starting after {1}",
+                    new Object[]{results.size(), date});
+        }
+        return results;
+    }
+
+    // Both bounds inclusive, O(log N + k)
+    public List<Course> findByStartDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            logger.log(Level.WARNING, "Invalid date range: start={0}, end={1}",
+                    new Object[]{startDate, endDate});
+            return List.of();
+        }
+
+        List<Course> results = startDateIndex.range(startDate, true, endDate, true);
 
-        logger.log(Level.INFO, "Found {0} courses starting after {1}",
-                new Object[]{results.size(), date});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} courses starting between {1} and {2}",
+                    new Object[]{results.size(), startDate, endDate});
+        }
         return results;
     }
 
@@ -115,109 +160,121 @@ public class CourseRepository extends GenericRepository<Course> {
             return List.of();
         }
 
-        String searchTerm = keyword.trim().toLowerCase();
-        List<Course> results = getAll().stream()
-                .filter(course -> course.description().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<Course> results = descriptionTextIndex.get().containing(keyword.trim());
 
-        logger.log(Level.INFO, "Found {0} courses with description containing ''{1}''",
-                new Object[]{results.size(), keyword});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} courses with description containing ''{1}''",
+                    new Object[]{results.size(), keyword});
+        }
         return results;
     }
 
     public Map<Integer, List<Course>> groupByCredits() {
-        Map<Integer, List<Course>> grouped = getAll().stream()
+        Map<Integer, List<Course>> grouped = stream()
                 .collect(Collectors.groupingBy(Course::credits));
 
-        logger.log(Level.INFO, "Grouped courses by credits: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped courses by credits: {0} groups", grouped.size());
         return grouped;
     }
 
     public int getTotalCredits() {
-        int total = getAll().stream()
-                .map(Course::credits)
-                .reduce(0, Integer::sum);
+        int total = (int) creditsStatistics.getSum();
 
-        logger.log(Level.INFO, "Total credits across all courses: {0}", total);
+        logger.log(Level.FINE, "Total credits across all courses: {0}", total);
         return total;
     }
 
     public double getAverageCredits() {
-        double average = getAll().stream()
-                .mapToInt(Course::credits)
-                .average()
-                .orElse(0.0);
+        double average = creditsStatistics.getAverage();
 
-        logger.log(Level.INFO, "Average credits: {0}", average);
+        logger.log(Level.FINE, "Average credits: {0}", average);
         return average;
     }
 
+    // Credit load of a term: one pass over the credits and start date columns
+    public int getTotalCreditsStartingBetween(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            logger.log(Level.WARNING, "Invalid date range: start={0}, end={1}",
+                    new Object[]{startDate, endDate});
+            return 0;
+        }
+
+        int total = (int) columns.get().sumBetween("credits", "startDate", startDate, endDate);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Total credits of courses starting between {0} and {1}: {2}",
+                    new Object[]{startDate, endDate, total});
+        }
+        return total;
+    }
+
     public Optional<Course> getCourseWithMaxCredits() {
-        Optional<Course> result = getAll().stream()
-                .max(Comparator.comparingInt(Course::credits));
+        Optional<Course> result = creditsIndex.maxKey()
+                .flatMap(creditsIndex::findFirst);
 
         if (result.isPresent()) {
-            logger.log(Level.INFO, "Course with max credits: {0} ({1} credits)",
-                    new Object[]{result.get().title(), result.get().credits()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Course with max credits: {0} ({1} credits)",
+                        new Object[]{result.get().title(), result.get().credits()});
+            }
         } else {
-            logger.log(Level.INFO, "No courses found");
+            logger.log(Level.FINE, "No courses found");
         }
 
         return result;
     }
 
     public List<Course> getAllCoursesWithMaxCredits() {
-        List<Course> allCourses = getAll();
-        if (allCourses.isEmpty()) {
-            logger.log(Level.INFO, "No courses found");
+        Optional<Integer> max = creditsIndex.maxKey();
+        if (max.isEmpty()) {
+            logger.log(Level.FINE, "No courses found");
             return List.of();
         }
 
-        int maxCredits = allCourses.stream()
-                .mapToInt(Course::credits)
-                .max()
-                .orElse(0);
+        int maxCredits = max.get();
+        List<Course> results = creditsIndex.get(maxCredits);
 
-        List<Course> results = allCourses.stream()
-                .filter(course -> course.credits() == maxCredits)
-                .collect(Collectors.toList());
-
-        logger.log(Level.INFO, "Found {0} course(s) with max credits: {1} credits",
-                new Object[]{results.size(), maxCredits});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} course(s) with max credits: {1} credits",
+                    new Object[]{results.size(), maxCredits});
+        }
         return results;
     }
 
     public List<String> getAllTitles() {
-        List<String> titles = getAll().stream()
+        List<String> titles = stream()
                 .map(Course::title)
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} course titles", titles.size());
+        logger.log(Level.FINE, "Retrieved {0} course titles", titles.size());
         return titles;
     }
 
     public boolean hasCourseWithCredits(int credits) {
-        boolean exists = getAll().stream()
-                .anyMatch(course -> course.credits() == credits);
+        boolean exists = creditsIndex.containsKey(credits);
 
-        logger.log(Level.INFO, "Courses with {0} credits exist: {1}",
-                new Object[]{credits, exists});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Courses with {0} credits exist: {1}",
+                    new Object[]{credits, exists});
+        }
         return exists;
     }
 
     public boolean allCoursesHaveMinCredits(int minCredits) {
-        boolean result = getAll().stream()
-                .allMatch(course -> course.credits() >= minCredits);
+        boolean result = creditsIndex.minKey()
+                .map(lowest -> lowest >= minCredits)
+                .orElse(true);
 
-        logger.log(Level.INFO, "All courses have >= {0} credits: {1}",
-                new Object[]{minCredits, result});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "All courses have >= {0} credits: {1}",
+                    new Object[]{minCredits, result});
+        }
         return result;
     }
 
     public void printAllCourses() {
         logger.log(Level.INFO, "Printing all courses:");
-        getAll().stream()
-                .forEach(course -> System.out.println(course.title() + " - " +
+        forEach(course -> System.out.println(course.title() + " - " +
                         course.credits() + " credits"));
     }
 }
\ No newline at end of file
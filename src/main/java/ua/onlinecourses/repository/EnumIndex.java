@@ -0,0 +1,32 @@
+package ua.onlinecourses.repository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Equality index over an enum key. Buckets live in an {@link EnumMap}, an array indexed by
+ * ordinal, so lookups need no hashing and keys iterate in declaration order.
+ */
+public class EnumIndex<E extends Enum<E>, T> extends AbstractKeyIndex<E, T> {
+
+    private final Class<E> keyType;
+
+    public EnumIndex(Class<E> keyType, Function<? super T, ? extends E> keyExtractor) {
+        super(new EnumMap<>(keyType), keyType, keyExtractor, UnaryOperator.identity());
+        this.keyType = keyType;
+    }
+
+    // Count per constant in declaration order, zero for constants with no items; O(constants)
+    public Map<E, Integer> histogram() {
+        Map<E, Integer> histogram = new EnumMap<>(keyType);
+        for (E constant : keyType.getEnumConstants()) {
+            Set<T> bucket = buckets.get(constant);
+            histogram.put(constant, bucket == null ? 0 : bucket.size());
+        }
+        return Collections.unmodifiableMap(histogram);
+    }
+}
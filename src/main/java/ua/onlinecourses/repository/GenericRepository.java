@@ -1,29 +1,120 @@
 package ua.onlinecourses.repository;
 
+import ua.onlinecourses.util.Diagnostics;
 
 import java.util.Comparator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
-public class GenericRepository<T> {
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+public class GenericRepository<T> implements Repository<T> {
     private static final Logger logger = Logger.getLogger(GenericRepository.class.getName());
 
 
-    private final List<T> items;
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    // Reads of at least 1/FULL_SORT_RATIO of the items sort everything once and cache it
+    private static final int FULL_SORT_RATIO = 4;
+
+    // Identity -> item; LinkedHashMap keeps insertion order for getAll() while giving O(1) lookups.
+    // Not final: batches into an empty repository swap in their pre-sized map instead of copying it
+    private Map<String, T> items;
+    // Replaced, never modified, on registration, so readers can iterate it while an index is added
+    private volatile Map<String, RepositoryIndex<T>> indexes;
+    private final SortedViewCache<T> sortedViews;
     private final IdentityExtractor<T> identityExtractor;
     private final String entityType;
 
+    // Shared by all repositories of the same entity type, see Diagnostics
+    private final LongAdder addedCount;
+    private final LongAdder rejectedCount;
+    private final LongAdder removedCount;
+    private final LongAdder lookupHitCount;
+    private final LongAdder lookupMissCount;
+
     public GenericRepository(IdentityExtractor<T> identityExtractor, String entityType) {
-        this.items = new ArrayList<>();
+        this.items = new LinkedHashMap<>(DEFAULT_CAPACITY, LOAD_FACTOR);
+        this.indexes = new LinkedHashMap<>();
         this.identityExtractor = identityExtractor;
         this.entityType = entityType;
+        this.addedCount = Diagnostics.counter(entityType + ".repository.added");
+        this.rejectedCount = Diagnostics.counter(entityType + ".repository.rejected");
+        this.removedCount = Diagnostics.counter(entityType + ".repository.removed");
+        this.lookupHitCount = Diagnostics.counter(entityType + ".repository.lookupHit");
+        this.lookupMissCount = Diagnostics.counter(entityType + ".repository.lookupMiss");
+        this.sortedViews = new SortedViewCache<>(Diagnostics.counter(entityType + ".repository.sortedViewHit"),
+                Diagnostics.counter(entityType + ".repository.sortedViewMiss"));
         logger.log(Level.INFO,"Created repository for {0}", entityType);
     }
 
+    public <I extends RepositoryIndex<T>> I registerIndex(String name, I index) {
+        if (name == null || index == null) {
+            throw new IllegalArgumentException("Index name and index cannot be null");
+        }
+        if (indexes.containsKey(name)) {
+            throw new IllegalArgumentException("Index already registered: " + name);
+        }
+
+        for (Map.Entry<String, T> entry : items.entrySet()) {
+            index.onAdd(entry.getKey(), entry.getValue());
+        }
+        Map<String, RepositoryIndex<T>> registered = new LinkedHashMap<>(indexes);
+        registered.put(name, index);
+        indexes = registered;
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Registered index {0} on {1} repository", new Object[]{name, entityType});
+        }
+        return index;
+    }
+
+    // Stops maintaining the named index; false when no index is registered under that name
+    public boolean unregisterIndex(String name) {
+        if (name == null || !indexes.containsKey(name)) {
+            return false;
+        }
+
+        Map<String, RepositoryIndex<T>> remaining = new LinkedHashMap<>(indexes);
+        remaining.remove(name);
+        indexes = remaining;
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Unregistered index {0} from {1} repository", new Object[]{name, entityType});
+        }
+        return true;
+    }
+
+    // Fluent query over this repository's items and registered indexes, see Query
+    public Query<T> query() {
+        return new Query<>(this);
+    }
+
+    String getEntityType() {
+        return entityType;
+    }
+
+    public Optional<RepositoryIndex<T>> getIndex(String name) {
+        return Optional.ofNullable(indexes.get(name));
+    }
+
+    public Set<String> getIndexNames() {
+        return Collections.unmodifiableSet(indexes.keySet());
+    }
+
+    @Override
     public boolean add(T item) {
         if (item == null) {
             logger.log(Level.WARNING, "Attempted to add null {0}", entityType);
@@ -31,127 +122,423 @@ public class GenericRepository<T> {
         }
 
         String identity = identityExtractor.extractIdentity(item);
-        if (findByIdentity(identity).isPresent()) {
-            logger.log(Level.WARNING,"Cannot add {0} - already exists with identity: {1}",new Object[]{entityType, identity});
+        if (items.putIfAbsent(identity, item) != null) {
+            rejectedCount.increment();
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Cannot add {0} - already exists with identity: {1}", new Object[]{entityType, identity});
+            }
             return false;
         }
 
-        boolean added = items.add(item);
-        if (added) {
-            logger.log(Level.INFO, "Added {0}: {1}", new Object[]{entityType, identity});
+        notifyAdded(identity, item);
+        addedCount.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Added {0}: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+
+    @Override
+    public BatchResult<T> addAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> accepted = uniqueByIdentity(batch, rejected, true);
+
+        if (items.isEmpty()) {
+            // Loading into an empty repository: the validated map is already sized for the batch
+            items = accepted;
+        } else {
+            items.putAll(accepted);
+        }
+        accepted.forEach(this::notifyAdded);
+
+        return finishBatch("Added", batch.size(), accepted.size(), rejected, addedCount);
+    }
+
+    @Override
+    public BatchResult<T> removeAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> matched = new LinkedHashMap<>(capacityFor(batch.size()), LOAD_FACTOR);
+        for (T item : batch) {
+            if (item == null) {
+                rejected.add(null);
+                continue;
+            }
+            String identity = identityExtractor.extractIdentity(item);
+            if (!item.equals(items.get(identity)) || matched.putIfAbsent(identity, item) != null) {
+                rejected.add(item);
+            }
+        }
+
+        for (Map.Entry<String, T> entry : matched.entrySet()) {
+            items.remove(entry.getKey());
+            notifyRemoved(entry.getKey(), entry.getValue());
+        }
+
+        return finishBatch("Removed", batch.size(), matched.size(), rejected, removedCount);
+    }
+
+    @Override
+    public BatchResult<T> replaceAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> accepted = uniqueByIdentity(batch, rejected, false);
+
+        items = accepted;
+        sortedViews.onClear();
+        for (RepositoryIndex<T> index : indexes.values()) {
+            index.onClear();
         }
-        return added;
+        accepted.forEach(this::notifyAdded);
+
+        return finishBatch("Replaced content with", batch.size(), accepted.size(), rejected, addedCount);
     }
 
+    // Validation pass shared by addAll and replaceAll: computes every identity before storage changes
+    private Map<String, T> uniqueByIdentity(Collection<? extends T> batch, List<T> rejected, boolean rejectStored) {
+        Map<String, T> accepted = new LinkedHashMap<>(capacityFor(batch.size()), LOAD_FACTOR);
+        for (T item : batch) {
+            if (item == null) {
+                rejected.add(null);
+                continue;
+            }
+            String identity = identityExtractor.extractIdentity(item);
+            if ((rejectStored && items.containsKey(identity)) || accepted.putIfAbsent(identity, item) != null) {
+                rejected.add(item);
+            }
+        }
+        return accepted;
+    }
+
+    private BatchResult<T> finishBatch(String action, int requested, int applied, List<T> rejected,
+                                       LongAdder appliedCounter) {
+        appliedCounter.add(applied);
+        rejectedCount.add(rejected.size());
+        logger.log(Level.INFO, "{0} {1} {2} items in one batch of {3}; {4} rejected",
+                new Object[]{action, applied, entityType, requested, rejected.size()});
+        return new BatchResult<>(requested, applied, rejected);
+    }
 
+    // Initial capacity that holds expectedSize entries without rehashing
+    private static int capacityFor(int expectedSize) {
+        return Math.max(DEFAULT_CAPACITY, (int) Math.ceil(expectedSize / (double) LOAD_FACTOR));
+    }
+
+    @Override
     public boolean remove(T item) {
         if (item == null) {
             logger.log(Level.WARNING, "Attempted to remove null {0}", entityType);
             return false;
         }
 
-        boolean removed = items.remove(item);
+        String identity = identityExtractor.extractIdentity(item);
+        boolean removed = items.remove(identity, item);
         if (removed) {
-            logger.log(Level.INFO, "Removed {0}: {1}", new Object[]{entityType, identityExtractor.extractIdentity(item)});
-        } else {
-            logger.log(Level.WARNING,"Failed to remove {0}: {1}", new Object[]{entityType, identityExtractor.extractIdentity(item)});
+            notifyRemoved(identity, item);
+            removedCount.increment();
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, "Removed {0}: {1}", new Object[]{entityType, identity});
+            }
+        } else if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Failed to remove {0}: {1}", new Object[]{entityType, identity});
         }
         return removed;
     }
 
 
+    @Override
     public boolean removeByIdentity(String identity) {
         if (identity == null) {
             logger.log(Level.WARNING,"Attempted to remove {0} with null identity", entityType);
             return false;
         }
 
-        Optional<T> itemToRemove = items.stream()
-                .filter(item -> identity.equals(identityExtractor.extractIdentity(item)))
-                .findFirst();
+        T removed = items.remove(identity);
 
-        if (itemToRemove.isPresent()) {
-            boolean removed = items.remove(itemToRemove.get());
-            if (removed) {
-                logger.log(Level.INFO, "Removed {0} by identity: {1}", new Object[]{entityType, identity});
+        if (removed != null) {
+            notifyRemoved(identity, removed);
+            removedCount.increment();
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, "Removed {0} by identity: {1}", new Object[]{entityType, identity});
             }
-            return removed;
+            return true;
         } else {
-            logger.log(Level.WARNING,"No {0} found with identity: {1} to remove", new Object[]{entityType, identity});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "No {0} found with identity: {1} to remove", new Object[]{entityType, identity});
+            }
             return false;
         }
     }
 
+    @Override
     public boolean contains(T item) {
-        return items.contains(item); // Uses equals() internally
+        if (item == null) {
+            return false;
+        }
+        return item.equals(items.get(identityExtractor.extractIdentity(item))); // Uses equals() internally
     }
 
+    @Override
     public boolean containsIdentity(String identity) {
-        return findByIdentity(identity).isPresent();
+        return identity != null && items.containsKey(identity);
     }
 
+    @Override
     public Optional<T> findByIdentity(String identity) {
         if (identity == null) {
             logger.log(Level.WARNING,"Attempted to find {0} with null identity", entityType);
             return Optional.empty();
         }
 
-        Optional<T> result = items.stream()
-                .filter(item -> identity.equals(identityExtractor.extractIdentity(item)))
-                .findFirst();
+        T item = items.get(identity);
 
-        if (result.isPresent()) {
-            logger.log(Level.INFO,"Found {0} with identity: {1}", new Object[]{entityType, identity});
+        if (item != null) {
+            lookupHitCount.increment();
         } else {
-            logger.log(Level.INFO,"No {0} found with identity: {1}", new Object[]{entityType, identity});
+            lookupMissCount.increment();
+        }
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, item != null ? "Found {0} with identity: {1}" : "No {0} found with identity: {1}",
+                    new Object[]{entityType, identity});
         }
 
-        return result;
+        return Optional.ofNullable(item);
     }
 
+    @Override
     public List<T> getAll() {
-        logger.log(Level.INFO,"Retrieved all {0} items. Count: {1}", new Object[]{entityType, items.size()} );
-        return new ArrayList<>(items);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Retrieved all {0} items. Count: {1}", new Object[]{entityType, items.size()});
+        }
+        return new ArrayList<>(items.values());
+    }
+
+    @Override
+    public Stream<T> stream() {
+        return items.values().stream();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        items.values().forEach(action);
+    }
+
+    // Read-only live view; unlike getAll() it does not copy, so do not modify the repository while iterating it
+    public Collection<T> view() {
+        return new AbstractCollection<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return Collections.unmodifiableCollection(items.values()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return items.size();
+            }
+        };
     }
 
+    @Override
     public int size() {
         return items.size();
     }
 
+    @Override
     public boolean isEmpty() {
         return items.isEmpty();
     }
 
+    @Override
     public void clear() {
         int sizeBefore = items.size();
         items.clear();
+        sortedViews.onClear();
+        for (RepositoryIndex<T> index : indexes.values()) {
+            index.onClear();
+        }
         logger.log(Level.INFO,"Cleared repository. Removed {0} {1} items", new Object[]{sizeBefore, entityType});
     }
 
+    /**
+     * Items in comparator order as an unmodifiable list, cached until the repository next
+     * changes. Repeated calls with the same comparator instance cost O(1), and the first k
+     * rows are {@code sortedView(comparator).subList(0, k)}. Ties keep insertion order.
+     */
+    public List<T> sortedView(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        return sortedViews.get(comparator, items.values());
+    }
+
+    // Mutable copy of a cached order, for the sortBy* methods that have always returned a new list
+    protected List<T> sortedCopy(Comparator<? super T> comparator) {
+        return new ArrayList<>(sortedView(comparator));
+    }
+
+    /**
+     * The first k items in comparator order, equal to {@code sortedView(comparator).subList(0, k)}.
+     * Small k on a large repository uses a bounded heap, O(N log k), instead of sorting
+     * everything; a cached order is used when there is one.
+     */
+    public List<T> topK(Comparator<? super T> comparator, int k) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (k < 0) {
+            throw new IllegalArgumentException("k cannot be negative: " + k);
+        }
+        return firstInOrder(comparator, k);
+    }
+
+    // Offset pagination in the same order as sortedView(comparator)
+    public Page<T> page(Comparator<? super T> comparator, int offset, int limit) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative: " + offset + ", " + limit);
+        }
+        int size = items.size();
+        int end = (int) Math.min((long) offset + limit, size);
+        if (offset >= end) {
+            return new Page<>(new ArrayList<>(), size, false);
+        }
+        List<T> first = firstInOrder(comparator, end);
+        return new Page<>(new ArrayList<>(first.subList(offset, end)), size, end < size);
+    }
+
+    /**
+     * Cursor pagination: the limit items that follow cursor in comparator order, or the first
+     * page when cursor is null. Ties are ordered by identity so a cursor is never ambiguous;
+     * the cursor item itself may have been removed since. Each page costs O(N log limit)
+     * however deep it is, unlike a growing offset.
+     */
+    public Page<T> pageAfter(Comparator<? super T> comparator, T cursor, int limit) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        Comparator<T> order = (first, second) -> {
+            int result = comparator.compare(first, second);
+            return result != 0 ? result : identityExtractor.extractIdentity(first)
+                    .compareTo(identityExtractor.extractIdentity(second));
+        };
+        Predicate<T> filter = cursor == null ? item -> true : item -> order.compare(item, cursor) > 0;
+
+        int[] matching = new int[1];
+        List<T> selected = selectFirst(items.values(), filter, order, limit, matching);
+        return new Page<>(selected, items.size(), matching[0] > selected.size());
+    }
+
+    private List<T> firstInOrder(Comparator<? super T> comparator, int k) {
+        int size = items.size();
+        List<T> cached = sortedViews.peek(comparator);
+        if (cached != null || (long) k * FULL_SORT_RATIO >= size) {
+            List<T> sorted = cached != null ? cached : sortedView(comparator);
+            return new ArrayList<>(sorted.subList(0, Math.min(k, size)));
+        }
+        return selectFirst(items.values(), item -> true, comparator, k, new int[1]);
+    }
+
+    // Bounded max-heap over one scan of source; the root is the worst item kept so far.
+    // Ties are broken by scan position so the result matches a stable sort of the matches
+    static <T> List<T> selectFirst(Iterable<? extends T> source, Predicate<? super T> filter,
+                                   Comparator<? super T> order, int k, int[] matching) {
+        Comparator<Ranked<T>> worstFirst = (first, second) -> {
+            int result = order.compare(second.item(), first.item());
+            return result != 0 ? result : Integer.compare(second.position(), first.position());
+        };
+        PriorityQueue<Ranked<T>> heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), worstFirst);
+        int position = 0;
+        for (T item : source) {
+            if (!filter.test(item)) {
+                position++;
+                continue;
+            }
+            matching[0]++;
+            if (heap.size() < k) {
+                heap.add(new Ranked<>(item, position));
+            } else if (k > 0 && order.compare(item, heap.peek().item()) < 0) {
+                heap.poll();
+                heap.add(new Ranked<>(item, position));
+            }
+            position++;
+        }
+        List<T> result = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            result.add(heap.poll().item());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private record Ranked<T>(T item, int position) {
+    }
+
+    int getSortedViewCountForTesting() {
+        return sortedViews.size();
+    }
+
+    @Override
     public List<T> sortByIdentity(String order) {
         if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
             logger.log(Level.WARNING, "Invalid sort order: {0}. Using 'asc' by default", order);
             order = "asc";
         }
 
-        List<T> sortedItems = new ArrayList<>(items);
+        // Sort the stored entries so identities are not recomputed on every comparison
+        List<Map.Entry<String, T>> entries = new ArrayList<>(items.entrySet());
 
-        Comparator<T> comparator = Comparator.comparing(identityExtractor::extractIdentity);
+        Comparator<Map.Entry<String, T>> comparator = Map.Entry.comparingByKey();
 
         if (order.equalsIgnoreCase("desc")) {
             comparator = comparator.reversed();
         }
 
-        sortedItems.sort(comparator);
+        entries.sort(comparator);
 
-        logger.log(Level.INFO, "Sorted {0} items by identity in {1} order",
-                new Object[]{entityType, order});
+        List<T> sortedItems = new ArrayList<>(entries.size());
+        for (Map.Entry<String, T> entry : entries) {
+            sortedItems.add(entry.getValue());
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Sorted {0} items by identity in {1} order", new Object[]{entityType, order});
+        }
 
         return sortedItems;
     }
 
 
+    private void notifyAdded(String identity, T item) {
+        sortedViews.onAdd(identity, item);
+        for (RepositoryIndex<T> index : indexes.values()) {
+            index.onAdd(identity, item);
+        }
+    }
+
+    private void notifyRemoved(String identity, T item) {
+        sortedViews.onRemove(identity, item);
+        for (RepositoryIndex<T> index : indexes.values()) {
+            index.onRemove(identity, item);
+        }
+    }
+
     List<T> getItemsForTesting() {
-        return items;
+        return new ArrayList<>(items.values());
     }
 }
\ No newline at end of file
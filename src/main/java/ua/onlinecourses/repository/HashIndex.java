@@ -0,0 +1,25 @@
+package ua.onlinecourses.repository;
+
+import java.util.HashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Equality index: answers "all items whose key equals X" in O(1 + k).
+ */
+public class HashIndex<K, T> extends AbstractKeyIndex<K, T> {
+
+    public HashIndex(Function<? super T, ? extends K> keyExtractor) {
+        super(new HashMap<>(), keyExtractor);
+    }
+
+    public HashIndex(Class<K> keyType, Function<? super T, ? extends K> keyExtractor) {
+        this(keyType, keyExtractor, UnaryOperator.identity());
+    }
+
+    // Keys are stored and looked up through keyNormalizer, e.g. String::toLowerCase
+    public HashIndex(Class<K> keyType, Function<? super T, ? extends K> keyExtractor,
+                     UnaryOperator<K> keyNormalizer) {
+        super(new HashMap<>(), keyType, keyExtractor, keyNormalizer);
+    }
+}
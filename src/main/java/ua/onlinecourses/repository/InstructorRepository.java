@@ -12,67 +12,90 @@ import java.util.stream.Collectors;
 public class InstructorRepository extends GenericRepository<Instructor> {
     private static final Logger logger = Logger.getLogger(InstructorRepository.class.getName());
 
+    // Constant instances so repeated sorts hit the sorted-view cache
+    private static final Comparator<Instructor> BY_LAST_NAME_LENGTH = (i1, i2) -> {
+        int lengthCompare = Integer.compare(i1.lastName().length(), i2.lastName().length());
+        if (lengthCompare != 0) {
+            return lengthCompare;
+        }
+        return i1.lastName().compareTo(i2.lastName());
+    };
+    private static final Comparator<Instructor> BY_EXPERTISE_AND_NAME =
+            Comparator.comparingInt(Instructor::expertise).reversed()
+                    .thenComparing(Instructor::lastName)
+                    .thenComparing(Instructor::firstName);
+
+    private final HashIndex<String, Instructor> lastNameIndex;
+    private final SortedIndex<Integer, Instructor> expertiseIndex;
+    private final StatisticsIndex<Instructor> expertiseStatistics;
+    private final LazyIndex<Instructor, NGramIndex<Instructor>> firstNameTextIndex;
+
     public InstructorRepository() {
         super(Instructor::getFullName, "Instructor");
+        this.lastNameIndex = registerIndex("lastName",
+                new HashIndex<>(String.class, Instructor::lastName, String::toLowerCase));
+        this.expertiseIndex = registerIndex("expertise", new SortedIndex<>(Integer.class, Instructor::expertise));
+        this.expertiseStatistics = registerIndex("expertiseStatistics",
+                new StatisticsIndex<>(Instructor::expertise));
+        // Text and column indexes are built on first use, see LazyIndex
+        this.firstNameTextIndex = new LazyIndex<>(this, "firstNameText", () -> new NGramIndex<>(Instructor::firstName));
     }
 
     public List<Instructor> sortByExpertise() {
-        List<Instructor> allInstructors = getAll();
-        allInstructors.sort(Instructor.BY_EXPERTISE);
-        logger.log(Level.INFO, "Sorted Instructor by expertise level (descending)");
+        List<Instructor> allInstructors = sortedCopy(Instructor.BY_EXPERTISE);
+        logger.log(Level.FINE, "Sorted Instructor by expertise level (descending)");
         return allInstructors;
     }
 
     public List<Instructor> sortByLastName() {
-        List<Instructor> allInstructors = getAll();
-        allInstructors.sort(Instructor.BY_LAST_NAME);
-        logger.log(Level.INFO, "Sorted Instructor by lastName and firstName");
+        List<Instructor> allInstructors = sortedCopy(Instructor.BY_LAST_NAME);
+        logger.log(Level.FINE, "Sorted Instructor by lastName and firstName");
         return allInstructors;
     }
 
     public List<Instructor> sortByFirstName() {
-        List<Instructor> allInstructors = getAll();
-        allInstructors.sort(Instructor.BY_FIRST_NAME);
-        logger.log(Level.INFO, "Sorted Instructor by firstName and lastName");
+        List<Instructor> allInstructors = sortedCopy(Instructor.BY_FIRST_NAME);
+        logger.log(Level.FINE, "Sorted Instructor by firstName and lastName");
         return allInstructors;
     }
 
     public List<Instructor> sortByLastNameLength() {
-        List<Instructor> allInstructors = getAll();
-        allInstructors.sort((i1, i2) -> {
-            int lengthCompare = Integer.compare(i1.lastName().length(), i2.lastName().length());
-            if (lengthCompare != 0) {
-                return lengthCompare;
-            }
-            return i1.lastName().compareTo(i2.lastName());
-        });
-        logger.log(Level.INFO, "Sorted Instructor by lastName length using lambda");
+        List<Instructor> allInstructors = sortedCopy(BY_LAST_NAME_LENGTH);
+        logger.log(Level.FINE, "Sorted Instructor by lastName length using lambda");
         return allInstructors;
     }
 
     public List<Instructor> sortByExpertiseAndName() {
-        List<Instructor> allInstructors = getAll();
-        allInstructors.sort(
-                Comparator.comparingInt(Instructor::expertise).reversed()
-                        .thenComparing(Instructor::lastName)
-                        .thenComparing(Instructor::firstName)
-        );
-        logger.log(Level.INFO, "Sorted Instructor by expertise (desc) and name");
+        List<Instructor> allInstructors = sortedCopy(BY_EXPERTISE_AND_NAME);
+        logger.log(Level.FINE, "Sorted Instructor by expertise (desc) and name");
         return allInstructors;
     }
 
+    // The k most experienced instructors, without sorting the whole repository
+    public List<Instructor> findTopByExpertise(int k) {
+        if (k < 0) {
+            logger.log(Level.WARNING, "Invalid limit: {0}", k);
+            return List.of();
+        }
+
+        List<Instructor> results = topK(Instructor.BY_EXPERTISE, k);
+
+        logger.log(Level.FINE, "Found top {0} instructors by expertise", results.size());
+        return results;
+    }
+
     public List<Instructor> findByLastName(String lastName) {
         if (lastName == null || lastName.trim().isEmpty()) {
             logger.log(Level.WARNING, "Attempted to search with null or empty lastName");
             return List.of();
         }
 
-        List<Instructor> results = getAll().stream()
-                .filter(instructor -> instructor.lastName().equalsIgnoreCase(lastName.trim()))
-                .collect(Collectors.toList());
+        List<Instructor> results = lastNameIndex.get(lastName.trim());
 
-        logger.log(Level.INFO, "Found {0} instructors with lastName ''{1}''",
-                new Object[]{results.size(), lastName});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} instructors with lastName ''{1}''",
+                    new Object[]{results.size(), lastName});
+        }
         return results;
     }
 
@@ -83,23 +106,23 @@ public class InstructorRepository extends GenericRepository<Instructor> {
             return List.of();
         }
 
-        List<Instructor> results = getAll().stream()
-                .filter(instructor -> instructor.expertise() >= minExpertise &&
-                        instructor.expertise() <= maxExpertise)
-                .collect(Collectors.toList());
+        List<Instructor> results = expertiseIndex.inInsertionOrder(
+                expertiseIndex.range(minExpertise, true, maxExpertise, true));
 
-        logger.log(Level.INFO, "Found {0} instructors with expertise between {1} and {2}",
-                new Object[]{results.size(), minExpertise, maxExpertise});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} instructors with expertise between {1} and {2}",
+                    new Object[]{results.size(), minExpertise, maxExpertise});
+        }
         return results;
     }
 
     public List<Instructor> findByMinExpertise(int minExpertise) {
-        List<Instructor> results = getAll().stream()
-                .filter(instructor -> instructor.expertise() >= minExpertise)
-                .collect(Collectors.toList());
+        List<Instructor> results = expertiseIndex.inInsertionOrder(expertiseIndex.greaterThan(minExpertise, true));
 
-        logger.log(Level.INFO, "Found {0} instructors with expertise >= {1}",
-                new Object[]{results.size(), minExpertise});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} instructors with expertise >= {1}",
+                    new Object[]{results.size(), minExpertise});
+        }
         return results;
     }
 
@@ -109,110 +132,105 @@ public class InstructorRepository extends GenericRepository<Instructor> {
             return List.of();
         }
 
-        String searchTerm = partialName.trim().toLowerCase();
-        List<Instructor> results = getAll().stream()
-                .filter(instructor -> instructor.firstName().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<Instructor> results = firstNameTextIndex.get().containing(partialName.trim());
 
-        logger.log(Level.INFO, "Found {0} instructors with firstName containing ''{1}''",
-                new Object[]{results.size(), partialName});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} instructors with firstName containing ''{1}''",
+                    new Object[]{results.size(), partialName});
+        }
         return results;
     }
 
     public Map<String, List<Instructor>> groupByLastName() {
-        Map<String, List<Instructor>> grouped = getAll().stream()
+        Map<String, List<Instructor>> grouped = stream()
                 .collect(Collectors.groupingBy(Instructor::lastName));
 
-        logger.log(Level.INFO, "Grouped instructors by lastName: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped instructors by lastName: {0} groups", grouped.size());
         return grouped;
     }
 
     public int getTotalExpertise() {
-        int total = getAll().stream()
-                .map(Instructor::expertise)
-                .reduce(0, Integer::sum);
+        int total = (int) expertiseStatistics.getSum();
 
-        logger.log(Level.INFO, "Total expertise across all instructors: {0}", total);
+        logger.log(Level.FINE, "Total expertise across all instructors: {0}", total);
         return total;
     }
 
     public double getAverageExpertise() {
-        double average = getAll().stream()
-                .mapToInt(Instructor::expertise)
-                .average()
-                .orElse(0.0);
+        double average = expertiseStatistics.getAverage();
 
-        logger.log(Level.INFO, "Average expertise: {0}", average);
+        logger.log(Level.FINE, "Average expertise: {0}", average);
         return average;
     }
 
     public Optional<Instructor> getInstructorWithMaxExpertise() {
-        Optional<Instructor> result = getAll().stream()
-                .max(Comparator.comparingInt(Instructor::expertise));
+        Optional<Instructor> result = expertiseIndex.maxKey()
+                .flatMap(expertiseIndex::findFirst);
 
         if (result.isPresent()) {
-            logger.log(Level.INFO, "Instructor with max expertise: {0} {1} ({2})",
-                    new Object[]{result.get().firstName(), result.get().lastName(),
-                            result.get().expertise()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Instructor with max expertise: {0} {1} ({2})",
+                        new Object[]{result.get().firstName(), result.get().lastName(),
+                                result.get().expertise()});
+            }
         } else {
-            logger.log(Level.INFO, "No instructors found");
+            logger.log(Level.FINE, "No instructors found");
         }
 
         return result;
     }
 
     public List<Instructor> getAllInstructorsWithMaxExpertise() {
-        List<Instructor> allInstructors = getAll();
-        if (allInstructors.isEmpty()) {
-            logger.log(Level.INFO, "No instructors found");
+        Optional<Integer> max = expertiseIndex.maxKey();
+        if (max.isEmpty()) {
+            logger.log(Level.FINE, "No instructors found");
             return List.of();
         }
 
-        int maxExpertise = allInstructors.stream()
-                .mapToInt(Instructor::expertise)
-                .max()
-                .orElse(0);
-
-        List<Instructor> results = allInstructors.stream()
-                .filter(instructor -> instructor.expertise() == maxExpertise)
-                .collect(Collectors.toList());
+        int maxExpertise = max.get();
+        List<Instructor> results = expertiseIndex.get(maxExpertise);
 
-        logger.log(Level.INFO, "Found {0} instructor(s) with max expertise: {1}",
-                new Object[]{results.size(), maxExpertise});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} instructor(s) with max expertise: {1}",
+                    new Object[]{results.size(), maxExpertise});
+        }
         return results;
     }
 
     public List<String> getAllFullNames() {
-        List<String> fullNames = getAll().stream()
+        List<String> fullNames = stream()
                 .map(instructor -> instructor.firstName() + " " + instructor.lastName())
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} instructor full names", fullNames.size());
+        logger.log(Level.FINE, "Retrieved {0} instructor full names", fullNames.size());
         return fullNames;
     }
 
     public boolean hasInstructorWithExpertise(int expertise) {
-        boolean exists = getAll().stream()
-                .anyMatch(instructor -> instructor.expertise() == expertise);
+        boolean exists = expertiseIndex.containsKey(expertise);
 
-        logger.log(Level.INFO, "Instructors with expertise {0} exist: {1}",
-                new Object[]{expertise, exists});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Instructors with expertise {0} exist: {1}",
+                    new Object[]{expertise, exists});
+        }
         return exists;
     }
 
     public boolean allInstructorsHaveMinExpertise(int minExpertise) {
-        boolean result = getAll().stream()
-                .allMatch(instructor -> instructor.expertise() >= minExpertise);
+        boolean result = expertiseIndex.minKey()
+                .map(lowest -> lowest >= minExpertise)
+                .orElse(true);
 
-        logger.log(Level.INFO, "All instructors have >= {0} expertise: {1}",
-                new Object[]{minExpertise, result});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "All instructors have >= {0} expertise: {1}",
+                    new Object[]{minExpertise, result});
+        }
         return result;
     }
 
     public void printAllInstructors() {
         logger.log(Level.INFO, "Printing all instructors:");
-        getAll().stream()
-                .forEach(instructor -> System.out.println(instructor.firstName() + " " +
+        forEach(instructor -> System.out.println(instructor.firstName() + " " +
                         instructor.lastName() + " - expertise: " +
                         instructor.expertise()));
     }
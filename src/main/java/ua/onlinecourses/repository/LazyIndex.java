@@ -0,0 +1,40 @@
+package ua.onlinecourses.repository;
+
+import java.util.function.Supplier;
+
+/**
+ * An index that is registered on its repository the first time it is read. Until then adds
+ * and removes do not maintain it and it takes no memory, so costly indexes such as
+ * {@link NGramIndex} and {@link ColumnIndex} are only paid for by repositories whose callers
+ * use the finders built on them. Registration replays the items already stored, once.
+ *
+ * <p>Registration locks the repository, so concurrent readers of a repository nobody is
+ * writing build the index at most once.</p>
+ */
+final class LazyIndex<T, I extends RepositoryIndex<T>> {
+
+    private final GenericRepository<T> repository;
+    private final String name;
+    private final Supplier<I> factory;
+    private volatile I index;
+
+    LazyIndex(GenericRepository<T> repository, String name, Supplier<I> factory) {
+        this.repository = repository;
+        this.name = name;
+        this.factory = factory;
+    }
+
+    I get() {
+        I current = index;
+        if (current == null) {
+            synchronized (repository) {
+                current = index;
+                if (current == null) {
+                    current = repository.registerIndex(name, factory.get());
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+}
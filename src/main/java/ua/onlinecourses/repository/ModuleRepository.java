@@ -12,55 +12,71 @@ import java.util.stream.Collectors;
 public class ModuleRepository extends GenericRepository<myModule> {
     private static final Logger logger = Logger.getLogger(ModuleRepository.class.getName());
 
+    // Constant instances so repeated sorts hit the sorted-view cache
+    private static final Comparator<myModule> BY_TITLE_LENGTH = (m1, m2) -> {
+        int lengthCompare = Integer.compare(m1.title().length(), m2.title().length());
+        return lengthCompare != 0 ? lengthCompare : m1.title().compareTo(m2.title());
+    };
+    private static final Comparator<myModule> BY_TOTAL_LENGTH =
+            Comparator.comparingInt((myModule m) -> m.title().length() + m.content().length())
+                    .thenComparing(myModule::title);
+    private static final Comparator<myModule> NATURAL_ORDER = Comparator.naturalOrder();
+
+    private final HashIndex<String, myModule> titleIndex;
+    private final SortedIndex<Integer, myModule> titleLengthIndex;
+    private final SortedIndex<Integer, myModule> contentLengthIndex;
+    private final StatisticsIndex<myModule> contentLengthStatistics;
+    private final LazyIndex<myModule, NGramIndex<myModule>> titleTextIndex;
+    private final LazyIndex<myModule, NGramIndex<myModule>> contentTextIndex;
+
     public ModuleRepository() {
         super(myModule::getFullName, "Module");
+        this.titleIndex = registerIndex("title",
+                new HashIndex<>(String.class, myModule::title, String::toLowerCase));
+        this.titleLengthIndex = registerIndex("titleLength",
+                new SortedIndex<>(Integer.class, module -> module.title().length()));
+        this.contentLengthIndex = registerIndex("contentLength",
+                new SortedIndex<>(Integer.class, module -> module.content().length()));
+        this.contentLengthStatistics = registerIndex("contentLengthStatistics",
+                new StatisticsIndex<>(module -> module.content().length()));
+        // Text and column indexes are built on first use, see LazyIndex
+        this.titleTextIndex = new LazyIndex<>(this, "titleText", () -> new NGramIndex<>(myModule::title));
+        this.contentTextIndex = new LazyIndex<>(this, "contentText", () -> new NGramIndex<>(myModule::content));
     }
 
     public List<myModule> sortByTitle() {
-        List<myModule> allModules = getAll();
-        allModules.sort(myModule.BY_TITLE);
-        logger.log(Level.INFO, "Sorted Module by title");
+        List<myModule> allModules = sortedCopy(myModule.BY_TITLE);
+        logger.log(Level.FINE, "Sorted Module by title");
         return allModules;
     }
 
     public List<myModule> sortByContent() {
-        List<myModule> allModules = getAll();
-        allModules.sort(myModule.BY_CONTENT);
-        logger.log(Level.INFO, "Sorted Module by content");
+        List<myModule> allModules = sortedCopy(myModule.BY_CONTENT);
+        logger.log(Level.FINE, "Sorted Module by content");
         return allModules;
     }
 
     public List<myModule> sortByContentLength() {
-        List<myModule> allModules = getAll();
-        allModules.sort(myModule.BY_CONTENT_LENGTH);
-        logger.log(Level.INFO, "Sorted Module by content length");
+        List<myModule> allModules = sortedCopy(myModule.BY_CONTENT_LENGTH);
+        logger.log(Level.FINE, "Sorted Module by content length");
         return allModules;
     }
 
     public List<myModule> sortByTitleLength() {
-        List<myModule> allModules = getAll();
-        allModules.sort((m1, m2) -> {
-            int lengthCompare = Integer.compare(m1.title().length(), m2.title().length());
-            return lengthCompare != 0 ? lengthCompare : m1.title().compareTo(m2.title());
-        });
-        logger.log(Level.INFO, "Sorted Module by title length using lambda");
+        List<myModule> allModules = sortedCopy(BY_TITLE_LENGTH);
+        logger.log(Level.FINE, "Sorted Module by title length using lambda");
         return allModules;
     }
 
     public List<myModule> sortByTotalLength() {
-        List<myModule> allModules = getAll();
-        allModules.sort(
-                Comparator.comparingInt((myModule m) -> m.title().length() + m.content().length())
-                        .thenComparing(myModule::title)
-        );
-        logger.log(Level.INFO, "Sorted Module by total length (title + content)");
+        List<myModule> allModules = sortedCopy(BY_TOTAL_LENGTH);
+        logger.log(Level.FINE, "Sorted Module by total length (title + content)");
         return allModules;
     }
 
     public List<myModule> sortNaturally() {
-        List<myModule> allModules = getAll();
-        allModules.sort(null);
-        logger.log(Level.INFO, "Sorted Module using natural order (Comparable)");
+        List<myModule> allModules = sortedCopy(NATURAL_ORDER);
+        logger.log(Level.FINE, "Sorted Module using natural order (Comparable)");
         return allModules;
     }
 
@@ -70,13 +86,12 @@ public class ModuleRepository extends GenericRepository<myModule> {
             return List.of();
         }
 
-        String searchTerm = partialTitle.trim().toLowerCase();
-        List<myModule> results = getAll().stream()
-                .filter(module -> module.title().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<myModule> results = titleTextIndex.get().containing(partialTitle.trim());
 
-        logger.log(Level.INFO, "Found {0} modules with title containing ''{1}''",
-                new Object[]{results.size(), partialTitle});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} modules with title containing ''{1}''",
+                    new Object[]{results.size(), partialTitle});
+        }
         return results;
     }
 
@@ -86,13 +101,12 @@ public class ModuleRepository extends GenericRepository<myModule> {
             return List.of();
         }
 
-        String searchTerm = keyword.trim().toLowerCase();
-        List<myModule> results = getAll().stream()
-                .filter(module -> module.content().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<myModule> results = contentTextIndex.get().containing(keyword.trim());
 
-        logger.log(Level.INFO, "Found {0} modules with content containing ''{1}''",
-                new Object[]{results.size(), keyword});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} modules with content containing ''{1}''",
+                    new Object[]{results.size(), keyword});
+        }
         return results;
     }
 
@@ -103,13 +117,13 @@ public class ModuleRepository extends GenericRepository<myModule> {
             return List.of();
         }
 
-        List<myModule> results = getAll().stream()
-                .filter(module -> module.title().length() >= minLength &&
-                        module.title().length() <= maxLength)
-                .collect(Collectors.toList());
+        List<myModule> results = titleLengthIndex.inInsertionOrder(
+                titleLengthIndex.range(minLength, true, maxLength, true));
 
-        logger.log(Level.INFO, "Found {0} modules with title length between {1} and {2}",
-                new Object[]{results.size(), minLength, maxLength});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} modules with title length between {1} and {2}",
+                    new Object[]{results.size(), minLength, maxLength});
+        }
         return results;
     }
 
@@ -120,73 +134,70 @@ public class ModuleRepository extends GenericRepository<myModule> {
             return List.of();
         }
 
-        List<myModule> results = getAll().stream()
-                .filter(module -> module.content().length() >= minLength &&
-                        module.content().length() <= maxLength)
-                .collect(Collectors.toList());
+        List<myModule> results = contentLengthIndex.inInsertionOrder(
+                contentLengthIndex.range(minLength, true, maxLength, true));
 
-        logger.log(Level.INFO, "Found {0} modules with content length between {1} and {2}",
-                new Object[]{results.size(), minLength, maxLength});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} modules with content length between {1} and {2}",
+                    new Object[]{results.size(), minLength, maxLength});
+        }
         return results;
     }
 
     public Map<Integer, List<myModule>> groupByTitleLength() {
-        Map<Integer, List<myModule>> grouped = getAll().stream()
+        Map<Integer, List<myModule>> grouped = stream()
                 .collect(Collectors.groupingBy(module -> module.title().length()));
 
-        logger.log(Level.INFO, "Grouped modules by title length: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped modules by title length: {0} groups", grouped.size());
         return grouped;
     }
 
     public int getTotalContentLength() {
-        int total = getAll().stream()
-                .map(module -> module.content().length())
-                .reduce(0, Integer::sum);
+        int total = (int) contentLengthStatistics.getSum();
 
-        logger.log(Level.INFO, "Total content length across all modules: {0}", total);
+        logger.log(Level.FINE, "Total content length across all modules: {0}", total);
         return total;
     }
 
     public double getAverageContentLength() {
-        double average = getAll().stream()
-                .mapToInt(module -> module.content().length())
-                .average()
-                .orElse(0.0);
+        double average = contentLengthStatistics.getAverage();
 
-        logger.log(Level.INFO, "Average content length: {0}", average);
+        logger.log(Level.FINE, "Average content length: {0}", average);
         return average;
     }
 
     public Optional<myModule> getModuleWithLongestContent() {
-        Optional<myModule> result = getAll().stream()
-                .max(Comparator.comparingInt(module -> module.content().length()));
+        Optional<myModule> result = contentLengthIndex.maxKey()
+                .flatMap(contentLengthIndex::findFirst);
 
         if (result.isPresent()) {
-            logger.log(Level.INFO, "Module with longest content: {0} ({1} chars)",
-                    new Object[]{result.get().title(), result.get().content().length()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Module with longest content: {0} ({1} chars)",
+                        new Object[]{result.get().title(), result.get().content().length()});
+            }
         } else {
-            logger.log(Level.INFO, "No modules found");
+            logger.log(Level.FINE, "No modules found");
         }
 
         return result;
     }
 
     public List<String> getAllTitles() {
-        List<String> titles = getAll().stream()
+        List<String> titles = stream()
                 .map(myModule::title)
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} module titles", titles.size());
+        logger.log(Level.FINE, "Retrieved {0} module titles", titles.size());
         return titles;
     }
 
     public List<String> getAllTitlesUpperCase() {
-        List<String> titles = getAll().stream()
+        List<String> titles = stream()
                 .map(myModule::title)
                 .map(String::toUpperCase)
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} module titles in uppercase", titles.size());
+        logger.log(Level.FINE, "Retrieved {0} module titles in uppercase", titles.size());
         return titles;
     }
 
@@ -196,27 +207,30 @@ public class ModuleRepository extends GenericRepository<myModule> {
             return false;
         }
 
-        boolean exists = getAll().stream()
-                .anyMatch(module -> module.title().equalsIgnoreCase(title.trim()));
+        boolean exists = titleIndex.containsKey(title.trim());
 
-        logger.log(Level.INFO, "Module with title ''{0}'' exists: {1}",
-                new Object[]{title, exists});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Module with title ''{0}'' exists: {1}",
+                    new Object[]{title, exists});
+        }
         return exists;
     }
 
     public boolean allModulesHaveMinContentLength(int minLength) {
-        boolean result = getAll().stream()
-                .allMatch(module -> module.content().length() >= minLength);
+        boolean result = contentLengthIndex.minKey()
+                .map(shortest -> shortest >= minLength)
+                .orElse(true);
 
-        logger.log(Level.INFO, "All modules have content length >= {0}: {1}",
-                new Object[]{minLength, result});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "All modules have content length >= {0}: {1}",
+                    new Object[]{minLength, result});
+        }
         return result;
     }
 
     public void printAllModules() {
         logger.log(Level.INFO, "Printing all modules:");
-        getAll().stream()
-                .forEach(module -> System.out.println(module.title() + " - " +
+        forEach(module -> System.out.println(module.title() + " - " +
                         module.content()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive substring index over one text field. Each item's text is lowercased once
+ * on add and split into overlapping three-character grams; each gram maps to the ids of the
+ * items containing it. {@link #containing} reads the shortest posting list among the query's
+ * grams and confirms each candidate with {@code contains} on the cached lowercase text, so
+ * results are exactly those of {@code text.toLowerCase().contains(term.toLowerCase())}, in
+ * insertion order. Queries shorter than a gram scan the cached texts instead.
+ *
+ * <p>Ids grow with every add and posting lists are plain int arrays, so a posting costs
+ * four bytes and stays sorted by insertion. Removals only free the item's slot; the lists
+ * are rebuilt once removed slots outnumber live ones.</p>
+ */
+public class NGramIndex<T> implements RepositoryIndex<T> {
+
+    static final int GRAM_LENGTH = 3;
+    private static final int MIN_COMPACT_SIZE = 1024;
+
+    private final Function<? super T, String> textExtractor;
+    private final Map<T, Integer> ids = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private Object[] items = new Object[16];
+    private String[] texts = new String[16];
+    private int nextId;
+    private int removedCount;
+
+    public NGramIndex(Function<? super T, String> textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        String text = textExtractor.apply(item);
+        if (text == null || ids.containsKey(item)) {
+            return;
+        }
+        if (nextId == items.length) {
+            items = Arrays.copyOf(items, nextId * 2);
+            texts = Arrays.copyOf(texts, nextId * 2);
+        }
+        int id = nextId++;
+        String lowercase = text.toLowerCase();
+        items[id] = item;
+        texts[id] = lowercase;
+        ids.put(item, id);
+        for (int i = 0; i + GRAM_LENGTH <= lowercase.length(); i++) {
+            postings.computeIfAbsent(gram(lowercase, i), key -> new Postings()).addOnce(id);
+        }
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        Integer id = ids.remove(item);
+        if (id == null) {
+            return;
+        }
+        items[id] = null;
+        texts[id] = null;
+        removedCount++;
+        if (removedCount >= MIN_COMPACT_SIZE && removedCount > ids.size()) {
+            compact();
+        }
+    }
+
+    @Override
+    public void onClear() {
+        ids.clear();
+        postings.clear();
+        items = new Object[16];
+        texts = new String[16];
+        nextId = 0;
+        removedCount = 0;
+    }
+
+    // Items whose text contains term, ignoring case, in insertion order
+    public List<T> containing(String term) {
+        List<T> results = new ArrayList<>();
+        if (term == null) {
+            return results;
+        }
+        String lowercase = term.toLowerCase();
+        if (lowercase.length() < GRAM_LENGTH) {
+            for (int id = 0; id < nextId; id++) {
+                if (texts[id] != null && texts[id].contains(lowercase)) {
+                    results.add(item(id));
+                }
+            }
+            return results;
+        }
+
+        Postings shortest = null;
+        for (int i = 0; i + GRAM_LENGTH <= lowercase.length(); i++) {
+            Postings candidates = postings.get(gram(lowercase, i));
+            if (candidates == null) {
+                return results;
+            }
+            if (shortest == null || candidates.size < shortest.size) {
+                shortest = candidates;
+            }
+        }
+        for (int i = 0; i < shortest.size; i++) {
+            int id = shortest.ids[i];
+            if (texts[id] != null && texts[id].contains(lowercase)) {
+                results.add(item(id));
+            }
+        }
+        return results;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T item(int id) {
+        return (T) items[id];
+    }
+
+    // Re-adds the live items in their original order, dropping removed slots from every list
+    private void compact() {
+        Object[] liveItems = items;
+        int liveEnd = nextId;
+        onClear();
+        for (int id = 0; id < liveEnd; id++) {
+            if (liveItems[id] != null) {
+                @SuppressWarnings("unchecked")
+                T item = (T) liveItems[id];
+                onAdd(null, item);
+            }
+        }
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    // Growable sorted int list; ids arrive in increasing order
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void addOnce(int id) {
+            if (size > 0 && ids[size - 1] == id) {
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,591 @@
+package ua.onlinecourses.repository;
+
+import ua.onlinecourses.serializer.EntityCodec;
+import ua.onlinecourses.serializer.EntityCodecs;
+import ua.onlinecourses.util.Diagnostics;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * {@link Repository} that keeps its entities outside the Java heap. Each entity is encoded
+ * with an {@link EntityCodec} and appended to direct {@link ByteBuffer} slabs, preceded by
+ * its identity's UTF-8 bytes. The heap holds only primitive arrays: the record location
+ * and identity hash of every slot, in insertion order, and an open-addressing table from
+ * identity hash to slot. That is about 20 bytes per entity however large the entity is,
+ * and none of it is an object the garbage collector has to trace.
+ *
+ * <p>Lookups compare identity bytes in place and decode only the record they return.
+ * {@link #getAll()}, {@link #stream()} and the other reads decode on demand, so each
+ * returned entity is a fresh object that the caller owns. Removal leaves the record's
+ * bytes behind; the slabs are rewritten once dead bytes outnumber live ones. Slabs are
+ * freed with the repository, and their total is bounded by -XX:MaxDirectMemorySize.</p>
+ *
+ * <p>Not thread-safe, like {@link GenericRepository}. Secondary indexes are not supported:
+ * they would hold the entities on the heap again.</p>
+ */
+public class OffHeapRepository<T> implements Repository<T> {
+    private static final Logger logger = Logger.getLogger(OffHeapRepository.class.getName());
+
+    static final int DEFAULT_SLAB_SIZE = 4 << 20;
+    private static final int INITIAL_SLOTS = 16;
+    private static final long REMOVED = -1L;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+
+    private final EntityCodec<T> codec;
+    private final IdentityExtractor<T> identityExtractor;
+    private final String entityType;
+    private final int slabSize;
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    // Slot -> slab index << 32 | offset of the record, or REMOVED; slots follow insertion order
+    private long[] locations = new long[INITIAL_SLOTS];
+    private int[] hashes = new int[INITIAL_SLOTS];
+    // Identity hash -> slot + 1, linear probing; EMPTY ends a probe, DELETED does not
+    private int[] table = new int[INITIAL_SLOTS * 2];
+    private int tableUsed;
+    private int nextSlot;
+    private int size;
+    private long liveBytes;
+    private long deadBytes;
+    private ByteBuffer scratch = ByteBuffer.allocate(1024);
+
+    // Shared with GenericRepository instances of the same entity type, see Diagnostics
+    private final LongAdder addedCount;
+    private final LongAdder rejectedCount;
+    private final LongAdder removedCount;
+    private final LongAdder lookupHitCount;
+    private final LongAdder lookupMissCount;
+
+    public OffHeapRepository(EntityCodec<T> codec, IdentityExtractor<T> identityExtractor, String entityType) {
+        this(codec, identityExtractor, entityType, DEFAULT_SLAB_SIZE);
+    }
+
+    public OffHeapRepository(EntityCodec<T> codec, IdentityExtractor<T> identityExtractor, String entityType,
+                             int slabSize) {
+        if (codec == null || identityExtractor == null) {
+            throw new IllegalArgumentException("Codec and identity extractor cannot be null");
+        }
+        if (slabSize < 64) {
+            throw new IllegalArgumentException("Slab size must be at least 64 bytes: " + slabSize);
+        }
+        this.codec = codec;
+        this.identityExtractor = identityExtractor;
+        this.entityType = entityType;
+        this.slabSize = slabSize;
+        this.addedCount = Diagnostics.counter(entityType + ".repository.added");
+        this.rejectedCount = Diagnostics.counter(entityType + ".repository.rejected");
+        this.removedCount = Diagnostics.counter(entityType + ".repository.removed");
+        this.lookupHitCount = Diagnostics.counter(entityType + ".repository.lookupHit");
+        this.lookupMissCount = Diagnostics.counter(entityType + ".repository.lookupMiss");
+        logger.log(Level.INFO, "Created off-heap repository for {0} with {1}-byte slabs",
+                new Object[]{entityType, slabSize});
+    }
+
+    @Override
+    public boolean add(T item) {
+        if (item == null) {
+            logger.log(Level.WARNING, "Attempted to add null {0}", entityType);
+            return false;
+        }
+
+        String identity = identityExtractor.extractIdentity(item);
+        if (findSlot(identity) >= 0) {
+            rejectedCount.increment();
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Cannot add {0} - already exists with identity: {1}", new Object[]{entityType, identity});
+            }
+            return false;
+        }
+
+        append(identity, item);
+        addedCount.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Added {0}: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+    @Override
+    public BatchResult<T> addAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> accepted = uniqueByIdentity(batch, rejected, true);
+        ensureCapacity(size + accepted.size());
+        accepted.forEach(this::append);
+
+        return finishBatch("Added", batch.size(), accepted.size(), rejected, addedCount);
+    }
+
+    @Override
+    public BatchResult<T> removeAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<Integer> matched = new ArrayList<>();
+        for (T item : batch) {
+            if (item == null) {
+                rejected.add(null);
+                continue;
+            }
+            String identity = identityExtractor.extractIdentity(item);
+            int slot = findSlot(identity);
+            if (slot < 0 || !item.equals(decode(slot)) || !seen.add(identity)) {
+                rejected.add(item);
+            } else {
+                matched.add(slot);
+            }
+        }
+
+        for (int slot : matched) {
+            removeSlot(slot);
+        }
+        compactIfSparse();
+
+        return finishBatch("Removed", batch.size(), matched.size(), rejected, removedCount);
+    }
+
+    @Override
+    public BatchResult<T> replaceAll(Collection<? extends T> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("Batch cannot be null");
+        }
+
+        List<T> rejected = new ArrayList<>();
+        Map<String, T> accepted = uniqueByIdentity(batch, rejected, false);
+
+        resetStorage();
+        ensureCapacity(accepted.size());
+        accepted.forEach(this::append);
+
+        return finishBatch("Replaced content with", batch.size(), accepted.size(), rejected, addedCount);
+    }
+
+    // Validation pass shared by addAll and replaceAll: computes every identity before storage changes
+    private Map<String, T> uniqueByIdentity(Collection<? extends T> batch, List<T> rejected, boolean rejectStored) {
+        Map<String, T> accepted = new LinkedHashMap<>();
+        for (T item : batch) {
+            if (item == null) {
+                rejected.add(null);
+                continue;
+            }
+            String identity = identityExtractor.extractIdentity(item);
+            if ((rejectStored && findSlot(identity) >= 0) || accepted.putIfAbsent(identity, item) != null) {
+                rejected.add(item);
+            }
+        }
+        return accepted;
+    }
+
+    private BatchResult<T> finishBatch(String action, int requested, int applied, List<T> rejected,
+                                       LongAdder appliedCounter) {
+        appliedCounter.add(applied);
+        rejectedCount.add(rejected.size());
+        logger.log(Level.INFO, "{0} {1} {2} items in one batch of {3}; {4} rejected",
+                new Object[]{action, applied, entityType, requested, rejected.size()});
+        return new BatchResult<>(requested, applied, rejected);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        if (item == null) {
+            logger.log(Level.WARNING, "Attempted to remove null {0}", entityType);
+            return false;
+        }
+
+        String identity = identityExtractor.extractIdentity(item);
+        int slot = findSlot(identity);
+        boolean removed = slot >= 0 && item.equals(decode(slot));
+        if (removed) {
+            removeSlot(slot);
+            compactIfSparse();
+            removedCount.increment();
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, "Removed {0}: {1}", new Object[]{entityType, identity});
+            }
+        } else if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Failed to remove {0}: {1}", new Object[]{entityType, identity});
+        }
+        return removed;
+    }
+
+    @Override
+    public boolean removeByIdentity(String identity) {
+        if (identity == null) {
+            logger.log(Level.WARNING, "Attempted to remove {0} with null identity", entityType);
+            return false;
+        }
+
+        int slot = findSlot(identity);
+        if (slot < 0) {
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "No {0} found with identity: {1} to remove", new Object[]{entityType, identity});
+            }
+            return false;
+        }
+        removeSlot(slot);
+        compactIfSparse();
+        removedCount.increment();
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, "Removed {0} by identity: {1}", new Object[]{entityType, identity});
+        }
+        return true;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        if (item == null) {
+            return false;
+        }
+        int slot = findSlot(identityExtractor.extractIdentity(item));
+        return slot >= 0 && item.equals(decode(slot));
+    }
+
+    @Override
+    public boolean containsIdentity(String identity) {
+        return identity != null && findSlot(identity) >= 0;
+    }
+
+    @Override
+    public Optional<T> findByIdentity(String identity) {
+        if (identity == null) {
+            logger.log(Level.WARNING, "Attempted to find {0} with null identity", entityType);
+            return Optional.empty();
+        }
+
+        int slot = findSlot(identity);
+        if (slot >= 0) {
+            lookupHitCount.increment();
+        } else {
+            lookupMissCount.increment();
+        }
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.log(Level.FINEST, slot >= 0 ? "Found {0} with identity: {1}" : "No {0} found with identity: {1}",
+                    new Object[]{entityType, identity});
+        }
+
+        return slot >= 0 ? Optional.of(decode(slot)) : Optional.empty();
+    }
+
+    @Override
+    public List<T> getAll() {
+        List<T> all = new ArrayList<>(size);
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (locations[slot] != REMOVED) {
+                all.add(decode(slot));
+            }
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Retrieved all {0} items. Count: {1}", new Object[]{entityType, all.size()});
+        }
+        return all;
+    }
+
+    // Decodes each item as the stream reaches it; do not modify the repository while consuming it
+    @Override
+    public Stream<T> stream() {
+        return IntStream.range(0, nextSlot)
+                .filter(slot -> locations[slot] != REMOVED)
+                .mapToObj(this::decode);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        int sizeBefore = size;
+        resetStorage();
+        logger.log(Level.INFO, "Cleared repository. Removed {0} {1} items", new Object[]{sizeBefore, entityType});
+    }
+
+    @Override
+    public List<T> sortByIdentity(String order) {
+        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
+            logger.log(Level.WARNING, "Invalid sort order: {0}. Using 'asc' by default", order);
+            order = "asc";
+        }
+
+        // Sort by the stored identities; only the entities themselves are decoded afterwards
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(size);
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (locations[slot] != REMOVED) {
+                entries.add(Map.entry(identityAt(slot), slot));
+            }
+        }
+
+        Comparator<Map.Entry<String, Integer>> comparator = Map.Entry.comparingByKey();
+        if (order.equalsIgnoreCase("desc")) {
+            comparator = comparator.reversed();
+        }
+        entries.sort(comparator);
+
+        List<T> sortedItems = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Integer> entry : entries) {
+            sortedItems.add(decode(entry.getValue()));
+        }
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Sorted {0} items by identity in {1} order", new Object[]{entityType, order});
+        }
+        return sortedItems;
+    }
+
+    // Bytes held in slabs, including the dead bytes of removed records not yet compacted
+    public long getOffHeapBytes() {
+        long total = 0;
+        for (ByteBuffer slab : slabs) {
+            total += slab.capacity();
+        }
+        return total;
+    }
+
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    // Record layout: int length, int identity length, identity UTF-8, encoded entity
+    private void append(String identity, T item) {
+        byte[] identityBytes = identity.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer record = encode(identityBytes, item);
+        int length = record.remaining();
+
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+        if (slab == null || slab.remaining() < length) {
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, length));
+            slabs.add(slab);
+        }
+        int offset = slab.position();
+        slab.put(record);
+
+        if (nextSlot == locations.length) {
+            locations = Arrays.copyOf(locations, nextSlot * 2);
+            hashes = Arrays.copyOf(hashes, nextSlot * 2);
+        }
+        if ((tableUsed + 1) * 2 > table.length) {
+            rebuildTable(Math.max(INITIAL_SLOTS * 2, Integer.highestOneBit(size + 1) * 4));
+        }
+        int slot = nextSlot++;
+        locations[slot] = ((long) (slabs.size() - 1) << 32) | offset;
+        hashes[slot] = spread(identity.hashCode());
+        insertIntoTable(slot);
+        size++;
+        liveBytes += length;
+    }
+
+    private ByteBuffer encode(byte[] identityBytes, T item) {
+        while (true) {
+            scratch.clear();
+            try {
+                scratch.putInt(0);
+                scratch.putInt(identityBytes.length);
+                scratch.put(identityBytes);
+                codec.encode(item, scratch);
+                scratch.putInt(0, scratch.position());
+                return scratch.flip();
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+
+    private T decode(int slot) {
+        ByteBuffer record = record(slot);
+        record.position(record.position() + Integer.BYTES);
+        int identityLength = record.getInt();
+        record.position(record.position() + identityLength);
+        return codec.decode(record);
+    }
+
+    private String identityAt(int slot) {
+        ByteBuffer record = record(slot);
+        record.position(record.position() + Integer.BYTES);
+        return EntityCodecs.getString(record);
+    }
+
+    // Independent view of one record, so reads never move the slab's own position
+    private ByteBuffer record(int slot) {
+        long location = locations[slot];
+        ByteBuffer slab = slabs.get((int) (location >>> 32)).duplicate();
+        int offset = (int) location;
+        slab.limit(offset + slab.getInt(offset)).position(offset);
+        return slab;
+    }
+
+    private int findSlot(String identity) {
+        int hash = spread(identity.hashCode());
+        byte[] identityBytes = null;
+        int mask = table.length - 1;
+        for (int index = hash & mask; table[index] != EMPTY; index = (index + 1) & mask) {
+            int slot = table[index] - 1;
+            if (slot < 0 || hashes[slot] != hash) {
+                continue;
+            }
+            if (identityBytes == null) {
+                identityBytes = identity.getBytes(StandardCharsets.UTF_8);
+            }
+            if (identityEquals(slot, identityBytes)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private boolean identityEquals(int slot, byte[] identityBytes) {
+        long location = locations[slot];
+        ByteBuffer slab = slabs.get((int) (location >>> 32));
+        int offset = (int) location + Integer.BYTES;
+        if (slab.getInt(offset) != identityBytes.length) {
+            return false;
+        }
+        offset += Integer.BYTES;
+        for (int i = 0; i < identityBytes.length; i++) {
+            if (slab.get(offset + i) != identityBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Grows the slot arrays and the table once for a batch instead of at every doubling
+    private void ensureCapacity(int expectedSize) {
+        int slotsNeeded = nextSlot + (expectedSize - size);
+        if (slotsNeeded > locations.length) {
+            locations = Arrays.copyOf(locations, slotsNeeded);
+            hashes = Arrays.copyOf(hashes, slotsNeeded);
+        }
+        if (expectedSize * 2 > table.length) {
+            rebuildTable(Integer.highestOneBit(expectedSize) * 4);
+        }
+    }
+
+    // The caller has made room: the table is at most half full after this insert
+    private void insertIntoTable(int slot) {
+        int mask = table.length - 1;
+        int index = hashes[slot] & mask;
+        while (table[index] != EMPTY) {
+            index = (index + 1) & mask;
+        }
+        table[index] = slot + 1;
+        tableUsed++;
+    }
+
+    private void removeSlot(int slot) {
+        int mask = table.length - 1;
+        int index = hashes[slot] & mask;
+        while (table[index] != slot + 1) {
+            index = (index + 1) & mask;
+        }
+        table[index] = DELETED;
+
+        int length = record(slot).remaining();
+        liveBytes -= length;
+        deadBytes += length;
+        locations[slot] = REMOVED;
+        size--;
+    }
+
+    // Sized for the live slots only, which also clears out the DELETED markers
+    private void rebuildTable(int capacity) {
+        table = new int[capacity];
+        tableUsed = 0;
+        int mask = capacity - 1;
+        for (int slot = 0; slot < nextSlot; slot++) {
+            if (locations[slot] == REMOVED) {
+                continue;
+            }
+            int index = hashes[slot] & mask;
+            while (table[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            table[index] = slot + 1;
+            tableUsed++;
+        }
+    }
+
+    // Copies the live records, in order, into fresh slabs once removed bytes outnumber live ones
+    private void compactIfSparse() {
+        if (deadBytes < slabSize || deadBytes <= liveBytes) {
+            return;
+        }
+        List<ByteBuffer> oldSlabs = new ArrayList<>(slabs);
+        long[] oldLocations = locations;
+        int oldEnd = nextSlot;
+        int[] oldHashes = hashes;
+
+        slabs.clear();
+        locations = new long[Math.max(INITIAL_SLOTS, size * 2)];
+        hashes = new int[locations.length];
+        nextSlot = 0;
+        for (int slot = 0; slot < oldEnd; slot++) {
+            if (oldLocations[slot] == REMOVED) {
+                continue;
+            }
+            ByteBuffer record = oldSlabs.get((int) (oldLocations[slot] >>> 32)).duplicate();
+            int offset = (int) oldLocations[slot];
+            record.limit(offset + record.getInt(offset)).position(offset);
+
+            ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+            if (slab == null || slab.remaining() < record.remaining()) {
+                slab = ByteBuffer.allocateDirect(Math.max(slabSize, record.remaining()));
+                slabs.add(slab);
+            }
+            locations[nextSlot] = ((long) (slabs.size() - 1) << 32) | slab.position();
+            hashes[nextSlot] = oldHashes[slot];
+            nextSlot++;
+            slab.put(record);
+        }
+        deadBytes = 0;
+        rebuildTable(Math.max(INITIAL_SLOTS * 2, Integer.highestOneBit(size + 1) * 4));
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Compacted {0} off-heap storage to {1} slabs",
+                    new Object[]{entityType, slabs.size()});
+        }
+    }
+
+    private void resetStorage() {
+        slabs.clear();
+        locations = new long[INITIAL_SLOTS];
+        hashes = new int[INITIAL_SLOTS];
+        table = new int[INITIAL_SLOTS * 2];
+        tableUsed = 0;
+        nextSlot = 0;
+        size = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
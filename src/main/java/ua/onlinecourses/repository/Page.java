@@ -0,0 +1,48 @@
+package ua.onlinecourses.repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of a sorted repository read. {@link #getLast()} is the cursor to pass to
+ * {@code GenericRepository.pageAfter} for the next page.
+ */
+public final class Page<T> {
+
+    private final List<T> items;
+    private final int totalCount;
+    private final boolean hasNext;
+
+    Page(List<T> items, int totalCount, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.totalCount = totalCount;
+        this.hasNext = hasNext;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    // Items in the repository when the page was read, not only those after the cursor
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    public Optional<T> getLast() {
+        return items.isEmpty() ? Optional.empty() : Optional.of(items.get(items.size() - 1));
+    }
+
+    @Override
+    public String toString() {
+        return "Page{size=" + items.size() + ", total=" + totalCount + ", hasNext=" + hasNext + "}";
+    }
+}
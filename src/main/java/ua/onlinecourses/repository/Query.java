@@ -0,0 +1,382 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fluent read over a {@link GenericRepository}: any number of criteria, an optional order,
+ * offset and limit, then one terminal operation. Nothing runs before the terminal operation.
+ *
+ * <p>The planner picks the registered index criterion with the fewest candidate rows to
+ * drive the scan, or scans the whole repository when no criterion can use an index or
+ * none narrows it down. All other criteria are checked together in that single pass, and
+ * results are produced without intermediate lists: an order with a limit selects with a
+ * bounded heap, an unordered limit stops the scan early, and counts over a single index
+ * criterion are read from the index. {@link #explain()} describes the chosen plan.</p>
+ *
+ * <p>Without {@link #orderBy}, results follow the scan: insertion order for a full scan or
+ * an equality index, key order for a range index; ties under an order keep that scan order
+ * too. A query is not thread-safe and reads the
+ * repository as it is when the terminal operation runs.</p>
+ */
+public final class Query<T> {
+
+    private static final Logger logger = Logger.getLogger(Query.class.getName());
+    private static final int NO_LIMIT = -1;
+
+    private final GenericRepository<T> repository;
+    private final List<Criterion<T>> criteria = new ArrayList<>();
+    private Comparator<? super T> order;
+    private int offset;
+    private int limit = NO_LIMIT;
+
+    Query(GenericRepository<T> repository) {
+        this.repository = repository;
+    }
+
+    public Query<T> where(Predicate<? super T> predicate) {
+        if (predicate == null) {
+            throw new IllegalArgumentException("Predicate cannot be null");
+        }
+        criteria.add(new PredicateCriterion<>(predicate));
+        return this;
+    }
+
+    // Items whose key in the named index equals key; the index can drive the scan. The key goes
+    // through the index's normalizer, so "Smith" finds a lowercased name, and a key of another
+    // type than the index's, such as a Long for an Integer index, is rejected
+    public Query<T> whereEquals(String indexName, Object key) {
+        RepositoryIndex<T> index = findIndex(indexName);
+        if (!(index instanceof AbstractKeyIndex)) {
+            throw new IllegalArgumentException("Index " + indexName + " does not support equality lookups");
+        }
+        @SuppressWarnings("unchecked")
+        AbstractKeyIndex<Object, T> keyIndex = (AbstractKeyIndex<Object, T>) index;
+        criteria.add(new EqualsCriterion<>(indexName, keyIndex, keyIndex.queryKey(key)));
+        return this;
+    }
+
+    // Items whose key in the named sorted index is within [from, to]; a null bound is open.
+    // Bounds of another type than the index's keys are rejected, as in whereEquals
+    public <K extends Comparable<? super K>> Query<T> whereBetween(String indexName, K from, K to) {
+        RepositoryIndex<T> index = findIndex(indexName);
+        if (!(index instanceof SortedIndex)) {
+            throw new IllegalArgumentException("Index " + indexName + " does not support range lookups");
+        }
+        @SuppressWarnings("unchecked")
+        SortedIndex<K, T> sortedIndex = (SortedIndex<K, T>) index;
+        criteria.add(new RangeCriterion<>(indexName, sortedIndex, sortedIndex.queryKey(from),
+                sortedIndex.queryKey(to)));
+        return this;
+    }
+
+    public Query<T> orderBy(Comparator<? super T> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        this.order = comparator;
+        return this;
+    }
+
+    public Query<T> offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative: " + offset);
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    public Query<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public List<T> list() {
+        return list(limit);
+    }
+
+    public Optional<T> first() {
+        List<T> results = list(limit == NO_LIMIT ? 1 : Math.min(limit, 1));
+        return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+    }
+
+    private List<T> list(int maxRows) {
+        if (maxRows == 0) {
+            return new ArrayList<>();
+        }
+        Plan<T> plan = plan();
+        List<T> results;
+        if (order == null) {
+            results = new ArrayList<>();
+            int[] skipped = new int[1];
+            scan(plan, item -> {
+                if (skipped[0] < offset) {
+                    skipped[0]++;
+                    return true;
+                }
+                results.add(item);
+                return maxRows == NO_LIMIT || results.size() < maxRows;
+            });
+            return results;
+        }
+
+        if (maxRows == NO_LIMIT) {
+            if (criteria.isEmpty()) {
+                List<T> sorted = repository.sortedView(order);
+                return new ArrayList<>(sorted.subList(Math.min(offset, sorted.size()), sorted.size()));
+            }
+            results = new ArrayList<>();
+            scan(plan, item -> results.add(item));
+            results.sort(order);
+            return new ArrayList<>(results.subList(Math.min(offset, results.size()), results.size()));
+        }
+
+        int wanted = (int) Math.min((long) offset + maxRows, Integer.MAX_VALUE);
+        results = criteria.isEmpty()
+                ? repository.topK(order, wanted)
+                : GenericRepository.selectFirst(plan.source(), plan::matches, order, wanted, new int[1]);
+        return new ArrayList<>(results.subList(Math.min(offset, results.size()), results.size()));
+    }
+
+    // Number of results, after offset and limit
+    public int count() {
+        Plan<T> plan = plan();
+        int matches;
+        if (plan.residual().isEmpty() && plan.driver() != null) {
+            matches = plan.estimatedRows();
+        } else if (criteria.isEmpty()) {
+            matches = repository.size();
+        } else {
+            int[] counter = new int[1];
+            scan(plan, item -> {
+                counter[0]++;
+                return true;
+            });
+            matches = counter[0];
+        }
+        int afterOffset = Math.max(0, matches - offset);
+        return limit == NO_LIMIT ? afterOffset : Math.min(afterOffset, limit);
+    }
+
+    public long sum(ToIntFunction<? super T> mapper) {
+        long[] total = new long[1];
+        forEachResult(item -> total[0] += mapper.applyAsInt(item));
+        return total[0];
+    }
+
+    public OptionalDouble average(ToIntFunction<? super T> mapper) {
+        long[] totalAndCount = new long[2];
+        forEachResult(item -> {
+            totalAndCount[0] += mapper.applyAsInt(item);
+            totalAndCount[1]++;
+        });
+        return totalAndCount[1] == 0 ? OptionalDouble.empty()
+                : OptionalDouble.of((double) totalAndCount[0] / totalAndCount[1]);
+    }
+
+    public <K> Map<K, List<T>> groupBy(Function<? super T, ? extends K> classifier) {
+        Map<K, List<T>> groups = new HashMap<>();
+        forEachResult(item -> groups.computeIfAbsent(classifier.apply(item), key -> new ArrayList<>()).add(item));
+        return groups;
+    }
+
+    public <K> Map<K, Long> countBy(Function<? super T, ? extends K> classifier) {
+        Map<K, Long> counts = new HashMap<>();
+        forEachResult(item -> counts.merge(classifier.apply(item), 1L, Long::sum));
+        return counts;
+    }
+
+    // Human-readable plan, e.g. "index credits = 5 (~120 rows) -> filter x1 -> top 10 by order"
+    public String explain() {
+        Plan<T> plan = plan();
+        StringBuilder description = new StringBuilder();
+        if (plan.driver() == null) {
+            description.append("scan ").append(repository.getEntityType())
+                    .append(" (").append(repository.size()).append(" rows)");
+        } else {
+            description.append("index ").append(plan.driver().describe())
+                    .append(" (~").append(plan.estimatedRows()).append(" rows)");
+        }
+        if (!plan.residual().isEmpty()) {
+            description.append(" -> filter x").append(plan.residual().size());
+        }
+        if (order != null) {
+            description.append(limit == NO_LIMIT ? " -> sort" : " -> top " + ((long) offset + limit) + " by order");
+        }
+        if (offset > 0) {
+            description.append(" -> skip ").append(offset);
+        }
+        if (limit != NO_LIMIT) {
+            description.append(" -> limit ").append(limit);
+        }
+        return description.toString();
+    }
+
+    // Aggregates need no order, so unless offset or limit cut the results they skip list()
+    private void forEachResult(Consumer<T> action) {
+        if (offset == 0 && limit == NO_LIMIT) {
+            scan(plan(), item -> {
+                action.accept(item);
+                return true;
+            });
+        } else {
+            list().forEach(action);
+        }
+    }
+
+    private RepositoryIndex<T> findIndex(String indexName) {
+        if (indexName == null) {
+            throw new IllegalArgumentException("Index name cannot be null");
+        }
+        return repository.getIndex(indexName).orElseThrow(() -> new IllegalArgumentException(
+                "No index " + indexName + " on " + repository.getEntityType() + " repository"));
+    }
+
+    private Plan<T> plan() {
+        IndexCriterion<T> driver = null;
+        int best = repository.size();
+        for (Criterion<T> criterion : criteria) {
+            if (criterion instanceof IndexCriterion<T> indexed) {
+                int estimate = indexed.estimate();
+                if (estimate < best) {
+                    driver = indexed;
+                    best = estimate;
+                }
+            }
+        }
+
+        List<Criterion<T>> residual = new ArrayList<>(criteria);
+        Iterable<T> source;
+        if (driver != null) {
+            residual.remove(driver);
+            source = driver.candidates();
+        } else {
+            source = repository.view();
+        }
+        Plan<T> plan = new Plan<>(driver, residual, source, best);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Query plan for {0}: driver={1}, filters={2}",
+                    new Object[]{repository.getEntityType(), driver == null ? "scan" : driver.describe(), residual.size()});
+        }
+        return plan;
+    }
+
+    // Feeds matching items to sink until it returns false
+    private static <T> void scan(Plan<T> plan, Predicate<T> sink) {
+        for (T item : plan.source()) {
+            if (plan.matches(item) && !sink.test(item)) {
+                return;
+            }
+        }
+    }
+
+    private record Plan<T>(IndexCriterion<T> driver, List<Criterion<T>> residual, Iterable<T> source, int estimatedRows) {
+
+        boolean matches(T item) {
+            for (Criterion<T> criterion : residual) {
+                if (!criterion.test(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private interface Criterion<T> extends Predicate<T> {
+
+        String describe();
+    }
+
+    // A criterion answered by an index, which can drive the scan
+    private interface IndexCriterion<T> extends Criterion<T> {
+
+        // Rows the index yields for this criterion
+        int estimate();
+
+        Iterable<T> candidates();
+    }
+
+    private record PredicateCriterion<T>(Predicate<? super T> predicate) implements Criterion<T> {
+
+        @Override
+        public boolean test(T item) {
+            return predicate.test(item);
+        }
+
+        @Override
+        public String describe() {
+            return "predicate";
+        }
+    }
+
+    private record EqualsCriterion<T>(String name, AbstractKeyIndex<Object, T> index, Object key)
+            implements IndexCriterion<T> {
+
+        @Override
+        public boolean test(T item) {
+            return key != null && Objects.equals(index.keyOf(item), key);
+        }
+
+        @Override
+        public int estimate() {
+            return index.bucketView(key).size();
+        }
+
+        @Override
+        public Iterable<T> candidates() {
+            return index.bucketView(key);
+        }
+
+        @Override
+        public String describe() {
+            return name + " = " + key;
+        }
+    }
+
+    private record RangeCriterion<K extends Comparable<? super K>, T>(String name, SortedIndex<K, T> index, K from, K to)
+            implements IndexCriterion<T> {
+
+        @Override
+        public boolean test(T item) {
+            K key = index.keyOf(item);
+            return key != null && (from == null || key.compareTo(from) >= 0) && (to == null || key.compareTo(to) <= 0);
+        }
+
+        @Override
+        public int estimate() {
+            int rows = 0;
+            for (Set<T> bucket : index.rangeBuckets(from, to)) {
+                rows += bucket.size();
+            }
+            return rows;
+        }
+
+        @Override
+        public Iterable<T> candidates() {
+            Collection<Set<T>> buckets = index.rangeBuckets(from, to);
+            return () -> buckets.stream().flatMap(Set::stream).iterator();
+        }
+
+        @Override
+        public String describe() {
+            return name + " in [" + (from == null ? "-inf" : from) + ", " + (to == null ? "+inf" : to) + "]";
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ua.onlinecourses.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Identity-keyed store of entities. Each identity maps to at most one item.
+ */
+public interface Repository<T> {
+
+    boolean add(T item);
+
+    /**
+     * Adds a batch in one call. Every identity is computed before storage is touched, so an
+     * extractor failure leaves the repository unchanged. Nulls, identities already stored and
+     * repeated identities within the batch are rejected; the rest are added in batch order.
+     */
+    BatchResult<T> addAll(Collection<? extends T> batch);
+
+    /**
+     * Removes every stored item of the batch in one call. Items that are null, not stored or
+     * repeated within the batch are rejected.
+     */
+    BatchResult<T> removeAll(Collection<? extends T> batch);
+
+    /**
+     * Replaces the whole content with the batch in one call, e.g. after reloading a file.
+     * Nulls and repeated identities within the batch are rejected.
+     */
+    BatchResult<T> replaceAll(Collection<? extends T> batch);
+
+    boolean remove(T item);
+
+    boolean removeByIdentity(String identity);
+
+    boolean contains(T item);
+
+    boolean containsIdentity(String identity);
+
+    Optional<T> findByIdentity(String identity);
+
+    List<T> getAll();
+
+    /**
+     * Streams the stored items in insertion order without copying them first.
+     */
+    Stream<T> stream();
+
+    default void forEach(Consumer<? super T> action) {
+        stream().forEach(action);
+    }
+
+    int size();
+
+    boolean isEmpty();
+
+    void clear();
+
+    List<T> sortByIdentity(String order);
+}
@@ -0,0 +1,14 @@
+package ua.onlinecourses.repository;
+
+/**
+ * Secondary structure kept in sync with a {@link GenericRepository}.
+ * The repository calls these hooks after every successful change.
+ */
+public interface RepositoryIndex<T> {
+
+    void onAdd(String identity, T item);
+
+    void onRemove(String identity, T item);
+
+    void onClear();
+}
@@ -0,0 +1,129 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Ordered index: answers range and min/max queries in O(log N + k).
+ * Results are returned in key order; items sharing a key keep insertion order.
+ * {@link #inInsertionOrder} puts a result back into the order the items were added,
+ * which is the order a filter over the repository returns.
+ */
+public class SortedIndex<K extends Comparable<? super K>, T> extends AbstractKeyIndex<K, T> {
+
+    private final NavigableMap<K, Set<T>> sortedBuckets;
+    private final Map<T, Long> sequences = new HashMap<>();
+    private long nextSequence;
+
+    public SortedIndex(Function<? super T, ? extends K> keyExtractor) {
+        this(new TreeMap<>(), null, keyExtractor);
+    }
+
+    public SortedIndex(Class<K> keyType, Function<? super T, ? extends K> keyExtractor) {
+        this(new TreeMap<>(), keyType, keyExtractor);
+    }
+
+    private SortedIndex(NavigableMap<K, Set<T>> sortedBuckets, Class<K> keyType,
+                        Function<? super T, ? extends K> keyExtractor) {
+        super(sortedBuckets, keyType, keyExtractor, UnaryOperator.identity());
+        this.sortedBuckets = sortedBuckets;
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        super.onAdd(identity, item);
+        sequences.putIfAbsent(item, nextSequence++);
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        super.onRemove(identity, item);
+        sequences.remove(item);
+    }
+
+    @Override
+    public void onClear() {
+        super.onClear();
+        sequences.clear();
+        nextSequence = 0;
+    }
+
+    // Sorts items of this index by when they were added, in place, O(k log k)
+    public List<T> inInsertionOrder(List<T> items) {
+        items.sort(Comparator.comparingLong(sequences::get));
+        return items;
+    }
+
+    public List<T> range(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+        return flatten(sortedBuckets.subMap(from, fromInclusive, to, toInclusive).values());
+    }
+
+    public List<T> lessThan(K to, boolean inclusive) {
+        return flatten(sortedBuckets.headMap(to, inclusive).values());
+    }
+
+    public List<T> greaterThan(K from, boolean inclusive) {
+        return flatten(sortedBuckets.tailMap(from, inclusive).values());
+    }
+
+    public Optional<K> minKey() {
+        return sortedBuckets.isEmpty() ? Optional.empty() : Optional.of(sortedBuckets.firstKey());
+    }
+
+    public Optional<K> maxKey() {
+        return sortedBuckets.isEmpty() ? Optional.empty() : Optional.of(sortedBuckets.lastKey());
+    }
+
+    // Live buckets between two inclusive bounds, either of which may be null for unbounded
+    Collection<Set<T>> rangeBuckets(K from, K to) {
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            return Collections.emptyList();
+        }
+        NavigableMap<K, Set<T>> range = sortedBuckets;
+        if (from != null) {
+            range = range.tailMap(from, true);
+        }
+        if (to != null) {
+            range = range.headMap(to, true);
+        }
+        return range.values();
+    }
+
+    // Number of items in a range without copying them, O(log N + distinct keys in range)
+    public int countRange(K from, boolean fromInclusive, K to, boolean toInclusive) {
+        if (from.compareTo(to) > 0) {
+            return 0;
+        }
+        int count = 0;
+        for (Set<T> group : sortedBuckets.subMap(from, fromInclusive, to, toInclusive).values()) {
+            count += group.size();
+        }
+        return count;
+    }
+
+    private List<T> flatten(Collection<Set<T>> groups) {
+        int size = 0;
+        for (Set<T> group : groups) {
+            size += group.size();
+        }
+        List<T> result = new ArrayList<>(size);
+        for (Set<T> group : groups) {
+            result.addAll(group);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package ua.onlinecourses.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sorted copies of a repository's items, one per comparator, reused until the repository
+ * changes. Any change drops every cached order: a single add or remove would also cost a
+ * linear shift to patch a sorted array, and a batch of N adds would cost N of them, while
+ * one re-sort on the next read is O(N log N) at most. Sorting is stable over insertion
+ * order, so a cached view is exactly what sorting {@code getAll()} would return.
+ *
+ * <p>Views are keyed by comparator instance, so callers must reuse a constant comparator
+ * to hit the cache. At most {@link #MAX_VIEWS} orders are kept; a new order evicts an
+ * arbitrary cached one, so ad-hoc comparators cannot grow the cache without bound.</p>
+ *
+ * <p>Reads store views, so the map is concurrent: threads that share a repository nobody
+ * is writing can sort it at the same time, as they could before the cache existed.</p>
+ */
+final class SortedViewCache<T> implements RepositoryIndex<T> {
+
+    static final int MAX_VIEWS = 16;
+
+    private final Map<Comparator<? super T>, List<T>> views = new ConcurrentHashMap<>();
+    private final LongAdder hitCount;
+    private final LongAdder missCount;
+
+    SortedViewCache(LongAdder hitCount, LongAdder missCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    // Unmodifiable; source is only read on a miss and must be in insertion order
+    List<T> get(Comparator<? super T> comparator, Collection<T> source) {
+        List<T> view = views.get(comparator);
+        if (view != null) {
+            hitCount.increment();
+            return view;
+        }
+        missCount.increment();
+        List<T> sorted = new ArrayList<>(source);
+        sorted.sort(comparator);
+        view = Collections.unmodifiableList(sorted);
+        if (views.size() >= MAX_VIEWS) {
+            evictOne();
+        }
+        List<T> raced = views.putIfAbsent(comparator, view);
+        return raced != null ? raced : view;
+    }
+
+    // Cached order or null, without counting a miss or sorting
+    List<T> peek(Comparator<? super T> comparator) {
+        return views.get(comparator);
+    }
+
+    int size() {
+        return views.size();
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        invalidate();
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        invalidate();
+    }
+
+    @Override
+    public void onClear() {
+        invalidate();
+    }
+
+    private void evictOne() {
+        Iterator<Comparator<? super T>> keys = views.keySet().iterator();
+        if (keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private void invalidate() {
+        if (!views.isEmpty()) {
+            views.clear();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ua.onlinecourses.repository;
+
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Running statistics of an int metric: count, sum, min, max and a value histogram,
+ * updated on every add and remove so all reads are O(1), or O(V) for a histogram copy
+ * with V distinct values. The histogram is what keeps min and max exact after removals.
+ */
+public class StatisticsIndex<T> implements RepositoryIndex<T> {
+
+    private final ToIntFunction<? super T> metric;
+    private final TreeMap<Integer, Integer> histogram = new TreeMap<>();
+    private int count;
+    private long sum;
+
+    public StatisticsIndex(ToIntFunction<? super T> metric) {
+        this.metric = metric;
+    }
+
+    @Override
+    public void onAdd(String identity, T item) {
+        int value = metric.applyAsInt(item);
+        histogram.merge(value, 1, Integer::sum);
+        count++;
+        sum += value;
+    }
+
+    @Override
+    public void onRemove(String identity, T item) {
+        int value = metric.applyAsInt(item);
+        Integer occurrences = histogram.get(value);
+        if (occurrences == null) {
+            return;
+        }
+        if (occurrences == 1) {
+            histogram.remove(value);
+        } else {
+            histogram.put(value, occurrences - 1);
+        }
+        count--;
+        sum -= value;
+    }
+
+    @Override
+    public void onClear() {
+        histogram.clear();
+        count = 0;
+        sum = 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    // 0.0 when empty, as the repositories' getAverage* methods have always returned
+    public double getAverage() {
+        return count == 0 ? 0.0 : (double) sum / count;
+    }
+
+    public OptionalInt getMin() {
+        return histogram.isEmpty() ? OptionalInt.empty() : OptionalInt.of(histogram.firstKey());
+    }
+
+    public OptionalInt getMax() {
+        return histogram.isEmpty() ? OptionalInt.empty() : OptionalInt.of(histogram.lastKey());
+    }
+
+    // Value -> number of items, in value order
+    public NavigableMap<Integer, Integer> getHistogram() {
+        return Collections.unmodifiableNavigableMap(new TreeMap<>(histogram));
+    }
+}
@@ -13,49 +13,74 @@ import java.util.stream.Collectors;
 public class StudentRepository extends GenericRepository<Student> {
     private static final Logger logger = Logger.getLogger(StudentRepository.class.getName());
 
+    // Constant instances so repeated sorts hit the sorted-view cache
+    private static final Comparator<Student> BY_ENROLLMENT_DATE_DESC = Student.BY_ENROLLMENT_DATE.reversed();
+    private static final Comparator<Student> BY_EMAIL_LENGTH =
+            (s1, s2) -> Integer.compare(s1.email().length(), s2.email().length());
+    private static final Comparator<Student> BY_FIRST_NAME = Comparator.comparing(Student::firstName);
+
+    private final HashIndex<String, Student> firstNameIndex;
+    private final HashIndex<String, Student> lastNameIndex;
+    private final HashIndex<String, Student> emailIndex;
+    private final HashIndex<String, Student> emailDomainIndex;
+    private final SortedIndex<LocalDate, Student> enrollmentDateIndex;
+    private final LazyIndex<Student, NGramIndex<Student>> lastNameTextIndex;
+
     public StudentRepository() {
         super(Student::email, "Student");
+        // Names, emails and domains are matched case-insensitively
+        this.firstNameIndex = registerIndex("firstName",
+                new HashIndex<>(String.class, Student::firstName, String::toLowerCase));
+        this.lastNameIndex = registerIndex("lastName",
+                new HashIndex<>(String.class, Student::lastName, String::toLowerCase));
+        this.emailIndex = registerIndex("email",
+                new HashIndex<>(String.class, Student::email, String::toLowerCase));
+        this.emailDomainIndex = registerIndex("emailDomain",
+                new HashIndex<>(String.class, student -> emailDomain(student.email()), String::toLowerCase));
+        this.enrollmentDateIndex = registerIndex("enrollmentDate",
+                new SortedIndex<>(LocalDate.class, Student::enrollmentDate));
+        // Text and column indexes are built on first use, see LazyIndex
+        this.lastNameTextIndex = new LazyIndex<>(this, "lastNameText", () -> new NGramIndex<>(Student::lastName));
+    }
+
+    private static String emailDomain(String email) {
+        int at = email.lastIndexOf('@');
+        return at < 0 ? null : email.substring(at + 1);
     }
 
     public List<Student> sortByName() {
-        List<Student> allStudents = getAll();
-        allStudents.sort(Student.BY_NAME);
-        logger.log(Level.INFO, "Sorted Student by lastName, firstName, and email (ascending)");
+        List<Student> allStudents = sortedCopy(Student.BY_NAME);
+        logger.log(Level.FINE, "Sorted Student by lastName, firstName, and email (ascending)");
         return allStudents;
     }
 
     public List<Student> sortByNameDesc() {
-        List<Student> allStudents = getAll();
-        allStudents.sort(Student.BY_NAME_DESC);
-        logger.log(Level.INFO, "Sorted Student by lastName (desc), firstName, and email");
+        List<Student> allStudents = sortedCopy(Student.BY_NAME_DESC);
+        logger.log(Level.FINE, "Sorted Student by lastName (desc), firstName, and email");
         return allStudents;
     }
 
     public List<Student> sortByEnrollmentDate() {
-        List<Student> allStudents = getAll();
-        allStudents.sort(Student.BY_ENROLLMENT_DATE);
-        logger.log(Level.INFO, "Sorted Student by enrollment date");
+        List<Student> allStudents = sortedCopy(Student.BY_ENROLLMENT_DATE);
+        logger.log(Level.FINE, "Sorted Student by enrollment date");
         return allStudents;
     }
 
     public List<Student> sortByEnrollmentDateDesc() {
-        List<Student> allStudents = getAll();
-        allStudents.sort(Student.BY_ENROLLMENT_DATE.reversed());
-        logger.log(Level.INFO, "Sorted Student by enrollment date (descending)");
+        List<Student> allStudents = sortedCopy(BY_ENROLLMENT_DATE_DESC);
+        logger.log(Level.FINE, "Sorted Student by enrollment date (descending)");
         return allStudents;
     }
 
     public List<Student> sortByEmailLength() {
-        List<Student> allStudents = getAll();
-        allStudents.sort((s1, s2) -> Integer.compare(s1.email().length(), s2.email().length()));
-        logger.log(Level.INFO, "Sorted Student by email length using lambda");
+        List<Student> allStudents = sortedCopy(BY_EMAIL_LENGTH);
+        logger.log(Level.FINE, "Sorted Student by email length using lambda");
         return allStudents;
     }
 
     public List<Student> sortByFirstName() {
-        List<Student> allStudents = getAll();
-        allStudents.sort(Comparator.comparing(Student::firstName));
-        logger.log(Level.INFO, "Sorted Student by firstName using method reference");
+        List<Student> allStudents = sortedCopy(BY_FIRST_NAME);
+        logger.log(Level.FINE, "Sorted Student by firstName using method reference");
         return allStudents;
     }
 
@@ -65,13 +90,12 @@ public class StudentRepository extends GenericRepository<Student> {
             return List.of();
         }
 
-        String searchTerm = partialName.trim().toLowerCase();
-        List<Student> results = getAll().stream()
-                .filter(student -> student.lastName().toLowerCase().contains(searchTerm))
-                .collect(Collectors.toList());
+        List<Student> results = lastNameTextIndex.get().containing(partialName.trim());
 
-        logger.log(Level.INFO, "Found {0} students with lastName containing ''{1}''",
-                new Object[]{results.size(), partialName});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} students with lastName containing ''{1}''",
+                    new Object[]{results.size(), partialName});
+        }
         return results;
     }
 
@@ -81,12 +105,12 @@ public class StudentRepository extends GenericRepository<Student> {
             return List.of();
         }
 
-        List<Student> results = getAll().stream()
-                .filter(student -> student.firstName().equalsIgnoreCase(firstName.trim()))
-                .collect(Collectors.toList());
+        List<Student> results = firstNameIndex.get(firstName.trim());
 
-        logger.log(Level.INFO, "Found {0} students with firstName ''{1}''",
-                new Object[]{results.size(), firstName});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} students with firstName ''{1}''",
+                    new Object[]{results.size(), firstName});
+        }
         return results;
     }
 
@@ -97,94 +121,114 @@ public class StudentRepository extends GenericRepository<Student> {
             return List.of();
         }
 
-        List<Student> results = getAll().stream()
-                .filter(student -> !student.enrollmentDate().isBefore(startDate) &&
-                        !student.enrollmentDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        List<Student> results = enrollmentDateIndex.inInsertionOrder(
+                enrollmentDateIndex.range(startDate, true, endDate, true));
 
-        logger.log(Level.INFO, "Found {0} students enrolled between {1} and {2}",
-                new Object[]{results.size(), startDate, endDate});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} students enrolled between {1} and {2}",
+                    new Object[]{results.size(), startDate, endDate});
+        }
         return results;
     }
 
+    // Same range as findByEnrollmentDateRange without building the list
+    public int countByEnrollmentDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            logger.log(Level.WARNING, "Invalid date range: start={0}, end={1}",
+                    new Object[]{startDate, endDate});
+            return 0;
+        }
+
+        int count = enrollmentDateIndex.countRange(startDate, true, endDate, true);
+
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Counted {0} students enrolled between {1} and {2}",
+                    new Object[]{count, startDate, endDate});
+        }
+        return count;
+    }
+
     public List<Student> findByEmailDomain(String domain) {
         if (domain == null || domain.trim().isEmpty()) {
             logger.log(Level.WARNING, "Attempted to search with null or empty domain");
             return List.of();
         }
 
-        String searchDomain = domain.trim().toLowerCase();
-        List<Student> results = getAll().stream()
-                .filter(student -> student.email().toLowerCase().endsWith("@" + searchDomain))
-                .collect(Collectors.toList());
+        List<Student> results = emailDomainIndex.get(domain.trim());
 
-        logger.log(Level.INFO, "Found {0} students with email domain ''{1}''",
-                new Object[]{results.size(), domain});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Found {0} students with email domain ''{1}''",
+                    new Object[]{results.size(), domain});
+        }
         return results;
     }
 
     public Map<String, List<Student>> groupByLastName() {
-        Map<String, List<Student>> grouped = getAll().stream()
+        Map<String, List<Student>> grouped = stream()
                 .collect(Collectors.groupingBy(Student::lastName));
 
-        logger.log(Level.INFO, "Grouped students by lastName: {0} groups", grouped.size());
+        logger.log(Level.FINE, "Grouped students by lastName: {0} groups", grouped.size());
         return grouped;
     }
 
     public Map<LocalDate, Long> countByEnrollmentDate() {
-        Map<LocalDate, Long> counts = getAll().stream()
+        Map<LocalDate, Long> counts = stream()
                 .collect(Collectors.groupingBy(
                         Student::enrollmentDate,
                         Collectors.counting()
                 ));
 
-        logger.log(Level.INFO, "Student counts by enrollment date: {0}", counts);
+        logger.log(Level.FINE, "Student counts by enrollment date: {0}", counts);
         return counts;
     }
 
     public List<String> getAllEmails() {
-        List<String> emails = getAll().stream()
+        List<String> emails = stream()
                 .map(Student::email)
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} student emails", emails.size());
+        logger.log(Level.FINE, "Retrieved {0} student emails", emails.size());
         return emails;
     }
 
     public List<String> getAllFullNames() {
-        List<String> fullNames = getAll().stream()
+        List<String> fullNames = stream()
                 .map(student -> student.firstName() + " " + student.lastName())
                 .collect(Collectors.toList());
 
-        logger.log(Level.INFO, "Retrieved {0} student full names", fullNames.size());
+        logger.log(Level.FINE, "Retrieved {0} student full names", fullNames.size());
         return fullNames;
     }
 
     public Optional<Student> findOldestStudent() {
-        Optional<Student> oldest = getAll().stream()
-                .min(Comparator.comparing(Student::enrollmentDate));
+        Optional<Student> oldest = enrollmentDateIndex.minKey()
+                .flatMap(enrollmentDateIndex::findFirst);
 
         if (oldest.isPresent()) {
-            logger.log(Level.INFO, "Oldest student: {0} {1} (enrolled: {2})",
-                    new Object[]{oldest.get().firstName(), oldest.get().lastName(),
-                            oldest.get().enrollmentDate()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Oldest student: {0} {1} (enrolled: {2})",
+                        new Object[]{oldest.get().firstName(), oldest.get().lastName(),
+                                oldest.get().enrollmentDate()});
+            }
         } else {
-            logger.log(Level.INFO, "No students found");
+            logger.log(Level.FINE, "No students found");
         }
 
         return oldest;
     }
 
     public Optional<Student> findNewestStudent() {
-        Optional<Student> newest = getAll().stream()
-                .max(Comparator.comparing(Student::enrollmentDate));
+        Optional<Student> newest = enrollmentDateIndex.maxKey()
+                .flatMap(enrollmentDateIndex::findFirst);
 
         if (newest.isPresent()) {
-            logger.log(Level.INFO, "Newest student: {0} {1} (enrolled: {2})",
-                    new Object[]{newest.get().firstName(), newest.get().lastName(),
-                            newest.get().enrollmentDate()});
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Newest student: {0} {1} (enrolled: {2})",
+                        new Object[]{newest.get().firstName(), newest.get().lastName(),
+                                newest.get().enrollmentDate()});
+            }
         } else {
-            logger.log(Level.INFO, "No students found");
+            logger.log(Level.FINE, "No students found");
         }
 
         return newest;
@@ -196,12 +240,12 @@ public class StudentRepository extends GenericRepository<Student> {
             return 0;
         }
 
-        long count = getAll().stream()
-                .filter(student -> student.lastName().equalsIgnoreCase(lastName.trim()))
-                .count();
+        long count = lastNameIndex.count(lastName.trim());
 
-        logger.log(Level.INFO, "Count of students with lastName ''{0}'': {1}",
-                new Object[]{lastName, count});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Count of students with lastName ''{0}'': {1}",
+                    new Object[]{lastName, count});
+        }
         return count;
     }
 
@@ -211,11 +255,12 @@ public class StudentRepository extends GenericRepository<Student> {
             return false;
         }
 
-        boolean exists = getAll().stream()
-                .anyMatch(student -> student.email().equalsIgnoreCase(email.trim()));
+        boolean exists = emailIndex.containsKey(email.trim());
 
-        logger.log(Level.INFO, "Student with email ''{0}'' exists: {1}",
-                new Object[]{email, exists});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "Student with email ''{0}'' exists: {1}",
+                    new Object[]{email, exists});
+        }
         return exists;
     }
 
@@ -225,18 +270,20 @@ public class StudentRepository extends GenericRepository<Student> {
             return false;
         }
 
-        boolean result = getAll().stream()
-                .allMatch(student -> student.enrollmentDate().isAfter(date));
+        boolean result = enrollmentDateIndex.minKey()
+                .map(earliest -> earliest.isAfter(date))
+                .orElse(true);
 
-        logger.log(Level.INFO, "All students enrolled after {0}: {1}",
-                new Object[]{date, result});
+        if (logger.isLoggable(Level.FINE)) {
+            logger.log(Level.FINE, "All students enrolled after {0}: {1}",
+                    new Object[]{date, result});
+        }
         return result;
     }
 
     public void printAllStudents() {
         logger.log(Level.INFO, "Printing all students:");
-        getAll().stream()
-                .forEach(student -> System.out.println(student.firstName() + " " +
+        forEach(student -> System.out.println(student.firstName() + " " +
                         student.lastName() + " - " +
                         student.email()));
     }
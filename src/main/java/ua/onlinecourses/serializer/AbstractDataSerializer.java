@@ -1,13 +1,22 @@
 package ua.onlinecourses.serializer;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import ua.onlinecourses.exception.DataSerializationException;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -76,6 +85,84 @@ public abstract class AbstractDataSerializer<T> implements DataSerializer<T> {
         }
     }
 
+    @Override
+    public long serializeIterator(Iterator<? extends T> items, String filePath) throws DataSerializationException {
+        if (items == null) {
+            throw new DataSerializationException("Cannot serialize null iterator");
+        }
+        validateFilePath(filePath);
+
+        File file = new File(filePath);
+        createParentDirectories(file);
+
+        long count = 0;
+        // The sequence writer emits the same top-level array/sequence as serialize(List), one element at a time
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .writeValuesAsArray(file)) {
+            while (items.hasNext()) {
+                writer.write(items.next());
+                count++;
+            }
+        } catch (IOException e) {
+            String errorMsg = String.format("Failed to serialize data to %s file: %s",
+                    getFormat(), filePath);
+            throw new DataSerializationException(errorMsg, e);
+        }
+
+        logger.log(Level.INFO, "Successfully streamed {0} items to {1} file: {2}",
+                new Object[]{count, getFormat(), filePath});
+        return count;
+    }
+
+    @Override
+    public long serializeStream(Stream<? extends T> items, String filePath) throws DataSerializationException {
+        if (items == null) {
+            throw new DataSerializationException("Cannot serialize null stream");
+        }
+        try (items) {
+            return serializeIterator(items.iterator(), filePath);
+        }
+    }
+
+    @Override
+    public Stream<T> deserializeStream(String filePath, Class<T> clazz) throws DataSerializationException {
+        validateFilePath(filePath);
+        validateClass(clazz);
+
+        File file = new File(filePath);
+
+        if (!file.exists()) {
+            logger.log(Level.WARNING, "File does not exist: {0}. Returning empty stream.", filePath);
+            return Stream.empty();
+        }
+
+        if (file.length() == 0) {
+            logger.log(Level.WARNING, "File is empty: {0}. Returning empty stream.", filePath);
+            return Stream.empty();
+        }
+
+        try {
+            // A reader-owned parser unwraps the root array, so elements are bound one at a time
+            MappingIterator<T> iterator = objectMapper.readerFor(clazz).readValues(file);
+            logger.log(Level.INFO, "Streaming items from {0} file: {1}", new Object[]{getFormat(), filePath});
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false
+            ).onClose(() -> {
+                try {
+                    iterator.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
+            String errorMsg = String.format("Failed to deserialize data from %s file: %s",
+                    getFormat(), filePath);
+            throw new DataSerializationException(errorMsg, e);
+        }
+    }
+
     protected void validateItemsForSerialization(List<T> items) throws DataSerializationException {
         if (items == null) {
             throw new DataSerializationException("Cannot serialize null list");
@@ -0,0 +1,40 @@
+package ua.onlinecourses.serializer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Compact binary format (CBOR, RFC 8949). It has the same object model as the
+ * JSON serializer, but with length-prefixed binary tokens and no whitespace.
+ */
+public class CborDataSerializer<T> extends AbstractDataSerializer<T> {
+
+    private static final Logger logger = Logger.getLogger(CborDataSerializer.class.getName());
+
+    public CborDataSerializer() {
+        super(createDefaultCborObjectMapper());
+        logger.log(Level.FINE, "CborDataSerializer initialized with binary CBOR encoding");
+    }
+
+    public CborDataSerializer(ObjectMapper objectMapper) {
+        super(objectMapper);
+        logger.log(Level.FINE, "CborDataSerializer initialized with custom ObjectMapper");
+    }
+
+    private static ObjectMapper createDefaultCborObjectMapper() {
+        ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    @Override
+    public String getFormat() {
+        return "CBOR";
+    }
+}
@@ -1,7 +1,9 @@
 package ua.onlinecourses.serializer;
 
 import ua.onlinecourses.exception.DataSerializationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface DataSerializer<T> {
 
@@ -9,5 +11,19 @@ public interface DataSerializer<T> {
 
     List<T> deserialize(String filePath, Class<T> clazz) throws DataSerializationException;
 
+    /**
+     * Writes items one by one as they are pulled from the iterator, so the whole
+     * collection never has to be in memory. Returns the number of items written.
+     */
+    long serializeIterator(Iterator<? extends T> items, String filePath) throws DataSerializationException;
+
+    long serializeStream(Stream<? extends T> items, String filePath) throws DataSerializationException;
+
+    /**
+     * Lazily reads items from a file written by {@link #serialize} or {@link #serializeIterator}.
+     * The returned stream holds the file open and must be closed.
+     */
+    Stream<T> deserializeStream(String filePath, Class<T> clazz) throws DataSerializationException;
+
     String getFormat();
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package ua.onlinecourses.serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compact binary form of one entity, for stores that keep entities as bytes rather than
+ * objects. Both methods work at the buffer's position and advance it past the record.
+ */
+public interface EntityCodec<T> {
+
+    // Throws BufferOverflowException when the record does not fit; callers retry with a larger buffer
+    void encode(T item, ByteBuffer target);
+
+    T decode(ByteBuffer source);
+}
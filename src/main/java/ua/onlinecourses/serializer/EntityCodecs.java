@@ -0,0 +1,153 @@
+package ua.onlinecourses.serializer;
+
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Mark;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.util.ValidationContext;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * {@link EntityCodec}s for the model records. Strings are an int byte count followed by
+ * UTF-8, dates are an int epoch day, and a mark is its ordinal byte, -1 for none.
+ * Decoding goes through the records' constructors, so decoded entities pass the same field
+ * checks as parsed or deserialized ones. Date windows are the exception: they move with
+ * the clock, and an entity that was valid when it was stored must still decode years
+ * later. Dated entities are therefore decoded with {@link ValidationContext} pinned to
+ * their own date, which the window always accepts.
+ */
+public final class EntityCodecs {
+
+    public static final EntityCodec<Student> STUDENT = new EntityCodec<>() {
+        @Override
+        public void encode(Student student, ByteBuffer target) {
+            putString(target, student.firstName());
+            putString(target, student.lastName());
+            putString(target, student.email());
+            putDate(target, student.enrollmentDate());
+        }
+
+        @Override
+        public Student decode(ByteBuffer source) {
+            String firstName = getString(source);
+            String lastName = getString(source);
+            String email = getString(source);
+            LocalDate enrollmentDate = getDate(source);
+            return ValidationContext.callWith(ValidationContext.of(enrollmentDate),
+                    () -> new Student(firstName, lastName, email, enrollmentDate));
+        }
+    };
+
+    public static final EntityCodec<Course> COURSE = new EntityCodec<>() {
+        @Override
+        public void encode(Course course, ByteBuffer target) {
+            putString(target, course.title());
+            putString(target, course.description());
+            target.putInt(course.credits());
+            putDate(target, course.startDate());
+        }
+
+        @Override
+        public Course decode(ByteBuffer source) {
+            String title = getString(source);
+            String description = getString(source);
+            int credits = source.getInt();
+            LocalDate startDate = getDate(source);
+            return ValidationContext.callWith(ValidationContext.of(startDate),
+                    () -> new Course(title, description, credits, startDate));
+        }
+    };
+
+    public static final EntityCodec<Instructor> INSTRUCTOR = new EntityCodec<>() {
+        @Override
+        public void encode(Instructor instructor, ByteBuffer target) {
+            putString(target, instructor.firstName());
+            putString(target, instructor.lastName());
+            target.putInt(instructor.expertise());
+        }
+
+        @Override
+        public Instructor decode(ByteBuffer source) {
+            return new Instructor(getString(source), getString(source), source.getInt());
+        }
+    };
+
+    public static final EntityCodec<myModule> MODULE = new EntityCodec<>() {
+        @Override
+        public void encode(myModule module, ByteBuffer target) {
+            putString(target, module.title());
+            putString(target, module.content());
+        }
+
+        @Override
+        public myModule decode(ByteBuffer source) {
+            return new myModule(getString(source), getString(source));
+        }
+    };
+
+    public static final EntityCodec<Assignment> ASSIGNMENT = new EntityCodec<>() {
+        @Override
+        public void encode(Assignment assignment, ByteBuffer target) {
+            MODULE.encode(assignment.module(), target);
+            putDate(target, assignment.dueDate());
+            target.putInt(assignment.maxPoints());
+            target.put(assignment.mark() == null ? -1 : (byte) assignment.mark().ordinal());
+        }
+
+        @Override
+        public Assignment decode(ByteBuffer source) {
+            myModule module = MODULE.decode(source);
+            LocalDate dueDate = getDate(source);
+            int maxPoints = source.getInt();
+            byte mark = source.get();
+            return ValidationContext.callWith(ValidationContext.of(dueDate),
+                    () -> new Assignment(module, dueDate, maxPoints, mark < 0 ? null : MARKS[mark]));
+        }
+    };
+
+    private static final Mark[] MARKS = Mark.values();
+    private static final Map<Class<?>, EntityCodec<?>> BY_TYPE = Map.of(
+            Student.class, STUDENT,
+            Course.class, COURSE,
+            Instructor.class, INSTRUCTOR,
+            myModule.class, MODULE,
+            Assignment.class, ASSIGNMENT);
+
+    private EntityCodecs() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> EntityCodec<T> forType(Class<T> type) {
+        EntityCodec<T> codec = (EntityCodec<T>) BY_TYPE.get(type);
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec for type: " + type);
+        }
+        return codec;
+    }
+
+    public static void putString(ByteBuffer target, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        target.putInt(bytes.length);
+        target.put(bytes);
+    }
+
+    public static String getString(ByteBuffer source) {
+        byte[] bytes = new byte[source.getInt()];
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putDate(ByteBuffer target, LocalDate date) {
+        target.putInt((int) date.toEpochDay());
+    }
+
+    private static LocalDate getDate(ByteBuffer source) {
+        return LocalDate.ofEpochDay(source.getInt());
+    }
+}
@@ -9,9 +9,10 @@ public class AssignmentUtils {
     }
     
     public static boolean isValidDueDate(LocalDate dueDate){
-        LocalDate minDate=LocalDate.now().minusYears(1);
-        LocalDate maxDate=LocalDate.now().plusYears(1);
-        return ValidationHelper.isDateBetween (dueDate, minDate, maxDate);
-        
+        return isValidDueDate(dueDate, ValidationContext.current());
+    }
+
+    public static boolean isValidDueDate(LocalDate dueDate, ValidationContext context){
+        return context.isWithinYear(dueDate);
     }
 }
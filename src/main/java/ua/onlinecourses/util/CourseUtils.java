@@ -8,10 +8,11 @@ public class CourseUtils {
     }
     
     public static boolean isValidstartDate(LocalDate startDate){
-        LocalDate minDate=LocalDate.now().minusYears(1);
-        LocalDate maxDate=LocalDate.now().plusYears(1);
-        return ValidationHelper.isDateBetween (startDate, minDate, maxDate);
-        
+        return isValidstartDate(startDate, ValidationContext.current());
+    }
+
+    public static boolean isValidstartDate(LocalDate startDate, ValidationContext context){
+        return context.isWithinYear(startDate);
     }
      public static boolean isValidCredit(int credit){
         return ValidationHelper.isNumberBetween (credit, 1, 5);
@@ -0,0 +1,58 @@
+package ua.onlinecourses.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Process-wide operation counters for hot paths that used to log every call.
+ *
+ * <p>Callers look a counter up once, keep the returned {@link LongAdder} in a field and
+ * increment it per operation, which costs a few nanoseconds and allocates nothing. The
+ * detail that used to be logged per entity stays available at {@code FINE}/{@code FINEST},
+ * and the totals can be read with {@link #snapshot()} or logged with {@link #logSummary}.</p>
+ */
+public final class Diagnostics {
+
+    private static final Logger logger = Logger.getLogger(Diagnostics.class.getName());
+
+    private static final ConcurrentMap<String, LongAdder> counters = new ConcurrentSkipListMap<>();
+
+    private Diagnostics() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static LongAdder counter(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Counter name cannot be null or empty");
+        }
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static long count(String name) {
+        LongAdder counter = counters.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    // Counter name -> current value, sorted by name
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    // Zeroes every counter; handles held by callers stay valid
+    public static void reset() {
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    public static void logSummary(Level level) {
+        if (logger.isLoggable(level)) {
+            logger.log(level, "Diagnostics counters: {0}", snapshot());
+        }
+    }
+}
@@ -2,8 +2,12 @@
 package ua.onlinecourses.util;
 
 import java.time.LocalDate;
+import java.util.regex.Pattern;
 
 public class StudentUtils {
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[\\w.-]+@[\\w-]+(\\.[\\w-]+)*\\.[a-zA-Z]{2,}$");
+
     public StudentUtils(){
     }
     public static String formatName(String firstName, String lastName) {
@@ -43,7 +47,7 @@ public class StudentUtils {
     }
     
      public static boolean isValidEmail(String email){
-        return ValidationHelper.isStringMatchPattern(email, "^[\\w.-]+@[\\w-]+(\\.[\\w-]+)*\\.[a-zA-Z]{2,}$");
+        return ValidationHelper.isStringMatchPattern(email, EMAIL_PATTERN);
     }
      
     public static boolean isValidName(String name){
@@ -51,8 +55,11 @@ public class StudentUtils {
     }
     
     public static boolean isValidEnrollmentDate(LocalDate date){
-        LocalDate minDate = LocalDate.now().minusYears(5);
-        return date.isAfter(minDate) && date.getYear()<=LocalDate.now().getYear();
+        return isValidEnrollmentDate(date, ValidationContext.current());
+    }
+
+    public static boolean isValidEnrollmentDate(LocalDate date, ValidationContext context){
+        return context.isValidEnrollmentDate(date);
     }
     
 }
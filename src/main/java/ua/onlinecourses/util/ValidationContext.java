@@ -0,0 +1,117 @@
+package ua.onlinecourses.util;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * "Today" and the date bounds derived from it, shared by the date validators.
+ *
+ * <p>The bounds used to be recomputed with {@code LocalDate.now()} on every validation.
+ * {@link #current()} now computes them once per day of the configured clock and hands the
+ * same instance to every caller until midnight, so validating a batch costs one clock read
+ * per entity. A batch that must be validated against one fixed date, or a test, can pin the
+ * clock with {@link #setClock(Clock)}.</p>
+ *
+ * <p>{@link #callWith} pins a context for the current thread only. Storage codecs use it to
+ * rebuild entities they accepted earlier without checking them against a later date.</p>
+ */
+public final class ValidationContext {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static volatile ValidationContext cached;
+    private static final ThreadLocal<ValidationContext> PINNED = new ThreadLocal<>();
+
+    private final Clock source;
+    private final LocalDate today;
+    private final long validUntilMillis;
+    private final LocalDate fiveYearsAgo;
+    private final LocalDate yearAgo;
+    private final LocalDate yearAhead;
+
+    private ValidationContext(Clock source, LocalDate today, long validUntilMillis) {
+        this.source = source;
+        this.today = today;
+        this.validUntilMillis = validUntilMillis;
+        this.fiveYearsAgo = today.minusYears(5);
+        this.yearAgo = today.minusYears(1);
+        this.yearAhead = today.plusYears(1);
+    }
+
+    public static ValidationContext current() {
+        ValidationContext pinned = PINNED.get();
+        if (pinned != null) {
+            return pinned;
+        }
+        ValidationContext context = cached;
+        Clock activeClock = clock;
+        if (context == null || context.source != activeClock || activeClock.millis() >= context.validUntilMillis) {
+            context = forClock(activeClock);
+            cached = context;
+        }
+        return context;
+    }
+
+    // Context pinned to one date, for callers that pass it explicitly
+    public static ValidationContext of(LocalDate today) {
+        if (today == null) {
+            throw new IllegalArgumentException("Date cannot be null");
+        }
+        return new ValidationContext(null, today, Long.MAX_VALUE);
+    }
+
+    // Runs action on this thread with current() returning context
+    public static <T> T callWith(ValidationContext context, Supplier<T> action) {
+        if (context == null) {
+            throw new IllegalArgumentException("Context cannot be null");
+        }
+        ValidationContext previous = PINNED.get();
+        PINNED.set(context);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+
+    public static void setClock(Clock newClock) {
+        if (newClock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        clock = newClock;
+    }
+
+    public static void resetClock() {
+        clock = Clock.systemDefaultZone();
+    }
+
+    public static Clock getClock() {
+        return clock;
+    }
+
+    private static ValidationContext forClock(Clock source) {
+        ZoneId zone = source.getZone();
+        LocalDate today = LocalDate.now(source);
+        long nextMidnight = today.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new ValidationContext(source, today, nextMidnight);
+    }
+
+    public LocalDate today() {
+        return today;
+    }
+
+    // Enrolled within the last five years and not in a future year
+    public boolean isValidEnrollmentDate(LocalDate date) {
+        return date.isAfter(fiveYearsAgo) && date.getYear() <= today.getYear();
+    }
+
+    // Strictly between one year ago and one year ahead
+    public boolean isWithinYear(LocalDate date) {
+        return date.isAfter(yearAgo) && date.isBefore(yearAhead);
+    }
+}
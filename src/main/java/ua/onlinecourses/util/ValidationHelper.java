@@ -1,14 +1,27 @@
-
 package ua.onlinecourses.util;
 
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 class ValidationHelper {
     
     final static String DATE_FORMAT = "dd-MM-yyyy";
+
+    // SimpleDateFormat is not thread-safe, so each thread reuses its own instead of creating one per call
+    private static final ThreadLocal<DateFormat> DATE_FORMATS = ThreadLocal.withInitial(() -> {
+        DateFormat df = new SimpleDateFormat(DATE_FORMAT);
+        df.setLenient(false);
+        return df;
+    });
+
+    // Compiled patterns by source, so callers passing a regex string compile it only once.
+    // Bounded because the sources come from callers; past the limit patterns are compiled per call
+    static final int MAX_CACHED_PATTERNS = 64;
+    private static final Map<String, Pattern> PATTERNS = new ConcurrentHashMap<>();
     
     private ValidationHelper(){
     }
@@ -17,27 +30,51 @@ class ValidationHelper {
         if (text == null || pattern == null){
             return false;
         }
-        return Pattern.matches(pattern, text);
+        Pattern compiled = PATTERNS.get(pattern);
+        if (compiled == null) {
+            compiled = Pattern.compile(pattern);
+            if (PATTERNS.size() < MAX_CACHED_PATTERNS) {
+                PATTERNS.putIfAbsent(pattern, compiled);
+            }
+        }
+        return isStringMatchPattern(text, compiled);
+    }
+
+    static boolean isStringMatchPattern(String text, Pattern pattern){
+        if (text == null || pattern == null){
+            return false;
+        }
+        return pattern.matcher(text).matches();
     }
 
     static boolean isNumberBetween(int number, int min, int max) {
         return number >= min && number <= max;
     }
 
+    // Same as text.trim().length() between min and max, without allocating the trimmed copy
     static boolean isStringLengthBetween(String text, int min, int max) {
         if (text == null) {
             return false;
         }
-        int length = text.trim().length();
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        int length = end - start;
         return length >= min && length <= max;  
     }
     
     static boolean isDateValid(String date)
 {
+        if (date == null) {
+            return false;
+        }
         try {
-            DateFormat df = new SimpleDateFormat(DATE_FORMAT);
-            df.setLenient(false);
-            df.parse(date);
+            DATE_FORMATS.get().parse(date);
             return true;
         } catch (ParseException e) {
             return false;
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("AppConfig Tests")
@@ -56,6 +60,23 @@ class AppConfigTest {
         assertEquals(42, value);
     }
 
+    @Test
+    @DisplayName("getLongProperty should read values beyond the int range and fall back to the default")
+    void testGetLongProperty() throws IOException {
+        Path file = Files.createTempFile("long-config", ".properties");
+        try {
+            Files.writeString(file, "test.long.property=4294967296\ntest.invalid.long=not-a-number\n");
+            AppConfig longConfig = new AppConfig(file.toString());
+
+            assertEquals(4_294_967_296L, longConfig.getLongProperty("test.long.property", 0L));
+            assertEquals(7L, longConfig.getLongProperty("test.invalid.long", 7L));
+            assertEquals(7L, longConfig.getLongProperty("non.existent.key", 7L));
+            assertEquals(20240901L, config.getLongProperty("test.data.seed", 0L));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     @DisplayName("getBooleanProperty should return boolean value")
     void testGetBooleanProperty() {
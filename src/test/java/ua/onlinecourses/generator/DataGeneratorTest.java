@@ -0,0 +1,143 @@
+package ua.onlinecourses.generator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.parser.CourseFileParser;
+import ua.onlinecourses.parser.InstructorFileParser;
+import ua.onlinecourses.parser.ModuleFileParser;
+import ua.onlinecourses.parser.StudentFileParser;
+import ua.onlinecourses.repository.AssignmentRepository;
+import ua.onlinecourses.repository.CourseRepository;
+import ua.onlinecourses.repository.InstructorRepository;
+import ua.onlinecourses.repository.ModuleRepository;
+import ua.onlinecourses.repository.StudentRepository;
+import ua.onlinecourses.serializer.JsonDataSerializer;
+import ua.onlinecourses.serializer.YamlDataSerializer;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DataGenerator Tests")
+class DataGeneratorTest {
+
+    private static final String TEST_DIR = "./test_data_generator";
+    private static final int COUNT = 2000;
+
+    @AfterEach
+    void tearDown() {
+        File dir = new File(TEST_DIR);
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    @DisplayName("Same seed produces the same entities, different seeds differ")
+    void testDeterminism() {
+        DataGenerator first = new DataGenerator(7L);
+        DataGenerator second = new DataGenerator(7L, first.getReferenceDate());
+        DataGenerator other = new DataGenerator(8L, first.getReferenceDate());
+
+        assertEquals(first.students(100).collect(Collectors.toList()),
+                second.students(100).collect(Collectors.toList()));
+        assertEquals(first.assignments(100).collect(Collectors.toList()),
+                second.assignments(100).collect(Collectors.toList()));
+        assertNotEquals(first.students(100).collect(Collectors.toList()),
+                other.students(100).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Entity depends only on its index")
+    void testIndexAddressable() {
+        DataGenerator generator = new DataGenerator(7L);
+        List<Course> courses = generator.courses(50).collect(Collectors.toList());
+
+        assertEquals(courses.get(42), generator.course(42));
+        assertEquals(courses, generator.courses(50).parallel().collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Generated entities have distinct identities in every repository")
+    void testUniqueIdentities() {
+        DataGenerator generator = new DataGenerator();
+
+        StudentRepository students = new StudentRepository();
+        CourseRepository courses = new CourseRepository();
+        InstructorRepository instructors = new InstructorRepository();
+        ModuleRepository modules = new ModuleRepository();
+        AssignmentRepository assignments = new AssignmentRepository();
+
+        generator.students(COUNT).forEach(students::add);
+        generator.courses(COUNT).forEach(courses::add);
+        generator.instructors(COUNT).forEach(instructors::add);
+        generator.modules(COUNT).forEach(modules::add);
+        generator.assignments(COUNT).forEach(assignments::add);
+
+        assertEquals(COUNT, students.size());
+        assertEquals(COUNT, courses.size());
+        assertEquals(COUNT, instructors.size());
+        assertEquals(COUNT, modules.size());
+        assertEquals(COUNT, assignments.size());
+    }
+
+    @Test
+    @DisplayName("CSV output is read back by the file parsers")
+    void testCsvRoundTrip() throws Exception {
+        DataGenerator generator = new DataGenerator();
+
+        assertEquals(COUNT, generator.write(Student.class, COUNT, "csv", TEST_DIR + "/students.csv"));
+        assertEquals(COUNT, generator.write(Course.class, COUNT, "CSV", TEST_DIR + "/courses.csv"));
+        assertEquals(COUNT, generator.write(Instructor.class, COUNT, "CSV", TEST_DIR + "/instructors.csv"));
+        assertEquals(COUNT, generator.write(myModule.class, COUNT, "CSV", TEST_DIR + "/modules.csv"));
+
+        assertEquals(generator.students(COUNT).collect(Collectors.toList()),
+                StudentFileParser.parseFromCSV(TEST_DIR + "/students.csv"));
+        assertEquals(generator.courses(COUNT).collect(Collectors.toList()),
+                CourseFileParser.parseFromCSV(TEST_DIR + "/courses.csv"));
+        assertEquals(generator.instructors(COUNT).collect(Collectors.toList()),
+                InstructorFileParser.parseFromCSV(TEST_DIR + "/instructors.csv"));
+        assertEquals(generator.modules(COUNT).collect(Collectors.toList()),
+                ModuleFileParser.parseFromCSV(TEST_DIR + "/modules.csv"));
+    }
+
+    @Test
+    @DisplayName("JSON and YAML output round-trips through the serializers")
+    void testSerializedRoundTrip() throws DataSerializationException {
+        DataGenerator generator = new DataGenerator();
+
+        generator.write(Course.class, COUNT, "JSON", TEST_DIR + "/courses.json");
+        generator.write(Instructor.class, COUNT, "YAML", TEST_DIR + "/instructors.yaml");
+
+        assertEquals(generator.courses(COUNT).collect(Collectors.toList()),
+                new JsonDataSerializer<Course>().deserialize(TEST_DIR + "/courses.json", Course.class));
+        assertEquals(generator.instructors(COUNT).collect(Collectors.toList()),
+                new YamlDataSerializer<Instructor>().deserialize(TEST_DIR + "/instructors.yaml", Instructor.class));
+    }
+
+    @Test
+    @DisplayName("Invalid arguments are rejected")
+    void testInvalidArguments() {
+        DataGenerator generator = new DataGenerator();
+
+        assertThrows(IllegalArgumentException.class, () -> new DataGenerator(1L, null));
+        assertThrows(IllegalArgumentException.class, () -> generator.students(-1));
+        assertThrows(IllegalArgumentException.class, () -> generator.stream(String.class, 1));
+        assertThrows(DataSerializationException.class,
+                () -> generator.write(Student.class, 1, "XML", TEST_DIR + "/students.xml"));
+        assertThrows(DataSerializationException.class,
+                () -> generator.write(Student.class, 1, "JSON", " "));
+    }
+}
@@ -0,0 +1,90 @@
+package ua.onlinecourses.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Identity Key Tests")
+class IdentityKeysTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(10);
+
+    @Test
+    @DisplayName("compareTo orders like the built full names")
+    void testCompareToMatchesFullNames() {
+        DataGenerator generator = new DataGenerator(7L);
+        List<Course> courses = generator.courses(300).collect(Collectors.toList());
+        courses.add(new Course("java", "Streams", 3, DATE));
+        courses.add(new Course("JAVA", "streams", 3, DATE.plusDays(1)));
+        courses.add(new Course("Ärzte", "Übungen", 2, DATE));
+        List<Instructor> instructors = generator.instructors(300).collect(Collectors.toList());
+        instructors.add(new Instructor("Olena", "Koval", 9));
+        instructors.add(new Instructor("Olena", "Koval", 10));
+        instructors.add(new Instructor("Ольга", "Шевчук", 12));
+        List<myModule> modules = generator.modules(300).collect(Collectors.toList());
+        modules.add(new myModule("straße", "Inhalt"));
+        modules.add(new myModule("Intro", "basics"));
+
+        assertSameOrder(courses, Course::getFullName);
+        assertSameOrder(instructors, Instructor::getFullName);
+        assertSameOrder(modules, myModule::getFullName);
+    }
+
+    @Test
+    @DisplayName("Full names and identities keep their format")
+    void testFullNameFormat() {
+        myModule module = new myModule("straße", "intro");
+
+        assertEquals("JAV-STR-3" + DATE, new Course("java", "streams", 3, DATE).getFullName());
+        assertEquals("OLEKOV-9", new Instructor("Olena", "Koval", 9).getFullName());
+        assertEquals("STR-INT", module.getFullName());
+        assertEquals("STR-INT-" + DATE, new Assignment(module, DATE, 50, Mark.GOOD).getIdentity());
+    }
+
+    @Test
+    @DisplayName("The locale-sensitive path matches String.toUpperCase")
+    void testTurkishLocale() {
+        Locale saved = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            myModule module = new myModule("intro", "basics");
+
+            assertEquals("intro".substring(0, 3).toUpperCase() + "-BAS", module.getFullName());
+            assertSameOrder(List.of(module, new myModule("Intro", "basics"), new myModule("Izmir", "basics")),
+                    myModule::getFullName);
+        } finally {
+            Locale.setDefault(saved);
+        }
+    }
+
+    @Test
+    @DisplayName("compareDecimalText orders numbers as text")
+    void testCompareDecimalText() {
+        int[] values = {0, 1, 5, 9, 10, 19, 100, 2, 20, 60, 99, 1000};
+        for (int first : values) {
+            for (int second : values) {
+                assertEquals(Integer.signum(Integer.toString(first).compareTo(Integer.toString(second))),
+                        Integer.signum(IdentityKeys.compareDecimalText(first, second)), first + " vs " + second);
+            }
+        }
+    }
+
+    private static <T extends Comparable<T>> void assertSameOrder(List<T> items, Function<T, String> fullName) {
+        List<T> all = new ArrayList<>(items);
+        for (T first : all) {
+            for (T second : all) {
+                assertEquals(Integer.signum(fullName.apply(first).compareTo(fullName.apply(second))),
+                        Integer.signum(first.compareTo(second)), first + " vs " + second);
+            }
+        }
+    }
+}
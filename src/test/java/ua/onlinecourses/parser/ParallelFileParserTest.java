@@ -0,0 +1,127 @@
+package ua.onlinecourses.parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Parallel File Parser Tests")
+class ParallelFileParserTest {
+
+    private Path dir;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("parallel-parser");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        pool.shutdownNow();
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 7, 64, 4096, 0})
+    @DisplayName("Any chunk size yields the sequential result in line order")
+    void testMatchesSequential(int chunkSize) throws Exception {
+        Path file = dir.resolve("students.csv");
+        List<String> lines = new ArrayList<>();
+        new DataGenerator().students(2_000).map(DataGenerator::toCsvLine).forEach(lines::add);
+        lines.add(500, "Ivan,Bondaryk,not-an-email,2024-09-03");
+        lines.add(1000, "# comment");
+        lines.add(1500, "   ");
+        lines.add(1800, "Too,Few,fields");
+        // Non-ASCII content and CRLF line endings must survive chunk boundaries
+        lines.add(10, "Олена,Шевченко,olena.shevchenko@chnu.edu.ua,2024-09-01\r");
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        List<Student> sequential = StudentFileParser.parseFromCSV(file.toString());
+        List<Student> parallel = CsvFileReader.parseParallel(file.toString(), "students",
+                StudentFileParser::parseStudentFromLine, pool, chunkSize);
+
+        assertEquals(2_001, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"\r", "\r\n"})
+    @DisplayName("CR and CRLF line endings split lines like the sequential reader")
+    void testCarriageReturnLineEndings(String separator) throws Exception {
+        Path file = dir.resolve("students.csv");
+        List<String> lines = new ArrayList<>();
+        new DataGenerator().students(500).map(DataGenerator::toCsvLine).forEach(lines::add);
+        lines.add(100, "");
+        lines.add(200, "Too,Few,fields");
+        Files.writeString(file, String.join(separator, lines) + separator, StandardCharsets.UTF_8);
+
+        List<Student> sequential = StudentFileParser.parseFromCSV(file.toString());
+        assertEquals(500, sequential.size());
+        for (int chunkSize : new int[]{1, 7, 64, 0}) {
+            assertEquals(sequential, CsvFileReader.parseParallel(file.toString(), "students",
+                    StudentFileParser::parseStudentFromLine, pool, chunkSize));
+        }
+    }
+
+    @Test
+    @DisplayName("Public entry points parse every entity type")
+    void testAllParsers() throws Exception {
+        DataGenerator generator = new DataGenerator();
+        Path courses = dir.resolve("courses.csv");
+        Path instructors = dir.resolve("instructors.csv");
+        Path modules = dir.resolve("modules.csv");
+        generator.write(Course.class, 3_000, "CSV", courses.toString());
+        generator.write(Instructor.class, 3_000, "CSV", instructors.toString());
+        generator.write(myModule.class, 3_000, "CSV", modules.toString());
+
+        assertEquals(generator.courses(3_000).collect(Collectors.toList()),
+                CourseFileParser.parseFromCSVParallel(courses.toString(), pool));
+        assertEquals(generator.instructors(3_000).collect(Collectors.toList()),
+                InstructorFileParser.parseFromCSVParallel(instructors.toString()));
+        assertEquals(generator.modules(3_000).collect(Collectors.toList()),
+                ModuleFileParser.parseFromCSVParallel(modules.toString(), pool));
+    }
+
+    @Test
+    @DisplayName("Empty and missing files")
+    void testEmptyAndMissing() throws Exception {
+        Path empty = Files.createFile(dir.resolve("empty.csv"));
+
+        assertTrue(StudentFileParser.parseFromCSVParallel(empty.toString(), pool).isEmpty());
+        assertThrows(IOException.class, () -> StudentFileParser.parseFromCSVParallel(dir.resolve("missing.csv").toString()));
+    }
+
+    @Test
+    @DisplayName("Default chunk size stays within bounds")
+    void testDefaultChunkSize() {
+        assertEquals(CsvFileReader.MIN_CHUNK_SIZE, CsvFileReader.defaultChunkSize(10, 16));
+        assertEquals(CsvFileReader.MAX_CHUNK_SIZE, CsvFileReader.defaultChunkSize(1L << 40, 16));
+        assertEquals(4 << 20, CsvFileReader.defaultChunkSize(256L << 20, 16));
+    }
+}
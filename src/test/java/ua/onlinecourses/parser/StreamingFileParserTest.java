@@ -0,0 +1,101 @@
+package ua.onlinecourses.parser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Streaming File Parser Tests")
+class StreamingFileParserTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("streaming-parser");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    @DisplayName("streamFromCSV yields the same entities as parseFromCSV, skipping invalid lines")
+    void testStreamMatchesList() throws Exception {
+        Path file = dir.resolve("students.csv");
+        Files.write(file, List.of(
+                "# firstName,lastName,email,enrollmentDate",
+                "Lesia,Melnyk,lesia.melnyk@chnu.edu.ua,2024-09-01",
+                "",
+                "Ivan,Bondaryk,not-an-email,2024-09-03",
+                "Too,Few,fields",
+                "Daniel,Lula,daniel.lula@chnu.edu.ua,2024-09-02"));
+
+        List<Student> streamed;
+        try (Stream<Student> students = StudentFileParser.streamFromCSV(file.toString())) {
+            streamed = students.collect(Collectors.toList());
+        }
+
+        assertEquals(List.of("lesia.melnyk@chnu.edu.ua", "daniel.lula@chnu.edu.ua"),
+                streamed.stream().map(Student::email).collect(Collectors.toList()));
+        assertEquals(streamed, StudentFileParser.parseFromCSV(file.toString()));
+    }
+
+    @Test
+    @DisplayName("streamFromCSV is lazy and can stop early")
+    void testLazyConsumption() throws Exception {
+        Path file = dir.resolve("courses.csv");
+        new DataGenerator().write(Course.class, 5_000, "CSV", file.toString());
+
+        try (Stream<Course> courses = CourseFileParser.streamFromCSV(file.toString())) {
+            assertEquals(new DataGenerator().courses(3).collect(Collectors.toList()),
+                    courses.limit(3).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("All parsers stream generated files completely")
+    void testAllParsers() throws Exception {
+        DataGenerator generator = new DataGenerator();
+        Path instructors = dir.resolve("instructors.csv");
+        Path modules = dir.resolve("modules.csv");
+        generator.write(Instructor.class, 1_000, "CSV", instructors.toString());
+        generator.write(myModule.class, 1_000, "CSV", modules.toString());
+
+        try (Stream<Instructor> stream = InstructorFileParser.streamFromCSV(instructors.toString())) {
+            assertEquals(1_000, stream.count());
+        }
+        try (Stream<myModule> stream = ModuleFileParser.streamFromCSV(modules.toString())) {
+            assertEquals(generator.modules(1_000).collect(Collectors.toList()), stream.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    @DisplayName("streamFromCSV resolves classpath resources and rejects missing files")
+    void testResolution() throws Exception {
+        try (Stream<Student> students = StudentFileParser.streamFromCSV("students.csv")) {
+            assertTrue(students.count() > 0);
+        }
+        assertThrows(IOException.class, () -> StudentFileParser.streamFromCSV(dir.resolve("missing.csv").toString()));
+    }
+}
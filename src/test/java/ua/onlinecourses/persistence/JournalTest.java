@@ -0,0 +1,521 @@
+package ua.onlinecourses.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.repository.AssignmentRepository;
+import ua.onlinecourses.repository.StudentRepository;
+import ua.onlinecourses.serializer.EntityCodec;
+import ua.onlinecourses.serializer.EntityCodecs;
+import ua.onlinecourses.util.ValidationContext;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Journal Tests")
+class JournalTest {
+
+    private Path dir;
+    private Path snapshotFile;
+    private Path journalFile;
+    private Path previousFile;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("journal");
+        snapshotFile = dir.resolve("students.snapshot");
+        journalFile = dir.resolve("students.journal");
+        previousFile = dir.resolve("students.journal.previous");
+        students = new DataGenerator().students(100).collect(Collectors.toList());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private Journal<Student> open(StudentRepository repository, long compactThreshold)
+            throws DataSerializationException {
+        return Journal.open(repository, snapshotFile, journalFile, EntityCodecs.STUDENT, Student::email,
+                compactThreshold);
+    }
+
+    @Test
+    @DisplayName("Save appends only the changes since the last save")
+    void testSaveAppendsDelta() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students);
+            assertEquals(students.size(), journal.getPendingCount());
+            assertEquals(students.size(), journal.save());
+            long afterBatch = journal.getJournalSize();
+
+            repository.remove(students.get(0));
+            assertEquals(1, journal.save());
+            long afterRemove = journal.getJournalSize();
+
+            assertEquals(0, journal.save());
+            assertEquals(afterRemove, journal.getJournalSize());
+            assertTrue(afterRemove - afterBatch < afterBatch / students.size() * 2);
+        }
+    }
+
+    @Test
+    @DisplayName("Reopening recovers adds, removes, clear and replaceAll in order")
+    void testRecovery() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students.subList(0, 10));
+            journal.save();
+            repository.clear();
+            repository.addAll(students.subList(10, 20));
+            repository.removeByIdentity(students.get(10).email());
+            journal.save();
+            repository.replaceAll(students.subList(20, 25));
+            repository.add(students.get(30));
+        }
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(repository.getAll(), recovered.getAll());
+            assertEquals(0, journal.getPendingCount());
+
+            recovered.remove(students.get(30));
+            journal.save();
+        }
+
+        StudentRepository again = new StudentRepository();
+        try (Journal<Student> journal = open(again, Long.MAX_VALUE)) {
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(students.subList(20, 25), again.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("A torn entry at the end of the journal is discarded and truncated")
+    void testTornTail() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        long validSize;
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students.subList(0, 5));
+            journal.save();
+            validSize = journal.getJournalSize();
+        }
+        Files.write(journalFile, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 5), recovered.getAll());
+            assertEquals(validSize, Files.size(journalFile));
+
+            recovered.add(students.get(5));
+            journal.save();
+        }
+
+        StudentRepository again = new StudentRepository();
+        try (Journal<Student> journal = open(again, Long.MAX_VALUE)) {
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(students.subList(0, 6), again.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("An entry with a bad checksum ends the replay")
+    void testCorruptEntry() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.add(students.get(0));
+            journal.save();
+            repository.add(students.get(1));
+            journal.save();
+        }
+        byte[] bytes = Files.readAllBytes(journalFile);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(journalFile, bytes);
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(List.of(students.get(0)), recovered.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Passing the threshold folds the journal into a snapshot")
+    void testCompaction() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, 1024)) {
+            repository.addAll(students.subList(0, 50));
+            journal.save();
+            repository.add(students.get(50));
+            journal.save();
+        }
+
+        assertTrue(Files.exists(snapshotFile));
+        assertFalse(Files.exists(previousFile));
+        assertEquals(50, MappedSnapshot.open(snapshotFile, EntityCodecs.STUDENT).size());
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 51), recovered.getAll());
+
+            journal.compact();
+            assertEquals(0, journal.getJournalSize());
+            assertEquals(51, MappedSnapshot.open(snapshotFile, EntityCodecs.STUDENT).size());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed snapshot write is thrown by compact and close, and kept for a retry")
+    void testCompactionFailure() throws Exception {
+        // A non-empty directory where the snapshot's temporary file goes makes the write fail
+        Path blocked = dir.resolve("students.snapshot.tmp");
+        Path blocker = blocked.resolve("blocker");
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students.subList(0, 10));
+            Files.createFile(Files.createDirectory(blocked).resolve("blocker"));
+            assertThrows(DataSerializationException.class, journal::compact);
+            assertTrue(Files.exists(previousFile));
+
+            Files.delete(blocker);
+            Files.delete(blocked);
+            journal.compact();
+            assertFalse(Files.exists(previousFile));
+            assertEquals(10, MappedSnapshot.open(snapshotFile, EntityCodecs.STUDENT).size());
+        }
+
+        StudentRepository reloaded = new StudentRepository();
+        Journal<Student> journal = open(reloaded, 1024);
+        reloaded.addAll(students.subList(10, 60));
+        Files.createFile(Files.createDirectory(blocked).resolve("blocker"));
+        journal.save();
+        assertThrows(DataSerializationException.class, journal::close);
+        Files.delete(blocker);
+        Files.delete(blocked);
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> reopened = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 60), recovered.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed rotation leaves the journal open for later saves")
+    void testRotationFailure() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students.subList(0, 5));
+            journal.save();
+            // A non-empty directory in place of the rotated journal makes the rotation fail
+            Path blocker = Files.createFile(Files.createDirectory(previousFile).resolve("blocker"));
+            assertThrows(DataSerializationException.class, journal::compact);
+            Files.delete(blocker);
+            Files.delete(previousFile);
+
+            repository.add(students.get(5));
+            assertEquals(1, journal.save());
+            assertTrue(journal.getJournalSize() > 0);
+            journal.compact();
+        }
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 6), recovered.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("A rotated journal left by an interrupted compaction is replayed first")
+    void testLeftoverPreviousJournal() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.addAll(students.subList(0, 3));
+            journal.save();
+        }
+        Files.move(journalFile, previousFile);
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 3), recovered.getAll());
+            assertEquals(0, journal.getJournalSize());
+            recovered.remove(students.get(0));
+            journal.compact();
+        }
+
+        assertFalse(Files.exists(previousFile));
+        StudentRepository compacted = new StudentRepository();
+        try (Journal<Student> journal = open(compacted, Long.MAX_VALUE)) {
+            assertEquals(0, journal.getPendingCount());
+            assertEquals(students.subList(1, 3), compacted.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("Recovery does not re-check dates against a later clock")
+    void testRecoveryAfterClockMoves() throws Exception {
+        Path assignmentSnapshot = dir.resolve("assignments.snapshot");
+        Path assignmentJournal = dir.resolve("assignments.journal");
+        Assignment snapshotted = new Assignment(new myModule("Algorithms", "Sorting"), LocalDate.now(), 40, null);
+        Assignment journaled = new Assignment(new myModule("Databases", "Indexes"), LocalDate.now(), 60, null);
+        AssignmentRepository repository = new AssignmentRepository();
+        try (Journal<Assignment> journal = Journal.open(repository, assignmentSnapshot, assignmentJournal,
+                EntityCodecs.ASSIGNMENT, Assignment::getIdentity, Long.MAX_VALUE)) {
+            repository.add(snapshotted);
+            journal.compact();
+            repository.add(journaled);
+        }
+
+        ValidationContext.setClock(Clock.offset(Clock.systemDefaultZone(), Duration.ofDays(3 * 366)));
+        try {
+            AssignmentRepository recovered = new AssignmentRepository();
+            try (Journal<Assignment> journal = Journal.open(recovered, assignmentSnapshot, assignmentJournal,
+                    EntityCodecs.ASSIGNMENT, Assignment::getIdentity, Long.MAX_VALUE)) {
+                assertEquals(List.of(snapshotted, journaled), recovered.getAll());
+                assertEquals(0, journal.getPendingCount());
+            }
+        } finally {
+            ValidationContext.resetClock();
+        }
+    }
+
+    @Test
+    @DisplayName("An entry that fails to decode is reported as DataSerializationException")
+    void testDecodeFailure() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        try (Journal<Student> journal = open(repository, Long.MAX_VALUE)) {
+            repository.add(students.get(0));
+            assertEquals(1, journal.save());
+        }
+        EntityCodec<Student> rejecting = new EntityCodec<>() {
+            @Override
+            public void encode(Student student, ByteBuffer target) {
+                EntityCodecs.STUDENT.encode(student, target);
+            }
+
+            @Override
+            public Student decode(ByteBuffer source) {
+                throw new InvalidDataException("Invalid parameters");
+            }
+        };
+
+        DataSerializationException e = assertThrows(DataSerializationException.class, () ->
+                Journal.open(new StudentRepository(), snapshotFile, journalFile, rejecting, Student::email, 1024));
+        assertInstanceOf(InvalidDataException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("A failed append is cut off, so the saves after it survive recovery")
+    void testPartialWrite() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        FaultyChannel[] channel = new FaultyChannel[1];
+        try (Journal<Student> journal = Journal.open(repository, snapshotFile, journalFile, EntityCodecs.STUDENT,
+                Student::email, Long.MAX_VALUE, path -> channel[0] = new FaultyChannel(Journal.openForAppend(path)))) {
+            repository.addAll(students.subList(0, 5));
+            journal.save();
+            long committed = journal.getJournalSize();
+
+            repository.add(students.get(5));
+            channel[0].failNextWrite = true;
+            assertThrows(DataSerializationException.class, journal::save);
+            assertEquals(committed, Files.size(journalFile));
+            assertEquals(1, journal.getPendingCount());
+
+            repository.add(students.get(6));
+            assertEquals(2, journal.save());
+        }
+
+        StudentRepository recovered = new StudentRepository();
+        try (Journal<Student> journal = open(recovered, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 7), recovered.getAll());
+        }
+    }
+
+    @Test
+    @DisplayName("A failed append that cannot be cut off makes the journal refuse further saves")
+    void testPartialWriteNotRemoved() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        FaultyChannel[] channel = new FaultyChannel[1];
+        Journal<Student> journal = Journal.open(repository, snapshotFile, journalFile, EntityCodecs.STUDENT,
+                Student::email, Long.MAX_VALUE, path -> channel[0] = new FaultyChannel(Journal.openForAppend(path)));
+        repository.add(students.get(0));
+        channel[0].failNextWrite = true;
+        channel[0].failTruncate = true;
+        assertThrows(DataSerializationException.class, journal::save);
+
+        repository.add(students.get(1));
+        assertThrows(DataSerializationException.class, journal::save);
+        assertThrows(DataSerializationException.class, journal::close);
+    }
+
+    @Test
+    @DisplayName("Close detaches the journal, and a second journal on the same repository is refused")
+    void testOneJournalPerRepository() throws Exception {
+        StudentRepository repository = new StudentRepository();
+        Journal<Student> journal = open(repository, Long.MAX_VALUE);
+        repository.addAll(students.subList(0, 5));
+        journal.save();
+        repository.add(students.get(5));
+
+        assertThrows(DataSerializationException.class, () -> open(repository, Long.MAX_VALUE));
+        assertEquals(students.subList(0, 6), repository.getAll());
+        assertEquals(1, journal.getPendingCount());
+
+        journal.close();
+        journal.close();
+        assertFalse(repository.getIndexNames().contains("journal"));
+        repository.add(students.get(6));
+        assertEquals(0, journal.getPendingCount());
+        assertThrows(DataSerializationException.class, journal::save);
+
+        try (Journal<Student> reopened = open(repository, Long.MAX_VALUE)) {
+            assertEquals(students.subList(0, 6), repository.getAll());
+            assertEquals(0, reopened.getPendingCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Open rejects missing arguments and a non-positive threshold")
+    void testInvalidArguments() {
+        assertThrows(DataSerializationException.class, () -> Journal.open(null, snapshotFile, journalFile,
+                EntityCodecs.STUDENT, Student::email, 1024));
+        assertThrows(DataSerializationException.class, () -> open(new StudentRepository(), 0));
+    }
+
+    // Delegates to a real channel, but can write half a buffer and then fail, or refuse to truncate
+    private static final class FaultyChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private boolean failNextWrite;
+        private boolean failTruncate;
+
+        FaultyChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (failNextWrite) {
+                failNextWrite = false;
+                ByteBuffer half = src.slice().limit(src.remaining() / 2);
+                src.position(src.position() + delegate.write(half));
+                throw new IOException("No space left on device");
+            }
+            return delegate.write(src);
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            if (failTruncate) {
+                throw new IOException("Read-only file system");
+            }
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
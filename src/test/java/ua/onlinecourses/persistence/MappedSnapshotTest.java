@@ -0,0 +1,104 @@
+package ua.onlinecourses.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.serializer.EntityCodecs;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Mapped Snapshot Tests")
+class MappedSnapshotTest {
+
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dir = Files.createTempDirectory("mapped-snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    @DisplayName("Every written entity is found by identity and streamed in write order")
+    void testRoundTrip() throws Exception {
+        Path file = dir.resolve("students.snapshot");
+        List<Student> students = new DataGenerator().students(10_000).collect(Collectors.toList());
+
+        long size = MappedSnapshot.write(file, students, EntityCodecs.STUDENT, Student::email);
+        MappedSnapshot<Student> snapshot = MappedSnapshot.open(file, EntityCodecs.STUDENT);
+
+        assertEquals(Files.size(file), size);
+        assertEquals(students.size(), snapshot.size());
+        for (Student student : students) {
+            assertEquals(Optional.of(student), snapshot.findByIdentity(student.email()));
+        }
+        assertTrue(snapshot.findByIdentity("missing@chnu.edu.ua").isEmpty());
+        assertFalse(snapshot.containsIdentity(null));
+        assertEquals(students, snapshot.getAll());
+        assertEquals(students.subList(0, 5), snapshot.stream().limit(5).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Rewriting replaces the file and leaves no temporary file behind")
+    void testRewriteAndEmpty() throws Exception {
+        Path file = dir.resolve("instructors.snapshot");
+        Instructor igor = new Instructor("Igor", "Bylat", 18);
+
+        MappedSnapshot.write(file, List.of(igor), EntityCodecs.INSTRUCTOR, Instructor::getFullName);
+        MappedSnapshot<Instructor> first = MappedSnapshot.open(file, EntityCodecs.INSTRUCTOR);
+        MappedSnapshot.write(file, List.of(), EntityCodecs.INSTRUCTOR, Instructor::getFullName);
+        MappedSnapshot<Instructor> second = MappedSnapshot.open(file, EntityCodecs.INSTRUCTOR);
+
+        assertEquals(Optional.of(igor), first.findByIdentity(igor.getFullName()));
+        assertTrue(second.isEmpty());
+        assertTrue(second.getAll().isEmpty());
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Duplicates, foreign files and truncated snapshots are rejected")
+    void testRejectsInvalidInput() throws Exception {
+        Path file = dir.resolve("students.snapshot");
+        List<Student> students = new DataGenerator().students(100).collect(Collectors.toList());
+
+        assertThrows(DataSerializationException.class, () -> MappedSnapshot.write(file,
+                List.of(students.get(0), students.get(0)), EntityCodecs.STUDENT, Student::email));
+        assertFalse(Files.exists(file));
+
+        Files.writeString(file, "firstName,lastName,email,enrollmentDate\nnot a snapshot at all\n");
+        assertThrows(DataSerializationException.class, () -> MappedSnapshot.open(file, EntityCodecs.STUDENT));
+
+        MappedSnapshot.write(file, students, EntityCodecs.STUDENT, Student::email);
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        assertThrows(DataSerializationException.class, () -> MappedSnapshot.open(file, EntityCodecs.STUDENT));
+        assertThrows(DataSerializationException.class,
+                () -> MappedSnapshot.open(dir.resolve("missing.snapshot"), EntityCodecs.STUDENT));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import ua.onlinecourses.config.AppConfig;
 import ua.onlinecourses.exception.DataSerializationException;
 import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.repository.InstructorRepository;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -54,6 +55,15 @@ class PersistenceManagerTest {
         assertTrue(file.exists());
     }
 
+    @Test
+    @DisplayName("save should save data in CBOR format")
+    void testSaveCbor() throws DataSerializationException {
+        manager.save(testInstructors, "instructors", Instructor.class, "CBOR");
+
+        File file = new File(config.getCborFilePath("instructors"));
+        assertTrue(file.exists());
+    }
+
     @Test
     @DisplayName("load should load data from JSON format")
     void testLoadJson() throws DataSerializationException {
@@ -75,15 +85,17 @@ class PersistenceManagerTest {
     }
 
     @Test
-    @DisplayName("saveAllFormats should save data in both formats")
+    @DisplayName("saveAllFormats should save data in every format")
     void testSaveAllFormats() throws DataSerializationException {
         manager.saveAllFormats(testInstructors, "instructors", Instructor.class);
 
         File jsonFile = new File(config.getJsonFilePath("instructors"));
         File yamlFile = new File(config.getYamlFilePath("instructors"));
+        File cborFile = new File(config.getCborFilePath("instructors"));
 
         assertTrue(jsonFile.exists());
         assertTrue(yamlFile.exists());
+        assertTrue(cborFile.exists());
     }
 
     @Test
@@ -122,6 +134,28 @@ class PersistenceManagerTest {
         assertTrue(manager.isFormatSupported("YAML"));
     }
 
+    @Test
+    @DisplayName("load should load data from CBOR format")
+    void testLoadCbor() throws DataSerializationException {
+        manager.save(testInstructors, "instructors", Instructor.class, "cbor");
+
+        List<Instructor> loaded = manager.load("instructors", Instructor.class, "CBOR");
+
+        assertEquals(testInstructors, loaded);
+    }
+
+    @Test
+    @DisplayName("CBOR file should be smaller than the JSON file for the same data")
+    void testCborSmallerThanJson() throws DataSerializationException {
+        manager.save(testInstructors, "instructors", Instructor.class, "JSON");
+        manager.save(testInstructors, "instructors", Instructor.class, "CBOR");
+
+        long jsonSize = new File(config.getJsonFilePath("instructors")).length();
+        long cborSize = new File(config.getCborFilePath("instructors")).length();
+
+        assertTrue(cborSize < jsonSize);
+    }
+
     @Test
     @DisplayName("isFormatSupported should return false for XML")
     void testIsFormatSupportedXml() {
@@ -129,13 +163,14 @@ class PersistenceManagerTest {
     }
 
     @Test
-    @DisplayName("getSupportedFormats should return array with JSON and YAML")
+    @DisplayName("getSupportedFormats should return array with JSON, YAML and CBOR")
     void testGetSupportedFormats() {
         String[] formats = manager.getSupportedFormats();
 
-        assertEquals(2, formats.length);
+        assertEquals(3, formats.length);
         assertTrue(List.of(formats).contains("JSON"));
         assertTrue(List.of(formats).contains("YAML"));
+        assertTrue(List.of(formats).contains("CBOR"));
     }
 
     @Test
@@ -152,6 +187,41 @@ class PersistenceManagerTest {
         }
     }
 
+    @Test
+    @DisplayName("saveSnapshot and openSnapshot should find items by identity without loading them")
+    void testSnapshot() throws DataSerializationException {
+        manager.saveSnapshot(testInstructors, "instructors", Instructor.class, Instructor::getFullName);
+
+        MappedSnapshot<Instructor> snapshot = manager.openSnapshot("instructors", Instructor.class);
+
+        assertEquals(testInstructors.size(), snapshot.size());
+        assertEquals(testInstructors.get(1), snapshot.findByIdentity(testInstructors.get(1).getFullName()).orElseThrow());
+        assertThrows(DataSerializationException.class, () -> manager.openSnapshot("courses", Instructor.class));
+        assertThrows(DataSerializationException.class, () ->
+                manager.saveSnapshot(List.of("text"), "instructors", String.class, text -> text));
+    }
+
+    @Test
+    @DisplayName("openJournal should recover journaled changes into a new repository")
+    void testJournal() throws DataSerializationException {
+        InstructorRepository repository = new InstructorRepository();
+        try (Journal<Instructor> journal = manager.openJournal(repository, "instructors", Instructor.class,
+                Instructor::getFullName)) {
+            repository.addAll(testInstructors);
+            repository.remove(testInstructors.get(0));
+            assertEquals(3, journal.save());
+        }
+
+        InstructorRepository recovered = new InstructorRepository();
+        try (Journal<Instructor> journal = manager.openJournal(recovered, "instructors", Instructor.class,
+                Instructor::getFullName)) {
+            assertEquals(List.of(testInstructors.get(1)), recovered.getAll());
+            assertEquals(0, journal.getPendingCount());
+        }
+        assertThrows(DataSerializationException.class, () ->
+                manager.openJournal(new InstructorRepository(), "", Instructor.class, Instructor::getFullName));
+    }
+
     private void cleanupTestFiles() {
         String[] entities = {"instructors", "students", "courses"};
         for (String entity : entities) {
@@ -163,6 +233,18 @@ class PersistenceManagerTest {
             if (yamlFile.exists()) {
                 yamlFile.delete();
             }
+            File cborFile = new File(config.getCborFilePath(entity));
+            if (cborFile.exists()) {
+                cborFile.delete();
+            }
+            File snapshotFile = new File(config.getSnapshotFilePath(entity));
+            if (snapshotFile.exists()) {
+                snapshotFile.delete();
+            }
+            File journalFile = new File(config.getJournalFilePath(entity));
+            if (journalFile.exists()) {
+                journalFile.delete();
+            }
         }
 
         File dataDir = new File(config.getBaseDataPath());
@@ -0,0 +1,164 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.serializer.EntityCodecs;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Repository Batch Operation Tests")
+class BatchOperationsTest {
+
+    private static final Student STUDENT1 =
+            new Student("Yuriy", "Vasuluk", "yuriy.vasuluk@chnu.edu.ua", LocalDate.of(2023, 9, 1));
+    private static final Student STUDENT2 =
+            new Student("Alice", "Rotar", "alice.rotar@chnu.edu.ua", LocalDate.of(2024, 1, 15));
+    private static final Student STUDENT3 =
+            new Student("Mariya", "Shevchuk", "mariya.shevchuk@chnu.edu.ua", LocalDate.of(2024, 2, 20));
+    private static final Student SAME_EMAIL_AS_1 =
+            new Student("Anna", "Lozinska", "yuriy.vasuluk@chnu.edu.ua", LocalDate.of(2024, 3, 1));
+
+    private static Stream<Arguments> repositories() {
+        Supplier<Repository<Student>> generic = () -> new GenericRepository<>(Student::email, "Student");
+        Supplier<Repository<Student>> concurrent = () -> new ConcurrentRepository<>(Student::email, "Student");
+        Supplier<Repository<Student>> offHeap =
+                () -> new OffHeapRepository<>(EntityCodecs.STUDENT, Student::email, "Student");
+        return Stream.of(Arguments.of("GenericRepository", generic),
+                Arguments.of("ConcurrentRepository", concurrent),
+                Arguments.of("OffHeapRepository", offHeap));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("addAll adds new items in order and reports duplicates and nulls")
+    void testAddAll(String name, Supplier<Repository<Student>> factory) {
+        Repository<Student> repository = factory.get();
+        repository.add(STUDENT1);
+
+        BatchResult<Student> result = repository.addAll(Arrays.asList(STUDENT2, SAME_EMAIL_AS_1, null, STUDENT3, STUDENT2));
+
+        assertEquals(5, result.getRequestedCount());
+        assertEquals(2, result.getAppliedCount());
+        assertEquals(3, result.getRejectedCount());
+        assertTrue(result.getRejected().containsAll(Arrays.asList(SAME_EMAIL_AS_1, null, STUDENT2)));
+        assertEquals(List.of(STUDENT1, STUDENT2, STUDENT3), repository.getAll());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("removeAll removes only stored items and reports the rest")
+    void testRemoveAll(String name, Supplier<Repository<Student>> factory) {
+        Repository<Student> repository = factory.get();
+        repository.addAll(List.of(STUDENT1, STUDENT2, STUDENT3));
+
+        BatchResult<Student> result = repository.removeAll(List.of(SAME_EMAIL_AS_1, STUDENT2, STUDENT3));
+
+        assertEquals(2, result.getAppliedCount());
+        assertEquals(List.of(SAME_EMAIL_AS_1), result.getRejected());
+        assertEquals(List.of(STUDENT1), repository.getAll());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("replaceAll swaps the whole content")
+    void testReplaceAll(String name, Supplier<Repository<Student>> factory) {
+        Repository<Student> repository = factory.get();
+        repository.addAll(List.of(STUDENT1, STUDENT2));
+
+        BatchResult<Student> result = repository.replaceAll(List.of(STUDENT3, SAME_EMAIL_AS_1, STUDENT1));
+
+        assertEquals(2, result.getAppliedCount());
+        assertEquals(List.of(STUDENT1), result.getRejected());
+        assertEquals(List.of(STUDENT3, SAME_EMAIL_AS_1), repository.getAll());
+        assertFalse(repository.containsIdentity(STUDENT2.email()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("A failing identity extractor leaves the repository unchanged")
+    void testAtomicOnExtractorFailure(String name, Supplier<Repository<Student>> factory) {
+        Repository<Student> failing = switch (name) {
+            case "GenericRepository" -> new GenericRepository<>(BatchOperationsTest::failOnAlice, "Student");
+            case "OffHeapRepository" ->
+                    new OffHeapRepository<>(EntityCodecs.STUDENT, BatchOperationsTest::failOnAlice, "Student");
+            default -> new ConcurrentRepository<>(BatchOperationsTest::failOnAlice, "Student");
+        };
+        failing.add(STUDENT1);
+
+        assertThrows(InvalidDataException.class, () -> failing.addAll(List.of(STUDENT3, STUDENT2)));
+        assertThrows(InvalidDataException.class, () -> failing.replaceAll(List.of(STUDENT3, STUDENT2)));
+        assertEquals(List.of(STUDENT1), failing.getAll());
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositories")
+    @DisplayName("Batch operations reject a null batch")
+    void testNullBatch(String name, Supplier<Repository<Student>> factory) {
+        Repository<Student> repository = factory.get();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.addAll(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.removeAll(null));
+        assertThrows(IllegalArgumentException.class, () -> repository.replaceAll(null));
+    }
+
+    @Test
+    @DisplayName("Batch operations keep secondary indexes and live views in sync")
+    void testIndexesAndViewsFollowBatches() {
+        InstructorRepository repository = new InstructorRepository();
+        Collection<Instructor> view = repository.view();
+        Instructor igor = new Instructor("Igor", "Bylat", 34);
+        Instructor denys = new Instructor("Denys", "Malyk", 20);
+        Instructor inessa = new Instructor("Inessa", "Kir", 39);
+
+        repository.addAll(List.of(igor, denys));
+        assertEquals(List.of(igor), repository.findByLastName("Bylat"));
+        assertEquals(2, view.size());
+
+        repository.removeAll(List.of(igor));
+        assertTrue(repository.findByLastName("Bylat").isEmpty());
+
+        repository.replaceAll(List.of(inessa));
+        assertTrue(repository.findByLastName("Malyk").isEmpty());
+        assertEquals(List.of(inessa), repository.findByExpertiseRange(30, 40));
+        assertEquals(List.of(inessa), List.copyOf(view));
+    }
+
+    @Test
+    @DisplayName("addAll into a non-empty repository grows storage and keeps order")
+    void testAddAllLargeBatch() {
+        StudentRepository repository = new StudentRepository();
+        List<Student> students = new DataGenerator().students(20_000).collect(Collectors.toList());
+        students.subList(0, 100).forEach(repository::add);
+
+        BatchResult<Student> result = repository.addAll(students);
+
+        assertEquals(19_900, result.getAppliedCount());
+        assertEquals(100, result.getRejectedCount());
+        assertEquals(students, repository.getAll());
+        assertEquals(students.get(12_345), repository.findByIdentity(students.get(12_345).email()).orElseThrow());
+        repository.add(STUDENT1);
+        assertEquals(20_001, repository.size());
+    }
+
+    private static String failOnAlice(Student student) {
+        if (student.firstName().equals("Alice")) {
+            throw new InvalidDataException("Cannot extract identity");
+        }
+        return student.email();
+    }
+}
@@ -0,0 +1,111 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Column Index Tests")
+class ColumnIndexTest {
+
+    private static final LocalDate FROM = LocalDate.now().minusDays(90);
+    private static final LocalDate TO = LocalDate.now().plusDays(30);
+
+    @Test
+    @DisplayName("Range filters, sums and extremes agree with a scan across adds, removals and compaction")
+    void testMatchesScan() {
+        CourseRepository repository = new CourseRepository();
+        List<Course> courses = new DataGenerator().courses(5_000).collect(Collectors.toList());
+        repository.addAll(courses.subList(0, 3_000));
+        assertMatchesScan(repository);
+
+        // Enough removals to trigger a rebuild of the arrays
+        courses.subList(0, 2_000).forEach(repository::remove);
+        courses.subList(3_000, 5_000).forEach(repository::add);
+        assertMatchesScan(repository);
+
+        repository.replaceAll(courses.subList(100, 110));
+        assertMatchesScan(repository);
+
+        repository.clear();
+        assertEquals(0, columns(repository).size());
+        assertEquals(OptionalInt.empty(), columns(repository).max("credits"));
+        assertEquals(0, repository.getTotalCreditsStartingBetween(FROM, TO));
+    }
+
+    @Test
+    @DisplayName("Assignment aggregates skip ungraded assignments and reject invalid ranges")
+    void testAssignmentAggregates() {
+        AssignmentRepository repository = new AssignmentRepository();
+        List<Assignment> assignments = new DataGenerator().assignments(2_000).collect(Collectors.toList());
+        repository.addAll(assignments);
+        Assignment ungraded = new Assignment(assignments.get(0).module(), LocalDate.now(), 50, null);
+        repository.add(ungraded);
+
+        List<Assignment> all = repository.getAll();
+        assertEquals(all.stream().filter(a -> !a.dueDate().isBefore(FROM) && !a.dueDate().isAfter(TO))
+                        .mapToInt(Assignment::maxPoints).sum(),
+                repository.getTotalMaxPointsDueBetween(FROM, TO));
+        assertEquals(all.stream().map(Assignment::mark).filter(Objects::nonNull)
+                        .mapToInt(mark -> mark.getValue()).average().orElse(0.0),
+                repository.getAverageMarkValue(), 1e-9);
+        assertEquals(0, repository.getTotalMaxPointsDueBetween(TO, FROM));
+        assertEquals(0, repository.getTotalMaxPointsDueBetween(null, TO));
+
+        repository.clear();
+        repository.add(ungraded);
+        assertEquals(0.0, repository.getAverageMarkValue());
+    }
+
+    @Test
+    @DisplayName("Columns are declared once, before any item, and read with their own kind")
+    void testColumnDeclaration() {
+        ColumnIndex<Course> index = new ColumnIndex<Course>().intColumn("credits", Course::credits)
+                .dateColumn("startDate", Course::startDate);
+
+        assertEquals(List.of("credits", "startDate"), index.getColumnNames());
+        assertThrows(IllegalArgumentException.class, () -> index.intColumn("credits", Course::credits));
+        assertThrows(IllegalArgumentException.class, () -> index.sum("startDate"));
+        assertThrows(IllegalArgumentException.class, () -> index.sum("missing"));
+
+        Course course = new DataGenerator().courses(1).findFirst().orElseThrow();
+        index.onAdd(course.getFullName(), course);
+        assertThrows(IllegalStateException.class, () -> index.intColumn("late", Course::credits));
+        assertEquals(List.of(course), index.between("startDate", course.startDate(), course.startDate()));
+    }
+
+    private static void assertMatchesScan(CourseRepository repository) {
+        List<Course> all = repository.getAll();
+        ColumnIndex<Course> columns = columns(repository);
+
+        assertEquals(all.size(), columns.size());
+        assertEquals(all.stream().mapToInt(Course::credits).sum(), columns.sum("credits"));
+        assertEquals(all.stream().mapToInt(Course::credits).min(), columns.min("credits"));
+        assertEquals(all.stream().mapToInt(Course::credits).max(), columns.max("credits"));
+        assertEquals(all.stream().filter(c -> c.credits() >= 4 && c.credits() <= 5).collect(Collectors.toList()),
+                columns.between("credits", 4, 5));
+        List<Course> starting = all.stream()
+                .filter(c -> !c.startDate().isBefore(FROM) && !c.startDate().isAfter(TO))
+                .collect(Collectors.toList());
+        assertEquals(starting, columns.between("startDate", FROM, TO));
+        assertEquals(starting.size(), columns.countBetween("startDate", FROM, TO));
+        assertEquals(starting.stream().mapToInt(Course::credits).sum(),
+                repository.getTotalCreditsStartingBetween(FROM, TO));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ColumnIndex<Course> columns(CourseRepository repository) {
+        // The column index is registered by the first finder that reads it
+        repository.getTotalCreditsStartingBetween(FROM, TO);
+        return (ColumnIndex<Course>) repository.getIndex("columns").orElseThrow();
+    }
+}
@@ -0,0 +1,138 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Concurrent Repository Tests")
+class ConcurrentRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int ITEMS_PER_THREAD = 2_000;
+
+    private ConcurrentRepository<Student> repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ConcurrentRepository<>(Student::email, "Student");
+    }
+
+    private static Student student(int i) {
+        return new Student("Name" + i, "Surname" + i, "student" + i + "@chnu.edu.ua", LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    @DisplayName("Behaves like GenericRepository for single-threaded use")
+    void testSingleThreadedBehaviour() {
+        Student first = student(1);
+        Student second = student(2);
+
+        assertTrue(repository.add(first));
+        assertTrue(repository.add(second));
+        assertFalse(repository.add(student(1)));
+        assertFalse(repository.add(null));
+
+        assertEquals(List.of(first, second), repository.getAll());
+        assertEquals(first, repository.findByIdentity(first.email()).orElseThrow());
+        assertTrue(repository.contains(second));
+
+        assertTrue(repository.removeByIdentity(first.email()));
+        assertFalse(repository.containsIdentity(first.email()));
+        assertEquals(List.of(second), repository.sortByIdentity("desc"));
+
+        repository.clear();
+        assertTrue(repository.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Concurrent adds of overlapping identities never lose or duplicate entities")
+    void testConcurrentAddsWithContention() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successfulAdds = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Every thread tries to insert the same identities, so each one is contended THREADS times
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    if (repository.add(student(i))) {
+                        successfulAdds.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(ITEMS_PER_THREAD, successfulAdds.get());
+        assertEquals(ITEMS_PER_THREAD, repository.size());
+
+        List<Student> all = repository.getAll();
+        Set<String> emails = new HashSet<>();
+        for (Student s : all) {
+            assertTrue(emails.add(s.email()), "Duplicate entity: " + s.email());
+        }
+        assertEquals(ITEMS_PER_THREAD, emails.size());
+    }
+
+    @Test
+    @DisplayName("Concurrent add and remove cycles keep the repository consistent")
+    void testConcurrentAddRemoveCycles() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        // Threads own disjoint identity ranges, add all, remove the odd ones, then re-add a few
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * ITEMS_PER_THREAD;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    assertTrue(repository.add(student(offset + i)));
+                }
+                for (int i = 1; i < ITEMS_PER_THREAD; i += 2) {
+                    assertTrue(repository.removeByIdentity(student(offset + i).email()));
+                }
+                for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                    repository.findByIdentity(student(offset + i).email());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int expected = THREADS * (ITEMS_PER_THREAD / 2);
+        assertEquals(expected, repository.size());
+        assertEquals(expected, repository.getAll().size());
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * ITEMS_PER_THREAD;
+            assertTrue(repository.containsIdentity(student(offset).email()));
+            assertFalse(repository.containsIdentity(student(offset + 1).email()));
+        }
+    }
+}
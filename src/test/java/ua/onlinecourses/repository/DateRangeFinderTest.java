@@ -0,0 +1,89 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Student;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Date Range Finder Tests")
+class DateRangeFinderTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().with(DayOfWeek.MONDAY);
+    private static final LocalDate SUNDAY = MONDAY.plusDays(6);
+
+    @Test
+    @DisplayName("findByDueDateRange returns the assignments due in the week, in date order")
+    void testDueThisWeek() {
+        AssignmentRepository repository = new AssignmentRepository();
+        List<Assignment> assignments = new DataGenerator().assignments(5_000).collect(Collectors.toList());
+        repository.addAll(assignments);
+
+        List<Assignment> expected = assignments.stream()
+                .filter(a -> !a.dueDate().isBefore(MONDAY) && !a.dueDate().isAfter(SUNDAY))
+                .sorted(Comparator.comparing(Assignment::dueDate))
+                .collect(Collectors.toList());
+
+        assertEquals(expected, repository.findByDueDateRange(MONDAY, SUNDAY));
+        assertTrue(repository.findByDueDateRange(SUNDAY, MONDAY).isEmpty());
+        assertTrue(repository.findByDueDateRange(null, SUNDAY).isEmpty());
+    }
+
+    @Test
+    @DisplayName("findByStartDateRange and countByEnrollmentDateRange agree with a scan")
+    void testCourseAndStudentRanges() {
+        CourseRepository courses = new CourseRepository();
+        courses.addAll(new DataGenerator().courses(3_000).collect(Collectors.toList()));
+        StudentRepository students = new StudentRepository();
+        students.addAll(new DataGenerator().students(3_000).collect(Collectors.toList()));
+        LocalDate from = LocalDate.now().minusDays(60);
+        LocalDate to = LocalDate.now().minusDays(30);
+
+        assertEquals(courses.stream()
+                        .filter(c -> !c.startDate().isBefore(from) && !c.startDate().isAfter(to))
+                        .count(),
+                courses.findByStartDateRange(from, to).size());
+        List<Student> enrolled = students.findByEnrollmentDateRange(from, to);
+        assertEquals(enrolled.size(), students.countByEnrollmentDateRange(from, to));
+        assertEquals(0, students.countByEnrollmentDateRange(to, from));
+        assertTrue(courses.findByStartDateRange(to, from).isEmpty());
+        for (Course course : courses.findByStartDateRange(from, to)) {
+            assertFalse(course.startDate().isAfter(to));
+        }
+    }
+
+    @Test
+    @DisplayName("Range finders from before the indexes keep insertion order")
+    void testRangeFindersKeepInsertionOrder() {
+        AssignmentRepository assignments = new AssignmentRepository();
+        List<Assignment> generated = new DataGenerator().assignments(3_000).collect(Collectors.toList());
+        assignments.addAll(generated);
+        assignments.remove(generated.get(7));
+        assignments.add(generated.get(7));
+        StudentRepository students = new StudentRepository();
+        students.addAll(new DataGenerator().students(3_000).collect(Collectors.toList()));
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusYears(2);
+        LocalDate to = today.minusDays(30);
+
+        assertEquals(assignments.stream().filter(a -> a.dueDate().isBefore(today)).collect(Collectors.toList()),
+                assignments.findByDueDateBefore(today));
+        assertEquals(assignments.stream().filter(a -> a.dueDate().isAfter(today)).collect(Collectors.toList()),
+                assignments.findByDueDateAfter(today));
+        assertEquals(assignments.stream().filter(a -> a.maxPoints() >= 20 && a.maxPoints() <= 60)
+                .collect(Collectors.toList()), assignments.findByPointsRange(20, 60));
+        assertEquals(students.stream()
+                        .filter(s -> !s.enrollmentDate().isBefore(from) && !s.enrollmentDate().isAfter(to))
+                        .collect(Collectors.toList()),
+                students.findByEnrollmentDateRange(from, to));
+    }
+}
@@ -0,0 +1,51 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Mark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Enum Mark Index Tests")
+class EnumIndexTest {
+
+    @Test
+    @DisplayName("Mark lookups, counts and groups match a scan and follow removals")
+    void testMarkBuckets() {
+        AssignmentRepository repository = new AssignmentRepository();
+        List<Assignment> assignments = new DataGenerator().assignments(2_000).collect(Collectors.toList());
+        repository.addAll(assignments);
+        repository.removeAll(assignments.subList(0, 500));
+        List<Assignment> remaining = assignments.subList(500, 2_000);
+
+        Map<Mark, List<Assignment>> expected = remaining.stream().collect(Collectors.groupingBy(Assignment::mark));
+
+        assertEquals(expected, repository.groupByMark());
+        for (Mark mark : Mark.values()) {
+            List<Assignment> withMark = expected.getOrDefault(mark, List.of());
+            assertEquals(withMark, repository.findByMark(mark));
+            assertEquals(withMark.size(), repository.countByMark(mark));
+            assertEquals(withMark.size(), repository.getMarkHistogram().get(mark));
+        }
+        assertEquals(0, repository.countByMark(null));
+    }
+
+    @Test
+    @DisplayName("The histogram lists every mark in declaration order")
+    void testHistogram() {
+        EnumIndex<Mark, Mark> index = new EnumIndex<>(Mark.class, mark -> mark);
+        index.onAdd(null, Mark.GOOD);
+        index.onAdd(null, Mark.LOW);
+
+        assertEquals(List.of(Mark.values()), List.copyOf(index.histogram().keySet()));
+        assertEquals(List.of(0, 1, 0, 0, 1, 0), List.copyOf(index.histogram().values()));
+        assertEquals(List.of(Mark.GOOD, Mark.LOW), List.copyOf(index.keys()));
+        assertThrows(UnsupportedOperationException.class, () -> index.histogram().put(Mark.GOOD, 3));
+    }
+}
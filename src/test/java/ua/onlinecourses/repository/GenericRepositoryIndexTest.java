@@ -0,0 +1,198 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Generic Repository Index Tests")
+class GenericRepositoryIndexTest {
+
+    private GenericRepository<Student> studentRepository;
+    private Student student1, student2, student3;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new GenericRepository<>(Student::email, "Student");
+
+        student1 = new Student("Yuriy", "Vasuluk", "yuriy.vasuluk@chnu.edu.ua", LocalDate.of(2023, 9, 1));
+        student2 = new Student("Alice", "Rotar", "alice.rotar@chnu.edu.ua", LocalDate.of(2024, 1, 15));
+        student3 = new Student("Mariya", "Shevchuk", "mariya.shevchuk@chnu.edu.ua", LocalDate.of(2024, 2, 20));
+    }
+
+    @Test
+    @DisplayName("getAll keeps insertion order after removal")
+    void testGetAllKeepsInsertionOrderAfterRemoval() {
+        studentRepository.add(student1);
+        studentRepository.add(student2);
+        studentRepository.add(student3);
+
+        studentRepository.removeByIdentity(student2.email());
+        studentRepository.add(student2);
+
+        assertEquals(List.of(student1, student3, student2), studentRepository.getAll());
+    }
+
+    @Test
+    @DisplayName("remove does not match a different item with the same identity")
+    void testRemoveWithSameIdentityDifferentItem() {
+        studentRepository.add(student1);
+
+        Student sameEmail = new Student("Anna", "Lozinska", "yuriy.vasuluk@chnu.edu.ua", LocalDate.of(2024, 3, 1));
+
+        assertFalse(studentRepository.remove(sameEmail));
+        assertFalse(studentRepository.contains(sameEmail));
+        assertTrue(studentRepository.contains(student1));
+        assertEquals(1, studentRepository.size());
+    }
+
+    @Test
+    @DisplayName("containsIdentity and findByIdentity use the identity index")
+    void testIdentityLookups() {
+        studentRepository.add(student1);
+        studentRepository.add(student2);
+
+        assertTrue(studentRepository.containsIdentity(student2.email()));
+        assertFalse(studentRepository.containsIdentity(student3.email()));
+        assertFalse(studentRepository.containsIdentity(null));
+        assertEquals(student1, studentRepository.findByIdentity(student1.email()).orElseThrow());
+
+        assertTrue(studentRepository.remove(student1));
+        assertFalse(studentRepository.containsIdentity(student1.email()));
+        assertTrue(studentRepository.add(student1));
+    }
+
+    @Test
+    @DisplayName("registerIndex backfills existing items and follows add, remove and clear")
+    void testRegisteredIndexIsMaintained() {
+        studentRepository.add(student1);
+        studentRepository.add(student2);
+
+        HashIndex<String, Student> byLastName =
+                studentRepository.registerIndex("lastName", new HashIndex<>(Student::lastName));
+        assertEquals(List.of(student2), byLastName.get("Rotar"));
+
+        studentRepository.add(student3);
+        assertEquals(List.of(student3), byLastName.get("Shevchuk"));
+
+        studentRepository.remove(student2);
+        assertTrue(byLastName.get("Rotar").isEmpty());
+        assertFalse(byLastName.containsKey("Rotar"));
+
+        studentRepository.clear();
+        assertTrue(byLastName.keys().isEmpty());
+        assertTrue(studentRepository.getIndex("lastName").isPresent());
+    }
+
+    @Test
+    @DisplayName("registerIndex rejects duplicate names")
+    void testRegisterDuplicateIndexName() {
+        studentRepository.registerIndex("email", new HashIndex<>(Student::email));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> studentRepository.registerIndex("email", new HashIndex<>(Student::email)));
+    }
+
+    @Test
+    @DisplayName("unregisterIndex stops maintaining the index")
+    void testUnregisterIndex() {
+        HashIndex<String, Student> byEmail = studentRepository.registerIndex("email", new HashIndex<>(Student::email));
+        studentRepository.add(student1);
+
+        assertTrue(studentRepository.unregisterIndex("email"));
+        studentRepository.add(student2);
+
+        assertFalse(studentRepository.getIndex("email").isPresent());
+        assertEquals(List.of(student1.email()), new ArrayList<>(byEmail.keys()));
+        assertFalse(studentRepository.unregisterIndex("email"));
+        studentRepository.registerIndex("email", new HashIndex<>(Student::email));
+    }
+
+    @Test
+    @DisplayName("SortedIndex answers range and min/max queries")
+    void testSortedIndexRanges() {
+        SortedIndex<LocalDate, Student> byDate =
+                studentRepository.registerIndex("enrollmentDate", new SortedIndex<>(Student::enrollmentDate));
+        studentRepository.add(student3);
+        studentRepository.add(student1);
+        studentRepository.add(student2);
+
+        assertEquals(List.of(student1, student2),
+                byDate.range(LocalDate.of(2023, 1, 1), true, LocalDate.of(2024, 2, 20), false));
+        assertEquals(List.of(student3), byDate.greaterThan(LocalDate.of(2024, 1, 15), false));
+        assertEquals(List.of(student1), byDate.lessThan(LocalDate.of(2024, 1, 15), false));
+        assertEquals(LocalDate.of(2023, 9, 1), byDate.minKey().orElseThrow());
+        assertEquals(LocalDate.of(2024, 2, 20), byDate.maxKey().orElseThrow());
+        assertTrue(byDate.range(LocalDate.of(2025, 1, 1), true, LocalDate.of(2024, 1, 1), true).isEmpty());
+    }
+
+    @Test
+    @DisplayName("StudentRepository finders answer from indexes")
+    void testStudentRepositoryFinders() {
+        StudentRepository repo = new StudentRepository();
+        repo.add(student1);
+        repo.add(student2);
+        repo.add(student3);
+
+        assertEquals(List.of(student2), repo.findByFirstName(" alice "));
+        assertEquals(3, repo.findByEmailDomain("CHNU.edu.ua").size());
+        assertEquals(1, repo.countByLastName("rotar"));
+        assertTrue(repo.hasStudentWithEmail("ALICE.ROTAR@chnu.edu.ua"));
+        assertEquals(student1, repo.findOldestStudent().orElseThrow());
+        assertEquals(student3, repo.findNewestStudent().orElseThrow());
+        assertEquals(List.of(student2, student3),
+                repo.findByEnrollmentDateRange(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 2, 20)));
+
+        repo.removeByIdentity(student2.email());
+        assertTrue(repo.findByFirstName("Alice").isEmpty());
+        assertFalse(repo.hasStudentWithEmail("alice.rotar@chnu.edu.ua"));
+    }
+
+    @Test
+    @DisplayName("InstructorRepository max and range queries answer from indexes")
+    void testInstructorRepositoryFinders() {
+        InstructorRepository repo = new InstructorRepository();
+        Instructor first = new Instructor("Haluna", "Melnuk", 15);
+        Instructor second = new Instructor("Vasyl", "Kosovan", 20);
+        Instructor third = new Instructor("Petro", "Melnuk", 20);
+        repo.add(first);
+        repo.add(second);
+        repo.add(third);
+
+        assertEquals(second, repo.getInstructorWithMaxExpertise().orElseThrow());
+        assertEquals(List.of(second, third), repo.getAllInstructorsWithMaxExpertise());
+        assertEquals(List.of(first, third), repo.findByLastName("MELNUK"));
+        assertEquals(List.of(first), repo.findByExpertiseRange(10, 19));
+        assertTrue(repo.allInstructorsHaveMinExpertise(15));
+        assertFalse(repo.hasInstructorWithExpertise(16));
+    }
+
+    @Test
+    @DisplayName("stream, forEach and view read the stored items without copying")
+    void testZeroCopyReadPaths() {
+        studentRepository.add(student1);
+        studentRepository.add(student2);
+
+        Collection<Student> view = studentRepository.view();
+        assertEquals(List.of(student1, student2), new ArrayList<>(view));
+        assertThrows(UnsupportedOperationException.class, () -> view.add(student3));
+
+        studentRepository.add(student3);
+        assertEquals(3, view.size());
+
+        List<String> visited = new ArrayList<>();
+        studentRepository.forEach(student -> visited.add(student.lastName()));
+        assertEquals(List.of("Vasuluk", "Rotar", "Shevchuk"), visited);
+        assertEquals(List.of("Vasuluk", "Rotar", "Shevchuk"),
+                studentRepository.stream().map(Student::lastName).collect(Collectors.toList()));
+    }
+}
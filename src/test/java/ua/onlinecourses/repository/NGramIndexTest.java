@@ -0,0 +1,118 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("N-gram Text Index Tests")
+class NGramIndexTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "en", "enk", "ENKO", "Melnyk", "xyz", "o k", "ko"})
+    @DisplayName("Indexed search returns exactly what a lowercase scan returns, in order")
+    void testMatchesScan(String term) {
+        StudentRepository repository = new StudentRepository();
+        List<Student> students = new DataGenerator().students(3_000).collect(Collectors.toList());
+        repository.addAll(students);
+
+        List<Student> expected = students.stream()
+                .filter(s -> s.lastName().toLowerCase().contains(term.toLowerCase()))
+                .collect(Collectors.toList());
+
+        assertEquals(expected, repository.findByLastNameContaining(term));
+    }
+
+    @Test
+    @DisplayName("Removed items disappear and re-added items move to the end")
+    void testRemoveAndReAdd() {
+        NGramIndex<String> index = new NGramIndex<>(text -> text);
+        index.onAdd(null, "Streams basics");
+        index.onAdd(null, "Java streams");
+        index.onAdd(null, "Collections");
+
+        index.onRemove(null, "Streams basics");
+        assertEquals(List.of("Java streams"), index.containing("STREAM"));
+
+        index.onAdd(null, "Streams basics");
+        assertEquals(List.of("Java streams", "Streams basics"), index.containing("stream"));
+        assertEquals(2, index.containing("s b").size() + index.containing("a s").size());
+        assertTrue(index.containing(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Compaction after many removals keeps results and order")
+    void testCompaction() {
+        NGramIndex<Integer> index = new NGramIndex<>(number -> "item-" + number);
+        for (int i = 0; i < 5_000; i++) {
+            index.onAdd(null, i);
+        }
+        for (int i = 0; i < 5_000; i += 2) {
+            index.onRemove(null, i);
+        }
+        for (int i = 1; i < 4_000; i += 2) {
+            index.onRemove(null, i);
+        }
+
+        List<Integer> survivors = new ArrayList<>();
+        for (int i = 4_001; i < 5_000; i += 2) {
+            survivors.add(i);
+        }
+        assertEquals(500, index.size());
+        assertEquals(survivors, index.containing("item-"));
+        assertEquals(survivors.stream().filter(n -> ("item-" + n).contains("-49")).collect(Collectors.toList()),
+                index.containing("-49"));
+        assertTrue(index.containing("item-10").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Entity finders stay in sync through batches and clear")
+    void testFindersFollowRepository() {
+        CourseRepository courses = new CourseRepository();
+        Course java = new Course("Java Streams", "Functional streams in Java", 3, LocalDate.now());
+        Course sql = new Course("SQL Basics", "Relational queries", 2, LocalDate.now());
+        courses.addAll(List.of(java, sql));
+        ModuleRepository modules = new ModuleRepository();
+        myModule module = new myModule("Intro", "Streams and lambdas");
+        modules.add(module);
+
+        assertEquals(List.of(java), courses.findByTitleContaining(" stream"));
+        assertEquals(List.of(sql), courses.findByDescriptionContaining("QUERIES"));
+        assertEquals(List.of(module), modules.findByContentContaining("lambda"));
+
+        courses.replaceAll(List.of(sql));
+        assertTrue(courses.findByTitleContaining("java").isEmpty());
+        courses.clear();
+        assertTrue(courses.findByDescriptionContaining("rel").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Text and column indexes are only registered once a finder reads them")
+    void testRegisteredOnFirstUse() {
+        CourseRepository courses = new CourseRepository();
+        Course java = new Course("Java Streams", "Functional streams in Java", 3, LocalDate.now());
+        Course sql = new Course("SQL Basics", "Relational queries", 2, LocalDate.now());
+        courses.add(java);
+
+        assertFalse(courses.getIndexNames().contains("titleText"));
+        assertFalse(courses.getIndexNames().contains("columns"));
+        assertEquals(List.of(java), courses.findByTitleContaining("stream"));
+        assertTrue(courses.getIndexNames().contains("titleText"));
+        assertFalse(courses.getIndexNames().contains("descriptionText"));
+
+        courses.add(sql);
+        assertEquals(List.of(sql), courses.findByTitleContaining("basic"));
+        assertEquals(List.of(java, sql), courses.findByTitleContaining("s"));
+    }
+}
@@ -0,0 +1,138 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.exception.InvalidDataException;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Assignment;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Student;
+import ua.onlinecourses.model.myModule;
+import ua.onlinecourses.serializer.EntityCodecs;
+import ua.onlinecourses.util.ValidationContext;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Off-Heap Repository Tests")
+class OffHeapRepositoryTest {
+
+    @Test
+    @DisplayName("Behaves like GenericRepository across adds, lookups, removals and compaction")
+    void testMatchesGenericRepository() {
+        // Small slabs so records spread over many of them and removals trigger compaction
+        OffHeapRepository<Student> offHeap =
+                new OffHeapRepository<>(EntityCodecs.STUDENT, Student::email, "Student", 4096);
+        GenericRepository<Student> reference = new GenericRepository<>(Student::email, "Student");
+        List<Student> students = new DataGenerator().students(5_000).collect(Collectors.toList());
+
+        for (Student student : students.subList(0, 3_000)) {
+            assertEquals(reference.add(student), offHeap.add(student));
+        }
+        assertFalse(offHeap.add(students.get(10)));
+        offHeap.addAll(students.subList(3_000, 5_000));
+        reference.addAll(students.subList(3_000, 5_000));
+        long bytesBeforeRemoval = offHeap.getOffHeapBytes();
+
+        for (Student student : students.subList(0, 4_000)) {
+            if (student.email().hashCode() % 5 != 0) {
+                assertTrue(offHeap.remove(student));
+                reference.remove(student);
+            }
+        }
+        assertTrue(offHeap.removeByIdentity(students.get(4_500).email()));
+        reference.removeByIdentity(students.get(4_500).email());
+
+        assertEquals(reference.getAll(), offHeap.getAll());
+        assertEquals(reference.size(), offHeap.size());
+        assertEquals(reference.sortByIdentity("desc"), offHeap.sortByIdentity("desc"));
+        assertEquals(reference.stream().collect(Collectors.toList()), offHeap.stream().collect(Collectors.toList()));
+        assertTrue(offHeap.getOffHeapBytes() < bytesBeforeRemoval);
+        for (Student student : students) {
+            assertEquals(reference.findByIdentity(student.email()), offHeap.findByIdentity(student.email()));
+            assertEquals(reference.contains(student), offHeap.contains(student));
+        }
+
+        // Removed identities can be added again
+        assertTrue(offHeap.add(students.get(1)));
+        assertEquals(students.get(1), offHeap.getAll().get(offHeap.size() - 1));
+
+        offHeap.clear();
+        assertTrue(offHeap.isEmpty());
+        assertEquals(0, offHeap.getOffHeapBytes());
+        assertFalse(offHeap.containsIdentity(students.get(1).email()));
+    }
+
+    @Test
+    @DisplayName("Records larger than a slab and non-ASCII identities round-trip")
+    void testLargeRecordsAndUnicode() {
+        OffHeapRepository<myModule> repository =
+                new OffHeapRepository<>(EntityCodecs.MODULE, myModule::title, "Module", 64);
+        myModule large = new myModule("Великий модуль", "x".repeat(2_000));
+        myModule small = new myModule("Вступ до курсу", "Короткий зміст");
+
+        assertTrue(repository.add(large));
+        assertTrue(repository.add(small));
+
+        assertEquals(large, repository.findByIdentity("Великий модуль").orElseThrow());
+        assertEquals(List.of(large, small), repository.getAll());
+        assertTrue(repository.findByIdentity("Великий").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Every model codec decodes what it encoded")
+    void testCodecsRoundTrip() {
+        DataGenerator generator = new DataGenerator();
+        OffHeapRepository<Course> courses =
+                new OffHeapRepository<>(EntityCodecs.forType(Course.class), Course::getFullName, "Course");
+        OffHeapRepository<Assignment> assignments =
+                new OffHeapRepository<>(EntityCodecs.forType(Assignment.class), Assignment::getIdentity, "Assignment");
+        List<Course> generatedCourses = generator.courses(500).collect(Collectors.toList());
+        List<Assignment> generatedAssignments = generator.assignments(500).collect(Collectors.toList());
+        Assignment ungraded = new Assignment(generatedAssignments.get(0).module(),
+                generatedAssignments.get(0).dueDate().plusDays(1), 10, null);
+
+        courses.addAll(generatedCourses);
+        assignments.addAll(generatedAssignments);
+        assignments.add(ungraded);
+
+        assertEquals(generatedCourses, courses.getAll());
+        assertEquals(ungraded, assignments.findByIdentity(ungraded.getIdentity()).orElseThrow());
+        AssignmentRepository reference = new AssignmentRepository();
+        reference.addAll(generatedAssignments);
+        reference.add(ungraded);
+        assertEquals(reference.getAll(), assignments.getAll());
+        assertThrows(IllegalArgumentException.class, () -> EntityCodecs.forType(String.class));
+    }
+
+    @Test
+    @DisplayName("Stored entities still decode after their dates leave the validation window")
+    void testDecodeAfterClockMoves() {
+        OffHeapRepository<Assignment> assignments =
+                new OffHeapRepository<>(EntityCodecs.ASSIGNMENT, Assignment::getIdentity, "Assignment");
+        OffHeapRepository<Student> students = new OffHeapRepository<>(EntityCodecs.STUDENT, Student::email, "Student");
+        Assignment assignment = new Assignment(new myModule("Algorithms", "Sorting and searching"),
+                LocalDate.now(), 50, null);
+        Student student = new DataGenerator().students(1).findFirst().orElseThrow();
+        assignments.add(assignment);
+        students.add(student);
+
+        ValidationContext.setClock(Clock.offset(Clock.systemDefaultZone(), Duration.ofDays(3 * 366)));
+        try {
+            assertEquals(Optional.of(assignment), assignments.findByIdentity(assignment.getIdentity()));
+            assertEquals(List.of(student), students.getAll());
+            assertTrue(assignments.contains(assignment));
+            assertTrue(assignments.remove(assignment));
+            assertThrows(InvalidDataException.class, () -> new Assignment(assignment.module(),
+                    assignment.dueDate(), 50, null));
+        } finally {
+            ValidationContext.resetClock();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Repository Pagination and Top-K Tests")
+class PaginationTest {
+
+    private CourseRepository courses;
+
+    @BeforeEach
+    void setUp() {
+        courses = new CourseRepository();
+        courses.addAll(new DataGenerator().courses(2_000).collect(Collectors.toList()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 100, 499, 500, 1_999, 2_000, 5_000})
+    @DisplayName("topK equals the head of a full stable sort, ties included")
+    void testTopKMatchesSort(int k) {
+        // Credits has only five values, so almost every comparison is a tie
+        List<Course> expected = courses.sortByCredits();
+        expected = expected.subList(0, Math.min(k, expected.size()));
+
+        assertEquals(expected, courses.topK(Course.BY_CREDITS, k));
+    }
+
+    @Test
+    @DisplayName("topK uses a cached order when one exists")
+    void testTopKFromCache() {
+        List<Course> view = courses.sortedView(Course.BY_START_DATE);
+
+        assertEquals(view.subList(0, 10), courses.topK(Course.BY_START_DATE, 10));
+        assertThrows(IllegalArgumentException.class, () -> courses.topK(Course.BY_START_DATE, -1));
+        assertThrows(IllegalArgumentException.class, () -> courses.topK(null, 1));
+    }
+
+    @Test
+    @DisplayName("Offset pages cover the sorted order without gaps")
+    void testOffsetPages() {
+        List<Course> sorted = courses.sortByTitle();
+        List<Course> collected = new ArrayList<>();
+        Page<Course> page;
+        int offset = 0;
+        do {
+            page = courses.page(Course.BY_TITLE, offset, 300);
+            collected.addAll(page.getItems());
+            offset += page.size();
+            assertEquals(2_000, page.getTotalCount());
+        } while (page.hasNext());
+
+        assertEquals(sorted, collected);
+        assertTrue(courses.page(Course.BY_TITLE, 2_000, 10).getItems().isEmpty());
+        assertFalse(courses.page(Course.BY_TITLE, 1_990, 10).hasNext());
+    }
+
+    @Test
+    @DisplayName("Cursor pages visit every item once, even across ties and removals")
+    void testCursorPages() {
+        Set<Course> seen = new HashSet<>();
+        Course removedCursor = null;
+        Optional<Course> cursor = Optional.empty();
+        Page<Course> page;
+        do {
+            page = courses.pageAfter(Course.BY_CREDITS, cursor.orElse(null), 128);
+            for (Course course : page.getItems()) {
+                assertTrue(seen.add(course), "Seen twice: " + course);
+            }
+            cursor = page.getLast();
+            if (removedCursor == null && cursor.isPresent()) {
+                removedCursor = cursor.get();
+                courses.remove(removedCursor);
+            }
+        } while (page.hasNext());
+
+        assertEquals(2_000, seen.size());
+        List<Integer> credits = new ArrayList<>();
+        courses.pageAfter(Course.BY_CREDITS, null, 2_000).getItems().forEach(c -> credits.add(c.credits()));
+        assertEquals(credits.stream().sorted().collect(Collectors.toList()), credits);
+    }
+
+    @Test
+    @DisplayName("Entity finders return the top items by their comparator")
+    void testEntityFinders() {
+        AssignmentRepository assignments = new AssignmentRepository();
+        assignments.addAll(new DataGenerator().assignments(1_000).collect(Collectors.toList()));
+        InstructorRepository instructors = new InstructorRepository();
+        instructors.addAll(new DataGenerator().instructors(1_000).collect(Collectors.toList()));
+
+        assertEquals(assignments.sortByDueDate().subList(0, 20), assignments.findNextDue(20));
+        assertEquals(instructors.sortByExpertise().subList(0, 10), instructors.findTopByExpertise(10));
+        assertEquals(courses.sortByCreditsDesc().subList(0, 5), courses.findTopByCredits(5));
+        assertTrue(instructors.findTopByExpertise(-1).isEmpty());
+    }
+}
@@ -0,0 +1,160 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Repository Query Tests")
+class QueryTest {
+
+    private CourseRepository repository;
+    private List<Course> courses;
+    private LocalDate from;
+    private LocalDate to;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CourseRepository();
+        courses = new DataGenerator().courses(3_000).collect(Collectors.toList());
+        repository.addAll(courses);
+        from = LocalDate.now().minusDays(30);
+        to = LocalDate.now().plusDays(30);
+    }
+
+    @Test
+    @DisplayName("Combined criteria return the same items as filtering everything")
+    void testCombinedCriteria() {
+        Predicate<Course> longTitle = course -> course.title().length() > 12;
+        List<Course> expected = courses.stream()
+                .filter(course -> course.credits() == 4)
+                .filter(course -> !course.startDate().isBefore(from) && !course.startDate().isAfter(to))
+                .filter(longTitle)
+                .collect(Collectors.toList());
+
+        List<Course> actual = repository.query()
+                .whereEquals("credits", 4)
+                .whereBetween("startDate", from, to)
+                .where(longTitle)
+                .list();
+
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+    }
+
+    @Test
+    @DisplayName("The planner drives the scan with the most selective index")
+    void testPlannerPicksIndex() {
+        String narrow = repository.query()
+                .whereEquals("credits", 4)
+                .whereBetween("startDate", from, from.plusDays(1))
+                .explain();
+        String scan = repository.query().where(course -> true).explain();
+
+        assertTrue(narrow.startsWith("index startDate in ["), narrow);
+        assertTrue(narrow.contains("filter x1"), narrow);
+        assertTrue(scan.startsWith("scan Course (3000 rows)"), scan);
+    }
+
+    @Test
+    @DisplayName("orderBy with limit and offset matches sorting the filtered items")
+    void testOrderAndLimit() {
+        List<Course> filtered = courses.stream()
+                .filter(course -> course.credits() >= 2)
+                .collect(Collectors.toList());
+        List<Course> sorted = new ArrayList<>(filtered);
+        sorted.sort(Course.BY_START_DATE.thenComparing(Course::getFullName));
+
+        List<Course> page = repository.query()
+                .where(course -> course.credits() >= 2)
+                .orderBy(Course.BY_START_DATE.thenComparing(Course::getFullName))
+                .offset(5)
+                .limit(20)
+                .list();
+
+        assertEquals(sorted.subList(5, 25), page);
+        assertEquals(sorted.get(0), repository.query()
+                .where(course -> course.credits() >= 2)
+                .orderBy(Course.BY_START_DATE.thenComparing(Course::getFullName))
+                .first().orElseThrow());
+        assertEquals(repository.sortByTitle(), repository.query().orderBy(Course.BY_TITLE).list());
+    }
+
+    @Test
+    @DisplayName("first() leaves the query's own limit untouched")
+    void testFirstKeepsQueryState() {
+        Query<Course> query = repository.query().orderBy(Course.BY_TITLE).limit(3);
+
+        assertEquals(repository.sortByTitle().get(0), query.first().orElseThrow());
+        assertEquals(repository.sortByTitle().subList(0, 3), query.list());
+        assertTrue(repository.query().limit(0).first().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unordered limit stops early and keeps scan order")
+    void testUnorderedLimit() {
+        assertEquals(courses.subList(0, 10), repository.query().limit(10).list());
+        assertEquals(courses.subList(10, 15), repository.query().offset(10).limit(5).list());
+    }
+
+    @Test
+    @DisplayName("count, sum, average and grouping aggregate the matching items")
+    void testAggregates() {
+        List<Course> matching = courses.stream()
+                .filter(course -> course.credits() >= 3)
+                .collect(Collectors.toList());
+
+        assertEquals(matching.size(), repository.query().whereBetween("credits", 3, null).count());
+        assertEquals(matching.stream().mapToInt(Course::credits).sum(),
+                repository.query().whereBetween("credits", 3, null).sum(Course::credits));
+        assertEquals(matching.stream().mapToInt(Course::credits).average().orElseThrow(),
+                repository.query().whereBetween("credits", 3, null).average(Course::credits).orElseThrow(), 1e-9);
+        assertEquals(matching.stream().collect(Collectors.groupingBy(Course::credits, Collectors.counting())),
+                repository.query().whereBetween("credits", 3, null).countBy(Course::credits));
+        Map<Integer, List<Course>> groups = repository.query().whereEquals("credits", 5).groupBy(Course::credits);
+        assertEquals(Map.of(5, repository.findByCreditsRange(5, 5)), groups);
+        assertEquals(7, repository.query().limit(7).count());
+        assertTrue(repository.query().where(course -> false).average(Course::credits).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Equality keys are normalized like the index and keys of the wrong type are rejected")
+    void testKeyNormalizationAndType() {
+        StudentRepository students = new StudentRepository();
+        Student smith = new Student("Anna", "Smith", "anna.smith@chnu.edu.ua", LocalDate.now().minusDays(10));
+        students.add(smith);
+
+        assertEquals(List.of(smith), students.query().whereEquals("lastName", "Smith").list());
+        assertEquals(List.of(smith), students.query().whereEquals("emailDomain", "CHNU.edu.ua").list());
+        assertEquals(List.of(smith), students.query().whereEquals("firstName", "anna")
+                .whereEquals("lastName", "SMITH").list());
+        assertThrows(IllegalArgumentException.class, () -> repository.query().whereEquals("credits", 4L));
+        assertThrows(IllegalArgumentException.class, () -> repository.query().whereBetween("credits", 3L, null));
+        assertThrows(IllegalArgumentException.class, () -> students.query().whereEquals("lastName", 42));
+    }
+
+    @Test
+    @DisplayName("Invalid index names, index kinds and arguments are rejected")
+    void testValidation() {
+        StudentRepository students = new StudentRepository();
+
+        assertThrows(IllegalArgumentException.class, () -> repository.query().whereEquals("missing", 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> students.query().whereBetween("firstName", "a", "b"));
+        assertThrows(IllegalArgumentException.class, () -> repository.query().limit(-1));
+        assertThrows(IllegalArgumentException.class, () -> repository.query().where(null));
+        assertTrue(students.query().whereEquals("emailDomain", "chnu.edu.ua").list().isEmpty());
+        assertEquals(List.of(), students.query().orderBy(Student.BY_NAME).limit(3).list());
+    }
+}
@@ -0,0 +1,144 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sorted View Cache Tests")
+class SortedViewCacheTest {
+
+    private static final Student EXTRA =
+            new Student("Yuriy", "Vasuluk", "yuriy.vasuluk@chnu.edu.ua", LocalDate.now().minusDays(3));
+
+    private StudentRepository repository;
+    private List<Student> students;
+
+    @BeforeEach
+    void setUp() {
+        repository = new StudentRepository();
+        students = new DataGenerator().students(500).collect(Collectors.toList());
+        repository.addAll(students);
+    }
+
+    @Test
+    @DisplayName("Repeated sorts with the same comparator reuse one cached order")
+    void testCacheHit() {
+        List<Student> first = repository.sortedView(Student.BY_NAME);
+
+        assertSame(first, repository.sortedView(Student.BY_NAME));
+        assertEquals(sortedCopy(Student.BY_NAME), first);
+        assertThrows(UnsupportedOperationException.class, () -> first.remove(0));
+        assertEquals(1, repository.getSortedViewCountForTesting());
+    }
+
+    @Test
+    @DisplayName("sortBy* methods return independent copies of the cached order")
+    void testSortByReturnsCopy() {
+        List<Student> sorted = repository.sortByName();
+        sorted.clear();
+
+        assertEquals(sortedCopy(Student.BY_NAME), repository.sortByName());
+        assertEquals(sortedCopy(Student.BY_ENROLLMENT_DATE.reversed()), repository.sortByEnrollmentDateDesc());
+    }
+
+    @Test
+    @DisplayName("Every kind of change invalidates cached orders")
+    void testInvalidation() {
+        List<Student> before = repository.sortedView(Student.BY_NAME);
+
+        repository.add(EXTRA);
+        List<Student> afterAdd = repository.sortedView(Student.BY_NAME);
+        assertNotSame(before, afterAdd);
+        assertTrue(afterAdd.contains(EXTRA));
+
+        repository.remove(EXTRA);
+        assertFalse(repository.sortedView(Student.BY_NAME).contains(EXTRA));
+
+        repository.removeByIdentity(students.get(0).email());
+        assertFalse(repository.sortedView(Student.BY_NAME).contains(students.get(0)));
+
+        repository.replaceAll(List.of(EXTRA));
+        assertEquals(List.of(EXTRA), repository.sortedView(Student.BY_NAME));
+
+        repository.clear();
+        assertTrue(repository.sortedView(Student.BY_NAME).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ties keep insertion order, like a stable sort of getAll()")
+    void testStableOrder() {
+        CourseRepository courses = new CourseRepository();
+        courses.addAll(new DataGenerator().courses(300).collect(Collectors.toList()));
+
+        assertEquals(sortedCopyOf(courses.getAll(), Course.BY_CREDITS), courses.sortByCredits());
+        assertEquals(sortedCopyOf(courses.getAll(), Comparator.naturalOrder()), courses.sortedView(Comparator.naturalOrder()));
+    }
+
+    @Test
+    @DisplayName("The number of cached orders is bounded")
+    void testBounded() {
+        for (int i = 0; i < SortedViewCache.MAX_VIEWS * 2; i++) {
+            repository.sortedView(Comparator.comparing(Student::email));
+        }
+
+        assertEquals(SortedViewCache.MAX_VIEWS, repository.getSortedViewCountForTesting());
+        assertThrows(IllegalArgumentException.class, () -> repository.sortedView(null));
+    }
+
+    @Test
+    @DisplayName("Concurrent readers can share the cache while nothing writes")
+    void testConcurrentReaders() throws Exception {
+        List<Comparator<Student>> comparators = new ArrayList<>();
+        for (int i = 0; i < SortedViewCache.MAX_VIEWS * 3; i++) {
+            comparators.add(i % 2 == 0 ? Comparator.comparing(Student::email) : Student.BY_NAME.reversed());
+        }
+        List<Student> byEmail = sortedCopy(Comparator.comparing(Student::email));
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(readers.submit(() -> {
+                    for (int round = 0; round < 50; round++) {
+                        for (int i = 0; i < comparators.size(); i += 2) {
+                            if (!repository.sortedView(comparators.get(i)).equals(byEmail)) {
+                                return false;
+                            }
+                            repository.sortedView(comparators.get(i + 1));
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            readers.shutdown();
+        }
+        assertTrue(repository.getSortedViewCountForTesting() <= SortedViewCache.MAX_VIEWS + 4);
+    }
+
+    private List<Student> sortedCopy(Comparator<Student> comparator) {
+        return sortedCopyOf(repository.getAll(), comparator);
+    }
+
+    private static <T> List<T> sortedCopyOf(List<T> items, Comparator<? super T> comparator) {
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(comparator);
+        return copy;
+    }
+}
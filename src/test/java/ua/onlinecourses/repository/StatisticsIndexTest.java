@@ -0,0 +1,80 @@
+package ua.onlinecourses.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.generator.DataGenerator;
+import ua.onlinecourses.model.Course;
+import ua.onlinecourses.model.myModule;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Statistics Index Tests")
+class StatisticsIndexTest {
+
+    @Test
+    @DisplayName("Running statistics follow adds, removals, batches and clear")
+    void testRunningStatistics() {
+        CourseRepository repository = new CourseRepository();
+        List<Course> courses = new DataGenerator().courses(1_000).collect(Collectors.toList());
+        repository.addAll(courses.subList(0, 600));
+        courses.subList(600, 1_000).forEach(repository::add);
+        courses.subList(0, 250).forEach(repository::remove);
+        repository.removeAll(courses.subList(250, 300));
+
+        assertMatchesRecomputed(repository);
+
+        repository.replaceAll(courses.subList(0, 10));
+        assertMatchesRecomputed(repository);
+
+        repository.clear();
+        assertEquals(0, repository.getTotalCredits());
+        assertEquals(0.0, repository.getAverageCredits());
+        assertEquals(OptionalInt.empty(), statistics(repository).getMin());
+    }
+
+    @Test
+    @DisplayName("min and max stay exact when the extreme items are removed")
+    void testMinMaxAfterRemoval() {
+        ModuleRepository repository = new ModuleRepository();
+        myModule shortest = new myModule("Intro", "abc");
+        myModule middle = new myModule("Basics", "abcdefgh");
+        myModule longest = new myModule("Advanced", "abcdefghijklmnop");
+        repository.addAll(List.of(shortest, middle, longest));
+        @SuppressWarnings("unchecked")
+        StatisticsIndex<myModule> lengths =
+                (StatisticsIndex<myModule>) repository.getIndex("contentLengthStatistics").orElseThrow();
+
+        repository.remove(longest);
+        repository.remove(shortest);
+
+        assertEquals(OptionalInt.of(8), lengths.getMin());
+        assertEquals(OptionalInt.of(8), lengths.getMax());
+        assertEquals(8, repository.getTotalContentLength());
+        assertEquals(Map.of(8, 1), lengths.getHistogram());
+        assertThrows(UnsupportedOperationException.class, () -> lengths.getHistogram().clear());
+    }
+
+    private static void assertMatchesRecomputed(CourseRepository repository) {
+        List<Course> all = repository.getAll();
+        StatisticsIndex<Course> credits = statistics(repository);
+
+        assertEquals(all.stream().mapToInt(Course::credits).sum(), repository.getTotalCredits());
+        assertEquals(all.stream().mapToInt(Course::credits).average().orElse(0.0), repository.getAverageCredits(), 1e-9);
+        assertEquals(all.size(), credits.getCount());
+        assertEquals(all.stream().mapToInt(Course::credits).min(), credits.getMin());
+        assertEquals(all.stream().mapToInt(Course::credits).max(), credits.getMax());
+        assertEquals(new TreeMap<>(all.stream().collect(Collectors.groupingBy(Course::credits,
+                Collectors.summingInt(course -> 1)))), credits.getHistogram());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static StatisticsIndex<Course> statistics(CourseRepository repository) {
+        return (StatisticsIndex<Course>) repository.getIndex("creditsStatistics").orElseThrow();
+    }
+}
@@ -0,0 +1,91 @@
+package ua.onlinecourses.serializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import ua.onlinecourses.exception.DataSerializationException;
+import ua.onlinecourses.model.Student;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Streaming DataSerializer Tests")
+class StreamingDataSerializerTest {
+
+    private static final String TEST_DIR = "./test_data_streaming";
+
+    private static Stream<Arguments> serializers() {
+        return Stream.of(
+                Arguments.of(new JsonDataSerializer<Student>(), TEST_DIR + "/students.json"),
+                Arguments.of(new YamlDataSerializer<Student>(), TEST_DIR + "/students.yaml"),
+                Arguments.of(new CborDataSerializer<Student>(), TEST_DIR + "/students.cbor")
+        );
+    }
+
+    private static Student student(int i) {
+        return new Student("Name" + i, "Surname" + i, "student" + i + "@chnu.edu.ua", LocalDate.of(2024, 1, 15));
+    }
+
+    @AfterEach
+    void tearDown() {
+        File dir = new File(TEST_DIR);
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @ParameterizedTest
+    @MethodSource("serializers")
+    @DisplayName("serializeStream output round-trips through deserializeStream and deserialize")
+    void testStreamingRoundTrip(DataSerializer<Student> serializer, String filePath) throws DataSerializationException {
+        long written = serializer.serializeStream(IntStream.range(0, 500).mapToObj(StreamingDataSerializerTest::student), filePath);
+        assertEquals(500, written);
+
+        List<Student> streamed;
+        try (Stream<Student> stream = serializer.deserializeStream(filePath, Student.class)) {
+            streamed = stream.collect(Collectors.toList());
+        }
+        assertEquals(500, streamed.size());
+        assertEquals(student(0), streamed.get(0));
+        assertEquals(student(499), streamed.get(499));
+
+        assertEquals(streamed, serializer.deserialize(filePath, Student.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("serializers")
+    @DisplayName("deserializeStream reads files written by serialize(List)")
+    void testStreamReadsListFormat(DataSerializer<Student> serializer, String filePath) throws DataSerializationException {
+        List<Student> students = List.of(student(1), student(2), student(3));
+        serializer.serialize(students, filePath);
+
+        try (Stream<Student> stream = serializer.deserializeStream(filePath, Student.class)) {
+            assertEquals(students, stream.collect(Collectors.toList()));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("serializers")
+    @DisplayName("Empty iterator writes an empty list and missing files stream nothing")
+    void testEmptyAndMissing(DataSerializer<Student> serializer, String filePath) throws DataSerializationException {
+        assertEquals(0, serializer.serializeIterator(List.<Student>of().iterator(), filePath));
+        assertTrue(serializer.deserialize(filePath, Student.class).isEmpty());
+
+        try (Stream<Student> stream = serializer.deserializeStream(TEST_DIR + "/missing", Student.class)) {
+            assertEquals(0, stream.count());
+        }
+        assertThrows(DataSerializationException.class, () -> serializer.serializeIterator(null, filePath));
+    }
+}
@@ -0,0 +1,67 @@
+package ua.onlinecourses.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import ua.onlinecourses.model.Instructor;
+import ua.onlinecourses.repository.InstructorRepository;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Diagnostics Tests")
+class DiagnosticsTest {
+
+    @BeforeEach
+    void setUp() {
+        Diagnostics.reset();
+    }
+
+    @Test
+    @DisplayName("counter returns the same handle for the same name")
+    void testCounterHandle() {
+        LongAdder counter = Diagnostics.counter("test.handle");
+        counter.increment();
+        Diagnostics.counter("test.handle").add(2);
+
+        assertSame(counter, Diagnostics.counter("test.handle"));
+        assertEquals(3, Diagnostics.count("test.handle"));
+        assertEquals(0, Diagnostics.count("test.unknown"));
+        assertThrows(IllegalArgumentException.class, () -> Diagnostics.counter(""));
+    }
+
+    @Test
+    @DisplayName("reset zeroes counters without invalidating handles")
+    void testReset() {
+        LongAdder counter = Diagnostics.counter("test.reset");
+        counter.add(5);
+        Diagnostics.reset();
+        counter.increment();
+
+        assertEquals(1, Diagnostics.count("test.reset"));
+    }
+
+    @Test
+    @DisplayName("Model creation and repository operations are counted")
+    void testOperationCounters() {
+        InstructorRepository repository = new InstructorRepository();
+        Instructor instructor = new Instructor("Igor", "Bylat", 34);
+
+        repository.add(instructor);
+        repository.add(instructor);
+        repository.findByIdentity(instructor.getFullName());
+        repository.findByIdentity("missing");
+        repository.findByIdentity("missing");
+        repository.remove(instructor);
+
+        Map<String, Long> snapshot = Diagnostics.snapshot();
+        assertEquals(1L, snapshot.get("Instructor.created"));
+        assertEquals(1L, snapshot.get("Instructor.repository.added"));
+        assertEquals(1L, snapshot.get("Instructor.repository.rejected"));
+        assertEquals(1L, snapshot.get("Instructor.repository.lookupHit"));
+        assertEquals(2L, snapshot.get("Instructor.repository.lookupMiss"));
+        assertEquals(1L, snapshot.get("Instructor.repository.removed"));
+    }
+}
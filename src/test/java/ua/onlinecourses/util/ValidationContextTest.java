@@ -0,0 +1,137 @@
+package ua.onlinecourses.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Validation Context Tests")
+class ValidationContextTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+
+    @AfterEach
+    void tearDown() {
+        ValidationContext.resetClock();
+    }
+
+    @Test
+    @DisplayName("Date validators use the configured clock")
+    void testFixedClock() {
+        ValidationContext.setClock(Clock.fixed(Instant.parse("2020-06-15T10:00:00Z"), UTC));
+
+        assertEquals(LocalDate.of(2020, 6, 15), ValidationContext.current().today());
+        assertTrue(StudentUtils.isValidEnrollmentDate(LocalDate.of(2016, 1, 1)));
+        assertFalse(StudentUtils.isValidEnrollmentDate(LocalDate.of(2015, 6, 15)));
+        assertTrue(StudentUtils.isValidEnrollmentDate(LocalDate.of(2020, 12, 31)));
+        assertFalse(StudentUtils.isValidEnrollmentDate(LocalDate.of(2021, 1, 1)));
+        assertTrue(CourseUtils.isValidstartDate(LocalDate.of(2021, 6, 14)));
+        assertFalse(CourseUtils.isValidstartDate(LocalDate.of(2021, 6, 15)));
+        assertFalse(AssignmentUtils.isValidDueDate(LocalDate.of(2019, 6, 15)));
+    }
+
+    @Test
+    @DisplayName("current() is reused within a day and refreshed after midnight")
+    void testCacheRefresh() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-03-10T23:59:00Z"));
+        ValidationContext.setClock(clock);
+
+        ValidationContext first = ValidationContext.current();
+        assertSame(first, ValidationContext.current());
+
+        clock.advance(Duration.ofMinutes(2));
+        ValidationContext next = ValidationContext.current();
+        assertNotSame(first, next);
+        assertEquals(LocalDate.of(2024, 3, 11), next.today());
+    }
+
+    @Test
+    @DisplayName("An explicit context does not depend on the clock")
+    void testExplicitContext() {
+        ValidationContext context = ValidationContext.of(LocalDate.of(2010, 1, 1));
+
+        assertTrue(StudentUtils.isValidEnrollmentDate(LocalDate.of(2009, 5, 1), context));
+        assertTrue(CourseUtils.isValidstartDate(LocalDate.of(2010, 12, 31), context));
+        assertFalse(AssignmentUtils.isValidDueDate(LocalDate.of(2011, 1, 1), context));
+        assertThrows(IllegalArgumentException.class, () -> ValidationContext.of(null));
+        assertThrows(IllegalArgumentException.class, () -> ValidationContext.setClock(null));
+    }
+
+    @Test
+    @DisplayName("callWith pins current() for the calling thread and then restores it")
+    void testCallWith() {
+        ValidationContext.setClock(Clock.fixed(Instant.parse("2020-06-15T10:00:00Z"), UTC));
+        LocalDate old = LocalDate.of(2001, 3, 1);
+
+        assertFalse(AssignmentUtils.isValidDueDate(old));
+        assertTrue(ValidationContext.callWith(ValidationContext.of(old), () -> AssignmentUtils.isValidDueDate(old)));
+        assertEquals(LocalDate.of(2020, 6, 15), ValidationContext.current().today());
+        assertThrows(IllegalArgumentException.class, () -> ValidationContext.callWith(null, () -> true));
+    }
+
+    @Test
+    @DisplayName("Precompiled and cached patterns validate as before")
+    void testPatterns() {
+        assertTrue(StudentUtils.isValidEmail("lesia.melnyk@chnu.edu.ua"));
+        assertFalse(StudentUtils.isValidEmail("not-an-email"));
+        assertFalse(StudentUtils.isValidEmail(null));
+        assertTrue(ValidationHelper.isStringMatchPattern("abc", "[a-c]+"));
+        assertFalse(ValidationHelper.isStringMatchPattern("abd", "[a-c]+"));
+        assertFalse(ValidationHelper.isStringMatchPattern("abc", (String) null));
+        for (int i = 0; i < ValidationHelper.MAX_CACHED_PATTERNS * 2; i++) {
+            assertTrue(ValidationHelper.isStringMatchPattern("a" + i, "a" + i));
+        }
+        assertTrue(ValidationHelper.isStringMatchPattern("abc", "[a-c]+"));
+    }
+
+    @Test
+    @DisplayName("isDateValid keeps the dd-MM-yyyy acceptance and isStringLengthBetween ignores whitespace")
+    void testHelpers() {
+        assertTrue(ValidationHelper.isDateValid("29-02-2024"));
+        assertTrue(ValidationHelper.isDateValid("1-2-2024"));
+        assertTrue(ValidationHelper.isDateValid("01-02-24"));
+        assertFalse(ValidationHelper.isDateValid("29-02-2023"));
+        assertFalse(ValidationHelper.isDateValid("31-04-2024"));
+        assertFalse(ValidationHelper.isDateValid("2024-02-01"));
+        assertFalse(ValidationHelper.isDateValid(null));
+        assertTrue(ValidationHelper.isStringLengthBetween("  ab \t", 2, 2));
+        assertFalse(ValidationHelper.isStringLengthBetween("   ", 1, 5));
+        assertFalse(ValidationHelper.isStringLengthBetween(null, 0, 5));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}